@@ -312,6 +312,16 @@ public final class RestXqFunction extends WebFunction {
     return BASEX_RESTXQ_X.get(ii, Util.info(msg, ext));
   }
 
+  /**
+   * Adds the function to the specified routing table.
+   * @param routes routing table
+   */
+  void route(final RestXqRoutes routes) {
+    if(path != null) routes.path(path.segments(), this);
+    if(permission != null) routes.permission(permission.segments(), this);
+    if(error != null) routes.error(this);
+  }
+
   @Override
   public int compareTo(final WebFunction func) {
     if(!(func instanceof RestXqFunction)) return -1;
@@ -39,6 +39,21 @@ final class RestXqPath extends WebPath implements Comparable<RestXqPath> {
     return matcher.matches(conn.path());
   }
 
+  /**
+   * Returns the leading path segments that contain no templates.
+   * @return decoded segments
+   */
+  String[] segments() {
+    final ArrayList<String> list = new ArrayList<>();
+    for(final String segment : RestXqRoutes.segments(path)) {
+      if(segment.indexOf('{') != -1) break;
+      final byte[] decoded = Token.decodeUri(Token.token(segment));
+      if(decoded == null || Token.contains(decoded, '/')) break;
+      list.add(Token.string(decoded));
+    }
+    return list.toArray(new String[0]);
+  }
+
   /**
    * Returns the names of the template variables.
    * @return list of qualified variable names
@@ -48,6 +48,14 @@ public final class RestXqPerm implements Comparable<RestXqPerm> {
     return mb.finish();
   }
 
+  /**
+   * Returns the path segments.
+   * @return segments
+   */
+  String[] segments() {
+    return RestXqRoutes.segments(path.substring(0, path.length() - 1));
+  }
+
   /**
    * Checks if the path matches the HTTP request.
    * @param conn HTTP connection
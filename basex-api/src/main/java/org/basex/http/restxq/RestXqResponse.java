@@ -8,6 +8,7 @@ import java.io.*;
 
 import javax.servlet.*;
 
+import org.basex.core.jobs.*;
 import org.basex.http.*;
 import org.basex.http.web.*;
 import org.basex.io.out.*;
@@ -72,6 +73,17 @@ final class RestXqResponse extends WebResponse {
 
     qc.register(ctx);
     try {
+      // return cached result
+      final QueryCache cache = ctx.jobs.cache;
+      final String key = body && singleton == null ? cacheKey() : null;
+      final QueryCache.Result cached = key != null ? cache.get(key) : null;
+      if(cached != null) {
+        conn.sopts(func.output);
+        conn.initResponse();
+        conn.response.getOutputStream().write(cached.output);
+        return Response.STANDARD;
+      }
+
       // evaluate query
       final Iter iter = qc.iter();
       Item item = iter.next();
@@ -115,12 +127,19 @@ final class RestXqResponse extends WebResponse {
         conn.status(s, message, null);
       }
 
-      // serialize result
+      // serialize result; standard responses are buffered before they are cached
       if(item != null && body) {
-        out = id != null ? new ArrayOutput() : conn.response.getOutputStream();
+        final boolean caching = key != null && forward == null && status == null &&
+          so == func.output;
+        out = id != null || caching ? new ArrayOutput() : conn.response.getOutputStream();
+        long items = 0;
         try(Serializer ser = Serializer.get(out, so)) {
-          for(; item != null; item = qc.next(iter)) ser.serialize(item);
+          for(; item != null; item = qc.next(iter)) {
+            ser.serialize(item);
+            items++;
+          }
         }
+        if(caching) cache.put(key, ((ArrayOutput) out).toArray(), items, qc.jc().locks.reads);
       }
 
     } finally {
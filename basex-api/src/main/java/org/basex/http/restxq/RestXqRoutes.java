@@ -0,0 +1,122 @@
+package org.basex.http.restxq;
+
+import java.util.*;
+
+import org.basex.http.*;
+import org.basex.http.web.*;
+import org.basex.query.value.item.*;
+
+/**
+ * Routing table for RESTXQ functions.
+ * Path and permission functions are indexed by the leading literal segments of their paths.
+ * The candidates for a request are collected while descending the segments of the request path,
+ * and they are checked by {@link RestXqFunction#matches}.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class RestXqRoutes {
+  /** Root node. */
+  private final Node root = new Node();
+  /** Error functions. */
+  private final ArrayList<RestXqFunction> errors = new ArrayList<>();
+
+  /**
+   * Constructor.
+   * @param modules modules
+   */
+  public RestXqRoutes(final Collection<WebModule> modules) {
+    for(final WebModule module : modules) {
+      for(final RestXqFunction func : module.functions()) func.route(this);
+    }
+  }
+
+  /**
+   * Returns all functions that match the current request.
+   * @param conn HTTP connection
+   * @param error error code (assigned if error function is to be called)
+   * @param perm permission flag
+   * @return list of matching functions
+   */
+  public ArrayList<RestXqFunction> find(final HTTPConnection conn, final QNm error,
+      final boolean perm) {
+
+    final ArrayList<RestXqFunction> list = new ArrayList<>();
+    if(perm || error == null) {
+      // collect functions of all nodes addressed by the request path
+      final String[] segments = segments(conn.path());
+      final int sl = segments.length;
+      Node node = root;
+      for(int s = 0; node != null; s++) {
+        for(final RestXqFunction func : perm ? node.perms : node.funcs) {
+          if(func.matches(conn, error, perm)) list.add(func);
+        }
+        node = s < sl ? node.children.get(segments[s]) : null;
+      }
+    } else {
+      for(final RestXqFunction func : errors) {
+        if(func.matches(conn, error, false)) list.add(func);
+      }
+    }
+    return list;
+  }
+
+  /**
+   * Adds a path function.
+   * @param segments leading literal segments of the path
+   * @param func function
+   */
+  void path(final String[] segments, final RestXqFunction func) {
+    node(segments).funcs.add(func);
+  }
+
+  /**
+   * Adds a permission function.
+   * @param segments segments of the permission path
+   * @param func function
+   */
+  void permission(final String[] segments, final RestXqFunction func) {
+    node(segments).perms.add(func);
+  }
+
+  /**
+   * Adds an error function.
+   * @param func function
+   */
+  void error(final RestXqFunction func) {
+    errors.add(func);
+  }
+
+  /**
+   * Returns the node for the specified path segments.
+   * @param segments segments
+   * @return node
+   */
+  private Node node(final String[] segments) {
+    Node node = root;
+    for(final String segment : segments) {
+      node = node.children.computeIfAbsent(segment, s -> new Node());
+    }
+    return node;
+  }
+
+  /**
+   * Splits a path into segments.
+   * @param path path
+   * @return segments
+   */
+  static String[] segments(final String path) {
+    final String p = path.startsWith("/") ? path.substring(1) : path;
+    return p.isEmpty() ? new String[0] : p.split("/", -1);
+  }
+
+  /** Node of the routing table. */
+  private static final class Node {
+    /** Child nodes, indexed by path segments. */
+    private final HashMap<String, Node> children = new HashMap<>();
+    /** Path functions. */
+    private final ArrayList<RestXqFunction> funcs = new ArrayList<>(1);
+    /** Permission functions. */
+    private final ArrayList<RestXqFunction> perms = new ArrayList<>(1);
+  }
+}
@@ -73,6 +73,14 @@ public final class WebModule {
     }
   }
 
+  /**
+   * Returns a string that identifies the parsed version of the module.
+   * @return id
+   */
+  String id() {
+    return file.path() + ':' + time;
+  }
+
   /**
    * Returns all RESTXQ functions.
    * @return functions
@@ -35,6 +35,8 @@ public final class WebModules {
 
   /** Module cache. */
   private HashMap<String, WebModule> modules = new HashMap<>();
+  /** Routing table for the cached modules. */
+  private RestXqRoutes routes;
   /** Indicates if modules have been cached. */
   private boolean parsed;
   /** Last access time. */
@@ -139,12 +141,7 @@ public final class WebModules {
       throws QueryException, IOException {
 
     // collect and sort all functions
-    final ArrayList<RestXqFunction> list = new ArrayList<>();
-    for(final WebModule mod : cache(conn.context).values()) {
-      for(final RestXqFunction func : mod.functions()) {
-        if(func.matches(conn, error, perm)) list.add(func);
-      }
-    }
+    final ArrayList<RestXqFunction> list = routes(conn.context).find(conn, error, perm);
     // sort by specifity
     Collections.sort(list);
     return list;
@@ -329,6 +326,7 @@ public final class WebModules {
       cache = new HashMap<>();
       parse(ctx, path, cache, modules);
       modules = cache;
+      routes = new RestXqRoutes(cache.values());
       parsed = true;
     }
 
@@ -337,6 +335,18 @@ public final class WebModules {
     return cache;
   }
 
+  /**
+   * Returns the routing table for RESTXQ functions.
+   * @param ctx database context
+   * @return routing table
+   * @throws QueryException query exception
+   * @throws IOException I/O exception
+   */
+  private synchronized RestXqRoutes routes(final Context ctx) throws QueryException, IOException {
+    cache(ctx);
+    return routes;
+  }
+
   /**
    * Parses the specified path for modules with relevant annotations and caches new entries.
    * @param root root path
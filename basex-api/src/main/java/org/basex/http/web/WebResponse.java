@@ -5,11 +5,14 @@ import java.io.*;
 import javax.servlet.*;
 
 import org.basex.core.*;
+import org.basex.core.jobs.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.func.*;
 import org.basex.query.scope.*;
+import org.basex.query.value.*;
 import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * This abstract class defines common methods of Web responses.
@@ -29,6 +32,10 @@ public abstract class WebResponse {
   protected final Context ctx;
   /** Query context. */
   protected QueryContext qc;
+  /** Evaluated function. */
+  private WebFunction function;
+  /** Arguments of the evaluated function. */
+  private Expr[] args;
 
   /**
    * Constructor.
@@ -53,11 +60,12 @@ public abstract class WebResponse {
 
     final WebModule module = function.module;
     final StaticFunc func = function.function;
+    this.function = function;
     try {
       qc = module.qc(ctx);
       init(function);
       final StaticFunc sf = WebModule.get(func, qc);
-      final Expr[] args = new Expr[sf.params.length];
+      args = new Expr[sf.params.length];
       bind(args, data);
       qc.jc().description(toString(func, args));
       if(ctx.soptions.get(StaticOptions.LOGTRACE)) qc.jc().tracer = ctx.log;
@@ -100,6 +108,29 @@ public abstract class WebResponse {
   protected abstract Response serialize(boolean body) throws QueryException, IOException,
       ServletException;
 
+  /**
+   * Returns the key for caching the result of the function call.
+   * The key is built from the module version, the function and the bound arguments.
+   * Must be called after the query has been registered.
+   * @return key, or {@code null} if the result must not be cached
+   */
+  protected final String cacheKey() {
+    final StringList list = new StringList().add(function.module.id());
+    list.add(function.function.info.toString());
+    try {
+      for(final Expr arg : args) {
+        if(!(arg instanceof Value)) return null;
+        final Value value = (Value) arg;
+        list.add(value.seqType().toString()).add(value.serialize().toString());
+      }
+    } catch(final QueryIOException ex) {
+      // values that cannot be serialized (such as function items)
+      Util.debug(ex);
+      return null;
+    }
+    return QueryCache.key(qc, list.finish());
+  }
+
   /**
    * Returns a job description for the specified function.
    * @param func function
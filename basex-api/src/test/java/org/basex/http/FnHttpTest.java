@@ -181,6 +181,31 @@ public class FnHttpTest extends HTTPTest {
     }
   }
 
+  /**
+   * Test sending of parallel HTTP requests.
+   * @throws Exception exception
+   */
+  @Test public void sendRequests() throws Exception {
+    // GET requests, responses are returned in the order of the requests
+    try(QueryProcessor qp = new QueryProcessor("string-join(" + _HTTP_SEND_REQUESTS.args(
+        " (<http:request method='get' href='" + REST_ROOT + "'/>, "
+        + "<http:request method='get' href='" + RESTURL + "unknown'/>, "
+        + "<http:request method='get' status-only='true' href='" + REST_ROOT + "'/>)",
+        " map { 'parallel': 2 }") + "[. instance of element(http:response)]/@status, ' ')",
+        ctx)) {
+      assertEquals("200 404 200", qp.value().serialize().toString());
+    }
+
+    // missing URL: error
+    try {
+      new XQuery(_HTTP_SEND_REQUESTS.args(" (<http:request method='get' href='" + REST_ROOT
+          + "'/>, <http:request method='get'/>)")).execute(ctx);
+      fail("Error expected");
+    } catch(final BaseXException ex) {
+      assertTrue(ex.getMessage().contains(ErrType.HC.toString()));
+    }
+  }
+
   /**
    * Test sending of HTTP request without any attributes - error shall be thrown
    * that mandatory attributes are missing.
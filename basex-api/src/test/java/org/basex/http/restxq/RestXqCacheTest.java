@@ -0,0 +1,77 @@
+package org.basex.http.restxq;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.http.*;
+import org.basex.util.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This test contains RESTXQ result caching.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class RestXqCacheTest extends RestXqTest {
+  /**
+   * Enables the query cache and creates a test database.
+   * @throws BaseXException database exception
+   */
+  @BeforeEach public void init() throws BaseXException {
+    final Context ctx = HTTPContext.get().context();
+    ctx.options.set(MainOptions.QUERYCACHE, true);
+    new CreateDB(NAME, "<a>A</a>").execute(ctx);
+    new Close().execute(ctx);
+  }
+
+  /**
+   * Disables the query cache and drops the test database.
+   * @throws BaseXException database exception
+   */
+  @AfterEach public void finish() throws BaseXException {
+    final Context ctx = HTTPContext.get().context();
+    ctx.options.set(MainOptions.QUERYCACHE, false);
+    new DropDB(NAME).execute(ctx);
+  }
+
+  /**
+   * Returns cached results and discards them after updates.
+   * @throws IOException I/O exception
+   */
+  @Test public void cache() throws IOException {
+    install("declare %R:path('r/{$x}') function m:r($x) { db:open('" + NAME + "')/a || $x };" +
+        "declare %R:path('u') %updating function m:u() {" +
+        "  replace value of node db:open('" + NAME + "')/a with 'B' };");
+
+    // cached result is returned
+    assertEquals("A1", get("r/1"));
+    final String hits = stat("hits");
+    assertEquals("A1", get("r/1"));
+    assertEquals(Integer.parseInt(hits) + 1, Integer.parseInt(stat("hits")));
+
+    // different arguments are cached separately
+    assertEquals("A2", get("r/2"));
+    assertEquals(Integer.parseInt(hits) + 1, Integer.parseInt(stat("hits")));
+
+    // updates discard the cached results
+    get("u");
+    assertEquals("B1", get("r/1"));
+    assertEquals("B2", get("r/2"));
+    assertEquals(Integer.parseInt(hits) + 1, Integer.parseInt(stat("hits")));
+  }
+
+  /**
+   * Returns a statistic of the query cache.
+   * @param name name of the statistic
+   * @return value
+   */
+  private static String stat(final String name) {
+    return Token.string(HTTPContext.get().context().jobs.cache.toXML().attribute(
+        Token.token(name)));
+  }
+}
@@ -0,0 +1,83 @@
+package org.basex.http.restxq;
+
+import org.basex.util.http.*;
+import org.junit.jupiter.api.*;
+
+/**
+ * This test contains the ordering of RESTXQ routes.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class RestXqRoutesTest extends RestXqTest {
+  /**
+   * Literal segments take precedence over templates.
+   * @throws Exception exception */
+  @Test public void literal() throws Exception {
+    final String f =
+      "declare %R:path('a/b') function m:f1() { 'L' };" +
+      "declare %R:path('a/{$x}') function m:f2($x) { 'T' || $x };";
+    get(f, "a/b", "L");
+    get(f, "a/c", "Tc");
+    getE(f, "a");
+  }
+
+  /**
+   * Functions that are indexed at different depths are ranked by their specifity.
+   * @throws Exception exception */
+  @Test public void depth() throws Exception {
+    final String f =
+      "declare %R:path('a/{$x}/c') function m:f1($x) { 1 };" +
+      "declare %R:path('a/b/{$y}') function m:f2($y) { 2 };" +
+      "declare %R:path('{$x}/b/c') function m:f3($x) { 3 };" +
+      "declare %R:path('{$x=.+}') function m:f4($x) { 4 };";
+    get(f, "a/b/c", "2");
+    get(f, "a/x/c", "1");
+    get(f, "x/b/c", "3");
+    get(f, "x/y", "4");
+    get(f, "a/b/c/d", "4");
+  }
+
+  /**
+   * Encoded literal segments.
+   * @throws Exception exception */
+  @Test public void encoded() throws Exception {
+    final String f =
+      "declare %R:path('a%20b') function m:f1() { 'L' };" +
+      "declare %R:path('{$x}') function m:f2($x) { 'T' };";
+    get(f, "a%20b", "L");
+    get(f, "ab", "T");
+  }
+
+  /**
+   * Functions with identical paths are chosen by the consumed media type.
+   * @throws Exception exception */
+  @Test public void consumes() throws Exception {
+    final String f =
+      "declare %R:POST %R:path('a') %R:consumes('text/*') function m:f1() { 1 };" +
+      "declare %R:POST %R:path('a') %R:consumes('text/plain') function m:f2() { 2 };" +
+      "declare %R:POST %R:path('{$x}') %R:consumes('text/plain') function m:f3($x) { 3 };";
+    post(f, "a", "", MediaType.TEXT_PLAIN, "2");
+    post(f, "a", "", MediaType.TEXT_XML, "1");
+    post(f, "b", "", MediaType.TEXT_PLAIN, "3");
+  }
+
+  /**
+   * Functions with identical paths are chosen by the produced media type.
+   * @throws Exception exception */
+  @Test public void produces() throws Exception {
+    final String f =
+      "declare %R:path('a') %R:produces('application/json') function m:f1() { 1 };" +
+      "declare %R:path('a') %R:produces('text/html') function m:f2() { 2 };";
+    // default accept header of the client prefers text/html
+    get(f, "a", "2");
+  }
+
+  /**
+   * Functions with identical specifity and media types are rejected.
+   * @throws Exception exception */
+  @Test public void conflict() throws Exception {
+    getE("declare %R:path('a/{$x}') function m:f1($x) { 1 };" +
+         "declare %R:path('a/{$y}') function m:f2($y) { 2 };", "a/b");
+  }
+}
@@ -2,7 +2,6 @@ package org.basex.api.client;
 
 import java.io.*;
 
-import org.basex.io.in.*;
 import org.basex.query.value.type.*;
 import org.basex.query.value.type.Type.ID;
 import org.basex.util.*;
@@ -127,9 +126,8 @@ public abstract class Query implements Closeable {
           while(input.read() > 0);
         }
       }
-      // read and decode result
-      final ServerInput si = new ServerInput(input);
-      for(int b; (b = si.read()) != -1;) bl.add(b);
+      // read and decode result (see ServerInput#read)
+      for(int b; (b = input.read()) > 0;) bl.add(b == 0xFF ? input.read() : b);
       cache.add(bl.next());
       types.add(t);
     }
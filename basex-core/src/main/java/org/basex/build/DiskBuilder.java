@@ -31,6 +31,10 @@ public final class DiskBuilder extends Builder {
   private DataOutput vout;
   /** Output stream for temporary values. */
   private DataOutput sout;
+  /** Dictionary for shared texts (can be {@code null}). */
+  private TextDictionary xdict;
+  /** Dictionary for shared attribute values (can be {@code null}). */
+  private TextDictionary vdict;
 
   /** Static options. */
   private final StaticOptions sopts;
@@ -67,6 +71,10 @@ public final class DiskBuilder extends Builder {
 
     elemNames = new Names(meta);
     attrNames = new Names(meta);
+    if(meta.sharetexts) {
+      xdict = new TextDictionary(meta);
+      vdict = new TextDictionary(meta);
+    }
     try {
       try {
         tout = new DataOutput(new TableOutput(meta, DATATBL));
@@ -81,6 +89,14 @@ public final class DiskBuilder extends Builder {
         if(sout != null) sout.close();
       }
 
+      // write dictionaries of shared texts
+      if(xdict != null) {
+        try(DataOutput out = new DataOutput(meta.dbFile(DATADIC))) {
+          xdict.write(out);
+          vdict.write(out);
+        }
+      }
+
       // copy temporary values into database table
       final IOFile tmpFile = meta.dbFile(DATATMP);
       try(DataInput in = new DataInput(tmpFile)) {
@@ -165,11 +181,20 @@ public final class DiskBuilder extends Builder {
     final long inlined = Inline.pack(value);
     if(inlined != 0) return inlined;
 
+    // return reference to shared text
+    final TextDictionary dict = text ? xdict : vdict;
+    if(dict != null) {
+      final long ref = dict.get(value);
+      if(ref != -1) return ref;
+    }
+
     // store text to heap file
     final byte[] packed = Compress.pack(value);
     final DataOutput store = text ? xout : vout;
     final long offset = store.size();
     store.writeToken(packed);
-    return packed == value ? offset : Compress.COMPRESS | offset;
+    final long ref = packed == value ? offset : Compress.COMPRESS | offset;
+    if(dict != null) dict.add(value, ref);
+    return ref;
   }
 }
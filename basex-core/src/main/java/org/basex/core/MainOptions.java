@@ -97,10 +97,18 @@ public final class MainOptions extends Options {
   public static final NumberOption MAXCATS = new NumberOption("MAXCATS", 100);
   /** Flag for activating incremental index structures. */
   public static final BooleanOption UPDINDEX = new BooleanOption("UPDINDEX", false);
+  /** Flag for creating an element index. */
+  public static final BooleanOption ELEMINDEX = new BooleanOption("ELEMINDEX", false);
+  /** Column store: paths of numeric leaf nodes. */
+  public static final StringOption COLUMNS = new StringOption("COLUMNS", "");
   /** Flag for automatic index updates. */
   public static final BooleanOption AUTOOPTIMIZE = new BooleanOption("AUTOOPTIMIZE", false);
   /** Index split size. */
   public static final NumberOption SPLITSIZE = new NumberOption("SPLITSIZE", 0);
+  /** Flag for storing repeated texts only once. */
+  public static final BooleanOption SHARETEXTS = new BooleanOption("SHARETEXTS", false);
+  /** Flag for storing binaries in packed segment files. */
+  public static final BooleanOption PACKBINARIES = new BooleanOption("PACKBINARIES", false);
 
   // Full-Text
 
@@ -143,6 +151,12 @@ public final class MainOptions extends Options {
   public static final NumberOption RUNS = new NumberOption("RUNS", 1);
   /** Flag for enforcing index rewritings. */
   public static final BooleanOption ENFORCEINDEX = new BooleanOption("ENFORCEINDEX", false);
+  /** Number of threads for scanning the documents of a database. */
+  public static final NumberOption SCANTHREADS = new NumberOption("SCANTHREADS", 1);
+  /** Caches the results of read-only queries. Results are only invalidated by updates of
+   * databases: if a query reads other resources, such as local files, it may return outdated
+   * results after the resources have been changed. */
+  public static final BooleanOption QUERYCACHE = new BooleanOption("QUERYCACHE", false);
   /** Deep node copies. */
   public static final BooleanOption COPYNODE = new BooleanOption("COPYNODE", true);
 
@@ -156,6 +170,10 @@ public final class MainOptions extends Options {
   /** Exporter serialization parameters. */
   public static final OptionsOption<SerializerOptions> EXPORTER =
       new OptionsOption<>("EXPORTER", new SerializerOptions());
+  /** Number of threads for exporting the resources of a database. */
+  public static final NumberOption EXPORTTHREADS = new NumberOption("EXPORTTHREADS", 1);
+  /** Flag for exporting the resources of a database to a zip archive. */
+  public static final BooleanOption EXPORTARCHIVE = new BooleanOption("EXPORTARCHIVE", false);
 
   /** Prints an XML plan. */
   public static final BooleanOption XMLPLAN = new BooleanOption("XMLPLAN", false);
@@ -168,6 +186,9 @@ public final class MainOptions extends Options {
   public static final BooleanOption AUTOFLUSH = new BooleanOption("AUTOFLUSH", true);
   /** Writes original files back after updates. */
   public static final BooleanOption WRITEBACK = new BooleanOption("WRITEBACK", false);
+  /** Only backs up files that have changed since the last backup. */
+  public static final BooleanOption INCREMENTALBACKUP =
+    new BooleanOption("INCREMENTALBACKUP", false);
   /** Maximum number of index occurrences to print. */
   public static final NumberOption MAXSTAT = new NumberOption("MAXSTAT", 30);
 
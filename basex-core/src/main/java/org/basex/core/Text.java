@@ -814,6 +814,8 @@ public interface Text {
   String PATH = lang("path");
   /** "Duration". */
   String DURATION = lang("duration");
+  /** "Wait". */
+  String WAIT = lang("wait");
   /** "State". */
   String STATE = lang("state");
   /** "Start". */
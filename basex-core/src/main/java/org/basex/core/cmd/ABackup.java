@@ -1,8 +1,18 @@
 package org.basex.core.cmd;
 
+import static org.basex.data.DataText.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.*;
+
 import org.basex.core.*;
 import org.basex.core.locks.*;
 import org.basex.core.users.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * Abstract class for database backup.
@@ -11,6 +21,9 @@ import org.basex.core.users.*;
  * @author Christian Gruen
  */
 abstract class ABackup extends Command {
+  /** Name of the manifest, which is stored in the database directory of a backup. */
+  static final String MANIFEST = DATACHK + IO.BASEXSUFFIX;
+
   /**
    * Protected constructor.
    * @param args arguments
@@ -23,4 +36,115 @@ abstract class ABackup extends Command {
   public void addLocks() {
     jc().locks.writes.add(Locking.BACKUP); // No parallel backup operations
   }
+
+  /**
+   * Returns the incremental backups that directly or indirectly depend on the specified backup.
+   * @param backup name of the backup
+   * @param sopts static options
+   * @return names of dependent backups, in ascending order
+   */
+  static StringList dependents(final String backup, final StaticOptions sopts) {
+    final StringList dependents = new StringList();
+    final String db = Databases.name(backup);
+    if(db.equals(backup)) return dependents;
+
+    // newer backups of the same database, in ascending order
+    final StringList backups = new StringList();
+    for(final IOFile file : sopts.dbPath().children()) {
+      final String name = file.name();
+      if(!name.endsWith(IO.ZIPSUFFIX)) continue;
+      final String bu = name.substring(0, name.length() - IO.ZIPSUFFIX.length());
+      if(!bu.equals(db) && Databases.name(bu).equals(db) && bu.compareTo(backup) > 0) {
+        backups.add(bu);
+      }
+    }
+    final HashSet<String> dates = new HashSet<>();
+    dates.add(Databases.date(backup));
+    for(final String bu : backups.sort()) {
+      try {
+        final Manifest manifest = Manifest.read(bu, sopts);
+        if(manifest != null && dates.contains(manifest.base)) {
+          dependents.add(bu);
+          dates.add(Databases.date(bu));
+        }
+      } catch(final IOException ex) {
+        Util.debug(ex);
+      }
+    }
+    return dependents;
+  }
+
+  /**
+   * Manifest of a backup, containing the sizes, timestamps and checksums of all database files.
+   * Incremental backups only contain the files that have changed since their base backup.
+   */
+  static final class Manifest {
+    /** Relative file paths, mapped to size, timestamp and CRC-32 checksum. */
+    final HashMap<String, long[]> files = new HashMap<>();
+    /** Date of the base backup ({@code null} for full backups). */
+    String base;
+
+    /**
+     * Reads the manifest of a backup.
+     * Checksums of the files contained in the archive are taken from the archive itself.
+     * @param backup name of the backup
+     * @param sopts static options
+     * @return manifest, or {@code null} if the backup contains no manifest
+     * @throws IOException I/O exception
+     */
+    static Manifest read(final String backup, final StaticOptions sopts) throws IOException {
+      final String db = Databases.name(backup);
+      try(ZipFile zip = new ZipFile(sopts.dbPath(backup + IO.ZIPSUFFIX).file())) {
+        final ZipEntry entry = zip.getEntry(db + '/' + MANIFEST);
+        if(entry == null) return null;
+
+        final String[] lines;
+        try(BufferInput bi = BufferInput.get(zip.getInputStream(entry))) {
+          lines = Strings.split(Token.string(bi.content()), '\n');
+        }
+        final Manifest manifest = new Manifest();
+        if(!lines[0].isEmpty()) manifest.base = lines[0];
+        for(int l = 1; l < lines.length; l++) {
+          final String[] cols = Strings.split(lines[l], '\t');
+          if(cols.length != 4) throw new IOException("Invalid manifest: " + backup);
+          long crc = Long.parseLong(cols[3]);
+          if(crc == -1) {
+            final ZipEntry ze = zip.getEntry(db + '/' + cols[0]);
+            if(ze == null) throw new FileNotFoundException(backup + ": " + cols[0]);
+            crc = ze.getCrc();
+          }
+          manifest.files.put(cols[0], new long[] {
+            Long.parseLong(cols[1]), Long.parseLong(cols[2]), crc });
+        }
+        return manifest;
+      } catch(final NumberFormatException ex) {
+        throw new IOException("Invalid manifest: " + backup, ex);
+      }
+    }
+
+    /**
+     * Returns the type of the specified backup.
+     * @param backup name of the backup
+     * @param sopts static options
+     * @return {@code "incremental"} or {@code "full"}
+     * @throws IOException I/O exception
+     */
+    static String type(final String backup, final StaticOptions sopts) throws IOException {
+      final Manifest manifest = read(backup, sopts);
+      return manifest != null && manifest.base != null ? "incremental" : "full";
+    }
+
+    /**
+     * Returns the serialized manifest. A checksum of {@code -1} indicates that the file is
+     * contained in the archive.
+     * @return manifest
+     */
+    byte[] finish() {
+      final TokenBuilder tb = new TokenBuilder();
+      if(base != null) tb.add(base);
+      files.forEach((path, entry) -> tb.add('\n').add(path).add('\t').add(entry[0]).add('\t').
+          add(entry[1]).add('\t').add(entry[2]));
+      return tb.finish();
+    }
+  }
 }
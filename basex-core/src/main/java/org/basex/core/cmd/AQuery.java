@@ -18,6 +18,7 @@ import org.basex.query.iter.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * Abstract class for database queries.
@@ -74,7 +75,20 @@ public abstract class AQuery extends Command {
           init(query, context);
           if(!compplan) queryPlan();
 
+          // return cached result (skip compilation and evaluation)
           final Performance perf = new Performance();
+          final String key = r == 0 && run && serial && maxResults < 0 ? cacheKey() : null;
+          final QueryCache cache = context.jobs.cache;
+          if(key != null) {
+            final QueryCache.Result cached = cache.get(key);
+            if(cached != null) {
+              out.write(cached.output);
+              hits = cached.items;
+              info.evaluating += perf.ns();
+              continue;
+            }
+          }
+
           for(final Entry<String, Object> entry : vars.entrySet()) {
             final String name = entry.getKey();
             final Object value = entry.getValue();
@@ -95,7 +109,9 @@ public abstract class AQuery extends Command {
           if(compplan) queryPlan();
           if(!run) continue;
 
-          final PrintOutput po = r == 0 && serial ? out : new NullOutput();
+          // serialize result into a buffer before caching it
+          final PrintOutput po = r == 0 && serial ? key != null ? new ArrayOutput() : out :
+            new NullOutput();
           try(Serializer ser = qp.getSerializer(po)) {
             if(maxResults >= 0) {
               result = qp.cache(maxResults);
@@ -113,6 +129,11 @@ public abstract class AQuery extends Command {
               }
             }
           }
+          if(key != null) {
+            final byte[] output = ((ArrayOutput) po).finish();
+            out.write(output);
+            cache.put(key, output, hits, jc().locks.reads);
+          }
           qp.close();
           info.serializing += perf.ns();
         }
@@ -138,6 +159,25 @@ public abstract class AQuery extends Command {
     return extError(error);
   }
 
+  /**
+   * Returns the key for caching the result of the query.
+   * Results will only be cached if the query can be cached (see {@link QueryCache#key}),
+   * and if all external variables are bound to strings.
+   * @return key, or {@code null} if the result will not be cached
+   */
+  private String cacheKey() {
+    final StringList bindings = new StringList(vars.size() * 3 + 2).add(uri).add(qp.query());
+    final ArrayList<String> names = new ArrayList<>(vars.keySet());
+    names.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+    for(final String name : names) {
+      final Object value = vars.get(name);
+      if(!(value instanceof String[])) return null;
+      final String[] strings = (String[]) value;
+      bindings.add(name).add(strings[0]).add(strings[1]);
+    }
+    return QueryCache.key(qp.qc, bindings.finish());
+  }
+
   /**
    * Checks if the query is updating.
    * @param ctx database context
@@ -55,7 +55,7 @@ public final class Add extends ACreate {
       final Data data = context.data();
       return update(data, new Code() {
         @Override
-        boolean run() {
+        boolean run() throws IOException {
           // skip update if fragment is empty
           if(tmpData.meta.size > 1) {
             context.invalidate();
@@ -63,6 +63,8 @@ public final class Add extends ACreate {
             auc.addInsert(data.meta.size, -1, new DataClip(tmpData));
             auc.execute(false);
           }
+          // binaries are written to the database directory by the parser
+          data.resources.packBinaries();
           return info(RES_ADDED_X, jc().performance);
         }
       });
@@ -5,6 +5,8 @@ import static org.basex.data.DataText.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
 
 import org.basex.core.*;
 import org.basex.core.parse.*;
@@ -49,7 +51,7 @@ public final class CreateBackup extends ABackup {
         ok = false;
       } else {
         try {
-          backup(db, soptions, this);
+          backup(db, context, this);
           // backup was successful
           info(DB_BACKUP_X, db, jc().performance);
         } catch(final IOException ex) {
@@ -63,31 +65,116 @@ public final class CreateBackup extends ABackup {
   }
 
   /**
-   * Backups the specified database.
+   * Backups the specified database. If incremental backups are enabled, only the files will be
+   * added that have changed since the latest backup.
    * @param db name of the database
-   * @param sopts static options
+   * @param ctx database context
    * @param cmd calling command instance
    * @throws IOException I/O Exception
    */
-  public static void backup(final String db, final StaticOptions sopts, final CreateBackup cmd)
+  public static void backup(final String db, final Context ctx, final CreateBackup cmd)
       throws IOException {
 
-    final String backup = db + '-' + DateTime.format(new Date(), DateTime.DATETIME) + IO.ZIPSUFFIX;
-    final IOFile zf = sopts.dbPath(backup);
-    final Zip zip = new Zip(zf);
+    final StaticOptions sopts = ctx.soptions;
+    final String backup = db + '-' + DateTime.format(new Date(), DateTime.DATETIME);
+    final IOFile dbpath = sopts.dbPath(db);
+    final StringList files = dbpath.descendants();
+    // ignore file indicating an update (this file is generated when using XQuery)
+    files.removeAll(DATAUPD + IO.BASEXSUFFIX);
+    files.removeAll(MANIFEST);
 
+    // find manifest of the latest backup (skip undated backups and backups to be overwritten)
+    final Manifest manifest = new Manifest();
+    Manifest previous = null;
+    if(ctx.options.get(MainOptions.INCREMENTALBACKUP)) {
+      final StringList backups = ctx.databases.backups(db);
+      final String latest = backups.isEmpty() ? db : backups.get(0);
+      if(!latest.equals(db) && !latest.equals(backup)) {
+        previous = Manifest.read(latest, sopts);
+        if(previous != null) manifest.base = Databases.date(latest);
+      }
+    }
+
+    final StringList entries = new StringList(files.size()), checks = new StringList();
+    final ArrayList<Future<Boolean>> unchanged = new ArrayList<>();
+    ExecutorService pool = null;
+    try {
+      for(final String file : files) {
+        final IOFile io = new IOFile(dbpath, file);
+        final long[] entry = { io.length(), io.timeStamp(), -1 };
+        final String path = Prop.WIN ? file.replace('\\', '/') : file;
+        manifest.files.put(path, entry);
+
+        final long[] old = previous != null ? previous.files.get(path) : null;
+        if(old == null || old[0] != entry[0]) {
+          // new file, or size has changed
+          entries.add(file);
+        } else if(old[1] == entry[1]) {
+          // unchanged size and timestamp: adopt checksum
+          entry[2] = old[2];
+        } else {
+          // new timestamp: compare checksums (computed in parallel by a dedicated pool,
+          // as its threads are blocked by file I/O)
+          checks.add(file);
+          if(pool == null) pool = Executors.newFixedThreadPool(Runtime.getRuntime().
+              availableProcessors());
+          unchanged.add(pool.submit(() -> {
+            final long crc = checksum(io);
+            if(crc != old[2]) return false;
+            entry[2] = crc;
+            return true;
+          }));
+        }
+      }
+      final int cs = checks.size();
+      for(int c = 0; c < cs; c++) {
+        if(!get(unchanged.get(c))) entries.add(checks.get(c));
+      }
+    } finally {
+      if(pool != null) pool.shutdownNow();
+    }
+
+    final Zip zip = new Zip(sopts.dbPath(backup + IO.ZIPSUFFIX));
     try {
       if(cmd != null) cmd.pushJob(zip);
-      final IOFile dbpath = sopts.dbPath(db);
-      final StringList files = dbpath.descendants();
-      // ignore file indicating an update (this file is generated when using XQuery)
-      files.removeAll(DATAUPD + IO.BASEXSUFFIX);
-      zip.zip(dbpath, files);
+      zip.zip(dbpath, entries, MANIFEST, manifest.finish());
     } finally {
       if(cmd != null) cmd.popJob();
     }
   }
 
+  /**
+   * Computes the CRC-32 checksum of a file.
+   * @param file file
+   * @return checksum
+   * @throws IOException I/O Exception
+   */
+  private static long checksum(final IOFile file) throws IOException {
+    final CRC32 crc = new CRC32();
+    final byte[] data = new byte[IO.BLOCKSIZE];
+    try(InputStream in = file.inputStream()) {
+      for(int c; (c = in.read(data)) != -1;) crc.update(data, 0, c);
+    }
+    return crc.getValue();
+  }
+
+  /**
+   * Returns the result of a checksum comparison.
+   * @param future future
+   * @return result of comparison
+   * @throws IOException I/O Exception
+   */
+  private static boolean get(final Future<Boolean> future) throws IOException {
+    try {
+      return future.get();
+    } catch(final InterruptedException ex) {
+      throw new IOException(ex);
+    } catch(final ExecutionException ex) {
+      final Throwable cause = ex.getCause();
+      throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    }
+  }
+
   @Override
   public void addLocks() {
     super.addLocks();
@@ -115,6 +115,7 @@ public final class CreateDB extends ACreate {
         @Override
         boolean run() throws IOException {
           CreateIndex.create(data, CreateDB.this);
+          data.resources.packBinaries();
           return info(parser.info() + DB_CREATED_X_X, name, jc().performance);
         }
       })) return false;
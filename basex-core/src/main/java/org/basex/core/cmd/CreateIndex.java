@@ -86,6 +86,8 @@ public final class CreateIndex extends ACreate {
     if(data.meta.createattr) create(IndexType.ATTRIBUTE, data, cmd);
     if(data.meta.createtoken) create(IndexType.TOKEN, data, cmd);
     if(data.meta.createft) create(IndexType.FULLTEXT, data, cmd);
+    data.elemIndex.create();
+    data.columns.create();
   }
 
   /**
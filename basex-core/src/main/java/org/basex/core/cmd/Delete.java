@@ -4,7 +4,6 @@ import static org.basex.core.Text.*;
 
 import org.basex.core.users.*;
 import org.basex.data.*;
-import org.basex.io.*;
 import org.basex.query.up.atomic.*;
 import org.basex.util.list.*;
 
@@ -53,8 +52,6 @@ public final class Delete extends ACreate {
    * @param path resource to be deleted
    */
   public static void deleteBinary(final Data data, final String path) {
-    if(data.inMemory()) return;
-    final IOFile file = data.meta.binary(path);
-    if(file != null) file.delete();
+    data.resources.deleteBinaries(path);
   }
 }
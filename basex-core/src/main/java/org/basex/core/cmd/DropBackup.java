@@ -44,13 +44,18 @@ public final class DropBackup extends ABackup {
   }
 
   /**
-   * Drops a backup with the specified name.
+   * Drops a backup with the specified name. Incremental backups that depend on this backup
+   * are dropped as well, as they cannot be restored anymore.
    * @param name name of backup file
    * @param sopts static options
    * @return success flag
    */
   public static boolean drop(final String name, final StaticOptions sopts) {
-    return sopts.dbPath(name + IO.ZIPSUFFIX).delete();
+    boolean ok = true;
+    for(final String backup : dependents(name, sopts)) {
+      ok &= sopts.dbPath(backup + IO.ZIPSUFFIX).delete();
+    }
+    return sopts.dbPath(name + IO.ZIPSUFFIX).delete() && ok;
   }
 
   @Override
@@ -4,6 +4,9 @@ import static org.basex.core.Text.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.zip.*;
 
 import org.basex.core.*;
 import org.basex.core.locks.*;
@@ -24,6 +27,10 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 public final class Export extends Command {
+  /** Name of the file in which the paths of exported resources are logged. */
+  private static final String PROGRESS = ".export" + IO.BASEXSUFFIX;
+  /** Maximum number of nodes of documents that are serialized to a buffer before compression. */
+  private static final int BUFFER = 1 << 16;
   /** Currently exported file. */
   private IO progFile;
   /** Current number of exported file. */
@@ -66,79 +73,206 @@ public final class Export extends Command {
    */
   public static void export(final Data data, final String path, final MainOptions options,
       final Export export) throws IOException {
-    export(data, path, options.get(MainOptions.EXPORTER), export);
+    export(data, path, options.get(MainOptions.EXPORTER), options.get(MainOptions.EXPORTTHREADS),
+        options.get(MainOptions.EXPORTARCHIVE), export);
   }
 
   /**
    * Exports the current database to the specified path.
    * Files and directories in {@code path} will be possibly overwritten.
+   * If the archive flag is set, resources will be written to a zip archive.
+   * Otherwise, the paths of exported resources will be logged in a progress file,
+   * and the resources will be skipped if an interrupted export of the same database
+   * (identified by its name and timestamp) is repeated.
    * @param data data reference
-   * @param path directory
+   * @param path directory or zip archive
    * @param sopts serialization parameters
+   * @param threads number of threads
+   * @param archive write resources to a zip archive
    * @param export calling instance
    * @throws IOException I/O exception
    */
   public static void export(final Data data, final String path, final SerializerOptions sopts,
-      final Export export) throws IOException {
-
-    final IOFile root = new IOFile(path);
-    root.md();
+      final int threads, final boolean archive, final Export export) throws IOException {
 
     // XML documents
     final IntList docs = data.resources.docs();
     // raw files
-    final IOFile source;
-    final StringList files;
-    if(data.inMemory()) {
-      source = null;
-      files = new StringList();
-    } else {
-      source = data.meta.binaryDir();
-      files = source.descendants();
+    final TokenList files = data.resources.binaries("");
+
+    // assign unique paths
+    final int ds = docs.size(), size = ds + files.size();
+    final String[] paths = new String[size];
+    final HashSet<String> exported = new HashSet<>();
+    exported.add(PROGRESS);
+    for(int i = 0; i < size; i++) {
+      final byte[] name = i < ds ? data.text(docs.get(i), true) : files.get(i - ds);
+      final String string = Token.string(name);
+      paths[i] = unique(exported, Prop.WIN ? string.replace('\\', '/') : string);
     }
 
     if(export != null) {
       export.progPos = 0;
-      export.progSize = docs.size() + files.size();
+      export.progSize = size;
     }
 
-    // XML documents
-    final HashSet<String> target = new HashSet<>();
-    final int is = docs.size();
-    for(int i = 0; i < is; i++) {
-      final int pre = docs.get(i);
-      // create file path
-      final IOFile io = root.resolve(Token.string(data.text(pre, true)));
-      if(export != null) {
-        export.checkStop();
-        export.progFile = io;
+    final IOFile root = new IOFile(path);
+    if(archive) {
+      // zip archive: serialize documents in parallel, compress them one by one.
+      // large documents are serialized directly to the archive
+      root.parent().md();
+      try(ZipOutputStream zos = new ZipOutputStream(new BufferOutput(root))) {
+        zos.setLevel(1);
+        export(size, threads, export, i -> {
+          final String name = paths[i];
+          final ArrayOutput ao = threads > 1 && i < ds &&
+            data.size(docs.get(i), Data.DOC) <= BUFFER ? new ArrayOutput() : null;
+          if(ao != null) write(data, docs.get(i), sopts, ao);
+          synchronized(zos) {
+            zos.putNextEntry(new ZipEntry(name));
+            if(ao != null) {
+              zos.write(ao.buffer(), 0, (int) ao.size());
+            } else if(i < ds) {
+              write(data, docs.get(i), sopts, zos);
+            } else {
+              data.resources.binary(Token.string(files.get(i - ds))).writeTo(zos);
+            }
+            zos.closeEntry();
+          }
+          return new IOFile(root, name);
+        });
       }
-      // create dir if necessary
-      io.parent().md();
-
-      // serialize file
-      try(PrintOutput po = new PrintOutput(unique(target, io.path()))) {
-        try(Serializer ser = Serializer.get(po, sopts)) {
-          ser.serialize(new DBNode(data, pre));
+    } else {
+      // directory: skip resources that have been exported before.
+      // the progress file is ignored if it belongs to another database or database state
+      root.md();
+      final IOFile progress = new IOFile(root, PROGRESS);
+      final String id = data.meta.name + ' ' + data.meta.time;
+      final HashSet<String> skip = new HashSet<>();
+      if(progress.exists()) {
+        final String[] lines = Strings.split(Token.string(progress.read()), '\n');
+        if(lines[0].equals(id)) {
+          skip.addAll(Arrays.asList(lines).subList(1, lines.length));
+        } else {
+          progress.delete();
         }
       }
+      final boolean resume = progress.exists();
+      try(PrintOutput po = PrintOutput.get(new FileOutputStream(progress.file(), true))) {
+        if(!resume) po.println(id);
+        export(size, threads, export, i -> {
+          final String name = paths[i];
+          final IOFile io = new IOFile(root, name);
+          if(!skip.contains(name)) {
+            if(i < ds) {
+              io.parent().md();
+              try(PrintOutput out = new PrintOutput(io)) {
+                write(data, docs.get(i), sopts, out);
+              }
+            } else {
+              io.parent().md();
+              try(FileOutputStream out = io.outputStream()) {
+                data.resources.binary(Token.string(files.get(i - ds))).writeTo(out);
+              }
+            }
+            synchronized(po) {
+              po.println(name);
+            }
+          }
+          return io;
+        });
+      }
+      progress.delete();
+    }
+  }
+
+  /**
+   * Exports resources, possibly in parallel.
+   * @param size number of resources
+   * @param threads number of threads
+   * @param export calling instance (can be {@code null})
+   * @param resource function for exporting a single resource
+   * @throws IOException I/O exception
+   */
+  private static void export(final int size, final int threads, final Export export,
+      final Resource resource) throws IOException {
 
-      if(export != null) export.progPos++;
+    final AtomicInteger next = new AtomicInteger();
+    final int ts = Math.min(threads, size);
+    if(ts < 2) {
+      export(next, size, export, resource);
+      return;
     }
 
-    // export raw files
-    for(final String file : files) {
-      final IOFile io = new IOFile(root.path(), file);
-      if(export != null) {
-        export.checkStop();
-        export.progFile = io;
+    final ExecutorService pool = Executors.newFixedThreadPool(ts);
+    try {
+      final ArrayList<Future<Void>> futures = new ArrayList<>(ts);
+      for(int t = 0; t < ts; t++) {
+        futures.add(pool.submit(() -> {
+          try {
+            export(next, size, export, resource);
+          } catch(final IOException | RuntimeException ex) {
+            // skip remaining resources in all threads
+            next.set(size);
+            throw ex;
+          }
+          return null;
+        }));
       }
-      new IOFile(source, file).copyTo(unique(target, io.path()));
+      for(final Future<Void> future : futures) future.get();
+    } catch(final InterruptedException ex) {
+      throw new IOException(ex);
+    } catch(final ExecutionException ex) {
+      final Throwable cause = ex.getCause();
+      if(cause instanceof IOException) throw (IOException) cause;
+      if(cause instanceof RuntimeException) throw (RuntimeException) cause;
+      throw new IOException(cause);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
 
-      if(export != null) export.progPos++;
+  /**
+   * Exports resources until all resources have been processed.
+   * @param next index of the next resource
+   * @param size number of resources
+   * @param export calling instance (can be {@code null})
+   * @param resource function for exporting a single resource
+   * @throws IOException I/O exception
+   */
+  private static void export(final AtomicInteger next, final int size, final Export export,
+      final Resource resource) throws IOException {
+    for(int i; (i = next.getAndIncrement()) < size;) {
+      if(export != null) export.checkStop();
+      final IOFile io = resource.export(i);
+      if(export != null) export.exported(io);
     }
   }
 
+  /**
+   * Serializes a document.
+   * @param data data reference
+   * @param pre pre value of the document
+   * @param sopts serialization parameters
+   * @param os output stream
+   * @throws IOException I/O exception
+   */
+  private static void write(final Data data, final int pre, final SerializerOptions sopts,
+      final OutputStream os) throws IOException {
+    try(Serializer ser = Serializer.get(os, sopts)) {
+      ser.serialize(new DBNode(data, pre));
+    }
+  }
+
+  /**
+   * Registers an exported resource.
+   * @param io exported file
+   */
+  private synchronized void exported(final IOFile io) {
+    progFile = io;
+    progPos++;
+  }
+
   @Override
   public double progressInfo() {
     return progSize == 0 ? 0 : (double) progPos / progSize;
@@ -170,7 +304,7 @@ public final class Export extends Command {
    * @param file file path
    * @return unique path
    */
-  private static IOFile unique(final HashSet<String> exp, final String file) {
+  private static String unique(final HashSet<String> exp, final String file) {
     int c = 1;
     String path = file;
     while(exp.contains(path)) {
@@ -178,6 +312,20 @@ public final class Export extends Command {
            file.replaceAll("(.*)\\.(.*)", "$1(" + ++c + ").$2");
     }
     exp.add(path);
-    return new IOFile(path);
+    return path;
+  }
+
+  /**
+   * Function for exporting a single resource.
+   */
+  @FunctionalInterface
+  private interface Resource {
+    /**
+     * Exports the resource with the specified index.
+     * @param i index
+     * @return exported file
+     * @throws IOException I/O exception
+     */
+    IOFile export(int i) throws IOException;
   }
 }
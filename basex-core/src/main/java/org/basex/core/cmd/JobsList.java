@@ -41,6 +41,7 @@ public final class JobsList extends Command {
     table.header.add(STATE);
     table.header.add(USER);
     table.header.add(DURATION);
+    table.header.add(WAIT);
     table.header.add(START);
     table.header.add(END);
     table.header.add(INTERVAL);
@@ -99,7 +100,9 @@ public final class JobsList extends Command {
     tl.add(jc.type());
     tl.add(job.state.toString().toLowerCase(Locale.ENGLISH));
     tl.add(jc.context.clientName());
+    final long wait = jc.waited();
     tl.add(ms >= 0 ? DTDur.get(ms).string(null) : EMPTY);
+    tl.add(wait >= 0 ? DTDur.get(wait / 1000000).string(null) : EMPTY);
     tl.add(jt != null ? dateTime(jt.start) : EMPTY);
     tl.add(jt != null && jt.end != Long.MAX_VALUE ? dateTime(jt.end) : EMPTY);
     tl.add(jt != null && jt.interval != 0 ? DTDur.get(jt.interval).string(null) : EMPTY);
@@ -84,7 +84,7 @@ public final class List extends Command {
         dbsize = meta.dbSize();
         file = meta.original;
         // add number of raw files
-        count = meta.ndocs + meta.binaryDir().descendants().size();
+        count = meta.ndocs + Resources.binaryCount(meta);
       } catch(final IOException ex) {
         Util.debug(ex);
         file = ERROR;
@@ -140,7 +140,7 @@ public final class List extends Command {
         tl.add(file);
         tl.add(IO.RAW);
         tl.add(MediaType.get(bin).toString());
-        tl.add(data.meta.binary(bin).length());
+        tl.add(resources.binary(bin).length());
         table.contents.add(tl);
       }
       Close.close(data, context);
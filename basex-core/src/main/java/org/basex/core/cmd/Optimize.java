@@ -47,6 +47,12 @@ public final class Optimize extends ACreate {
           data.meta.autooptimize = autooptimize;
           data.meta.dirty = true;
         }
+        // reassign flag for packing binaries
+        final boolean packbinaries = options.get(MainOptions.PACKBINARIES);
+        if(packbinaries != data.meta.packbinaries) {
+          data.meta.packbinaries = packbinaries;
+          data.meta.dirty = true;
+        }
         optimize(data, Optimize.this);
         return info(DB_OPTIMIZED_X, meta.name, jc().performance);
       }
@@ -156,11 +162,22 @@ public final class Optimize extends ACreate {
       meta.uptodate = true;
     }
 
+    // store repeated texts only once
+    if(meta.sharetexts && !data.inMemory()) ((DiskData) data).shareTexts();
+    // pack or extract binaries, reclaim space of deleted binaries
+    data.resources.optimizeBinaries();
+
+    // release sparsely filled table pages
+    data.compact();
+
     // rebuild value indexes
     optimize(IndexType.TEXT, data, meta.createtext, enforceText, cmd);
     optimize(IndexType.ATTRIBUTE, data, meta.createattr, enforceAttr, cmd);
     optimize(IndexType.TOKEN, data, meta.createtoken, enforceToken, cmd);
     optimize(IndexType.FULLTEXT, data, meta.createft, enforceFt, cmd);
+    // create element index and columns if they are missing
+    data.elemIndex.create();
+    data.columns.create();
   }
 
   /**
@@ -199,6 +216,7 @@ public final class Optimize extends ACreate {
       if(data.meta.textindex) optimize(IndexType.TEXT, data, true, true, null);
       if(data.meta.attrindex) optimize(IndexType.ATTRIBUTE, data, true, true, null);
       if(data.meta.tokenindex) optimize(IndexType.TOKEN, data, true, true, null);
+      if(data.meta.ftindex) optimize(IndexType.FULLTEXT, data, true, true, null);
     }
   }
 }
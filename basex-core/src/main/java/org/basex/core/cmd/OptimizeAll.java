@@ -10,6 +10,7 @@ import org.basex.core.parse.*;
 import org.basex.core.parse.Commands.*;
 import org.basex.core.users.*;
 import org.basex.data.*;
+import org.basex.index.resource.*;
 import org.basex.io.*;
 import org.basex.io.serial.*;
 import org.basex.query.value.item.*;
@@ -89,6 +90,8 @@ public final class OptimizeAll extends ACreate {
     // check if database is also pinned by other users
     final String name = ometa.name;
     if(context.datas.pins(name) > 1) throw new BaseXException(DB_PINNED_X, name);
+    // pack or extract binaries
+    odata.resources.optimizeBinaries();
 
     // adopt original index options
     options.set(MainOptions.TEXTINDEX, ometa.textindex);
@@ -99,6 +102,9 @@ public final class OptimizeAll extends ACreate {
     options.set(MainOptions.ATTRINCLUDE, ometa.attrinclude);
     options.set(MainOptions.TOKENINCLUDE, ometa.tokeninclude);
     options.set(MainOptions.FTINCLUDE, ometa.ftinclude);
+    options.set(MainOptions.ELEMINDEX, ometa.elemindex);
+    options.set(MainOptions.COLUMNS, ometa.columns);
+    options.set(MainOptions.PACKBINARIES, ometa.packbinaries);
     // adopt original full-text index options
     options.set(MainOptions.STEMMING, ometa.stemming);
     options.set(MainOptions.CASESENS, ometa.casesens);
@@ -148,6 +154,9 @@ public final class OptimizeAll extends ACreate {
     // move binary files
     final IOFile bin = ometa.binaryDir();
     if(bin.exists()) bin.rename(nmeta.binaryDir());
+    for(final IOFile file : Resources.packedFiles(ometa)) {
+      file.rename(new IOFile(nmeta.dir, file.name()));
+    }
 
     // drop old database, rename temporary database
     if(!DropDB.drop(name, sopts)) throw new BaseXException(DB_NOT_DROPPED_X, name);
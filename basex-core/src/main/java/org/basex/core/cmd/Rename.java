@@ -5,7 +5,6 @@ import static org.basex.util.Token.*;
 
 import org.basex.core.users.*;
 import org.basex.data.*;
-import org.basex.io.*;
 import org.basex.util.*;
 import org.basex.util.list.*;
 
@@ -64,11 +63,8 @@ public final class Rename extends ACreate {
       }
     }
 
-    final IOFile file = data.inMemory() ? null : data.meta.binary(src);
-    if(file != null && file.exists()) {
-      final IOFile target = data.meta.binary(trg);
-      final IOFile trgdir = target.parent();
-      if(!trgdir.md() || !file.rename(target)) ok = !info(NAME_INVALID_X, trg);
+    if(!data.resources.binaries(src).isEmpty()) {
+      if(!data.resources.renameBinaries(src, trg)) ok = !info(NAME_INVALID_X, trg);
       c++;
     }
     // return info message
@@ -84,8 +80,18 @@ public final class Rename extends ACreate {
    * @return new name
    */
   public static String target(final Data data, final int pre, final String src, final String trg) {
+    return target(string(data.text(pre, true)), src, trg);
+  }
+
+  /**
+   * Generates a target path for the specified resource.
+   * @param path path of the resource
+   * @param src source path
+   * @param trg target path
+   * @return new name
+   */
+  public static String target(final String path, final String src, final String trg) {
     // source references a file
-    final String path = string(data.text(pre, true));
     if(Prop.CASE ? path.equals(src) : path.equalsIgnoreCase(src)) return trg;
 
     // directory references: add trailing slashes to non-empty paths
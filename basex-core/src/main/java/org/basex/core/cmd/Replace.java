@@ -50,13 +50,12 @@ public final class Replace extends ACreate {
     if(path == null) return error(PATH_INVALID_X, args[0]);
 
     final Data data = context.data();
-    final IOFile bin = data.meta.binary(path);
-    if(!data.inMemory() && bin == null) return error(PATH_INVALID_X, args[0]);
+    if(!data.inMemory() && data.meta.binary(path) == null) return error(PATH_INVALID_X, args[0]);
 
     return update(data, new Code() {
       @Override
       boolean run() {
-        return replace(data, bin, path);
+        return replace(data, path);
       }
     });
   }
@@ -64,11 +63,10 @@ public final class Replace extends ACreate {
   /**
    * Replaces resources in the specified database.
    * @param data database
-   * @param bin binary file (can be {@code null})
    * @param path target path
    * @return success flag
    */
-  private boolean replace(final Data data, final IOFile bin, final String path) {
+  private boolean replace(final Data data, final String path) {
     context.invalidate();
 
     // retrieve old list of resources
@@ -81,7 +79,7 @@ public final class Replace extends ACreate {
     };
 
     int bs = 0;
-    if(bin != null && bin.exists()) {
+    if(data.resources.binary(path) != null) {
       // replace binary file if it already exists
       final Store store = new Store(path);
       store.setInput(in);
@@ -64,7 +64,8 @@ public final class Restore extends ABackup {
   }
 
   /**
-   * Restores the specified database.
+   * Restores the specified database. Incremental backups are restored by unzipping all
+   * backups of the chain, starting with the full backup.
    * @param db name of database
    * @param backup name of backup
    * @param sopts static options
@@ -74,16 +75,39 @@ public final class Restore extends ABackup {
   public static void restore(final String db, final String backup, final StaticOptions sopts,
       final Restore cmd) throws IOException {
 
+    // resolve base backups
+    final StringList chain = new StringList().add(backup);
+    final Manifest manifest = Manifest.read(backup, sopts);
+    for(Manifest mf = manifest; mf != null && mf.base != null;) {
+      final String base = Databases.name(backup) + '-' + mf.base;
+      if(mf.base.compareTo(Databases.date(chain.peek())) >= 0 ||
+        !sopts.dbPath(base + IO.ZIPSUFFIX).exists()) throw new FileNotFoundException(base);
+      chain.add(base);
+      mf = Manifest.read(base, sopts);
+    }
+
     // drop target database
     DropDB.drop(db, sopts);
 
     final IOFile dbPath = sopts.dbPath();
-    final Zip zip = new Zip(new IOFile(dbPath, backup + IO.ZIPSUFFIX));
-    try {
-      if(cmd != null) cmd.pushJob(zip);
-      zip.unzip(dbPath);
-    } finally {
-      if(cmd != null) cmd.popJob();
+    for(int c = chain.size() - 1; c >= 0; c--) {
+      final Zip zip = new Zip(new IOFile(dbPath, chain.get(c) + IO.ZIPSUFFIX));
+      try {
+        if(cmd != null) cmd.pushJob(zip);
+        zip.unzip(dbPath);
+      } finally {
+        if(cmd != null) cmd.popJob();
+      }
+    }
+
+    // delete manifest and files that were deleted after a base backup had been created
+    if(manifest != null) {
+      final IOFile dir = sopts.dbPath(db);
+      for(final String file : dir.descendants()) {
+        if(!manifest.files.containsKey(Prop.WIN ? file.replace('\\', '/') : file)) {
+          new IOFile(dir, file).delete();
+        }
+      }
     }
   }
 
@@ -26,11 +26,13 @@ public final class ShowBackups extends ABackup {
     table.description = BACKUPS_X;
     table.header.add(NAME);
     table.header.add(SIZE);
+    table.header.add(TYPE);
 
     for(final String name : context.databases.backups()) {
       final TokenList tl = new TokenList();
       tl.add(name);
       tl.add(soptions.dbPath(name + IO.ZIPSUFFIX).length());
+      tl.add(Manifest.type(name, soptions));
       table.contents.add(tl);
     }
     out.println(table.sort().finish());
@@ -58,19 +58,40 @@ public final class Store extends ACreate {
     final Data data = context.data();
     if(data.inMemory()) return error(NO_MAINMEM);
 
-    final IOFile file = data.meta.binary(path);
-    if(path.isEmpty() || Strings.endsWith(path, '.') || file == null)
+    if(path.isEmpty() || Strings.endsWith(path, '.') || !data.resources.isBinaryPath(path))
       return error(PATH_INVALID_X, create ? path : args[0]);
 
+    final String target = path;
     return update(data, new Code() {
       @Override
       boolean run() throws IOException {
-        store(in, file);
+        data.resources.store(target, input(in));
         return info(QUERY_EXECUTED_X_X, "", jc().performance);
       }
     });
   }
 
+  /**
+   * Returns an input stream for the specified source.
+   * @param in input source
+   * @return input stream
+   * @throws IOException I/O exception
+   */
+  private static InputStream input(final InputSource in) throws IOException {
+    final InputStream is = in.getByteStream();
+    if(in.getCharacterStream() == null) {
+      if(is != null) return is;
+      final String id = in.getSystemId();
+      if(id != null) return BufferInput.get(IO.get(id));
+    }
+    // characters will be encoded as UTF-8
+    final ArrayOutput ao = new ArrayOutput();
+    try(PrintOutput po = PrintOutput.get(ao)) {
+      write(in, po);
+    }
+    return new ArrayInput(ao.finish());
+  }
+
   /**
    * Stores the specified source to the specified file.
    * @param in input source
@@ -83,17 +104,27 @@ public final class Store extends ACreate {
     file.parent().md();
 
     try(PrintOutput po = new PrintOutput(file)) {
-      final Reader r = in.getCharacterStream();
-      final InputStream is = in.getByteStream();
-      final String id = in.getSystemId();
-      if(r != null) {
-        for(int c; (c = r.read()) != -1;) po.print(c);
-      } else if(is != null) {
-        for(int b; (b = is.read()) != -1;) po.write(b);
-      } else if(id != null) {
-        try(BufferInput bi = BufferInput.get(IO.get(id))) {
-          for(int b; (b = bi.read()) != -1;) po.write(b);
-        }
+      write(in, po);
+    }
+  }
+
+  /**
+   * Writes the specified source to the specified output.
+   * @param in input source
+   * @param po output stream
+   * @throws IOException I/O exception
+   */
+  private static void write(final InputSource in, final PrintOutput po) throws IOException {
+    final Reader r = in.getCharacterStream();
+    final InputStream is = in.getByteStream();
+    final String id = in.getSystemId();
+    if(r != null) {
+      for(int c; (c = r.read()) != -1;) po.print(c);
+    } else if(is != null) {
+      for(int b; (b = is.read()) != -1;) po.write(b);
+    } else if(id != null) {
+      try(BufferInput bi = BufferInput.get(IO.get(id))) {
+        for(int b; (b = bi.read()) != -1;) po.write(b);
       }
     }
   }
@@ -3,6 +3,7 @@ package org.basex.core.jobs;
 import java.util.*;
 
 import org.basex.core.*;
+import org.basex.core.locks.*;
 import org.basex.core.users.*;
 import org.basex.util.*;
 
@@ -44,7 +45,10 @@ public abstract class Job {
     jc.context = ctx;
     ctx.jobs.register(this);
     state(JobState.QUEUED);
+    jc.waited = -1;
+    jc.queued = System.nanoTime();
     ctx.locking.acquire(this, ctx);
+    jc.waited = System.nanoTime() - jc.queued;
     state(JobState.RUNNING);
     jc.performance = new Performance();
     // non-admin users: stop process after timeout
@@ -57,6 +61,12 @@ public abstract class Job {
    */
   public final void unregister(final Context ctx) {
     stopTimeout();
+    // invalidate views and cached results before the updated databases can be accessed
+    final LockList writes = jc.locks.writes;
+    if(writes.locking()) {
+      ctx.jobs.views.invalidate(writes, ctx);
+      ctx.jobs.cache.invalidate(writes);
+    }
     ctx.locking.release();
     ctx.jobs.unregister(this);
   }
@@ -145,6 +155,14 @@ public abstract class Job {
     jc.locks.writes.addGlobal();
   }
 
+  /**
+   * Indicates if this is a batch job. Queued interactive jobs will be started first.
+   * @return result of check
+   */
+  public boolean batch() {
+    return false;
+  }
+
   /**
    * Returns short progress information.
    * Can be overwritten to give more specific feedback.
@@ -25,6 +25,11 @@ public final class JobContext {
   /** Time of creation. */
   public final long time = System.currentTimeMillis();
 
+  /** Time when the job was queued (nanoseconds; {@code 0}: not queued yet). */
+  volatile long queued;
+  /** Time spent in the queue (nanoseconds; {@code -1}: job has not been started yet). */
+  volatile long waited = -1;
+
   /** Performance measurements. */
   public Performance performance;
   /** Query tracer. */
@@ -93,6 +98,14 @@ public final class JobContext {
     return tp != null ? tp : Util.className(job);
   }
 
+  /**
+   * Returns the time the job has spent in the queue.
+   * @return waiting time in nanoseconds, or {@code -1} if the job has not been queued yet
+   */
+  public long waited() {
+    return waited >= 0 ? waited : queued != 0 ? System.nanoTime() - queued : -1;
+  }
+
   @Override
   public String toString() {
     return desc != null ? desc : job.toString();
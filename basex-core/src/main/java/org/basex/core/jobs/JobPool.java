@@ -22,6 +22,10 @@ public final class JobPool {
   public final Map<String, QueryJobResult> results = new ConcurrentHashMap<>();
   /** Timer tasks. */
   public final Map<String, QueryJobTask> tasks = new ConcurrentHashMap<>();
+  /** Materialized views. */
+  public final Views views;
+  /** Query result cache. */
+  public final QueryCache cache;
 
   /** Timer. */
   final Timer timer = new Timer(true);
@@ -34,6 +38,8 @@ public final class JobPool {
    */
   public JobPool(final StaticOptions sopts) {
     timeout = sopts.get(StaticOptions.CACHETIMEOUT) * 1000L;
+    views = new Views(sopts);
+    cache = new QueryCache(sopts);
   }
 
   /**
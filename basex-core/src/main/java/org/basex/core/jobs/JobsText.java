@@ -17,6 +17,8 @@ public interface JobsText {
   byte[] ID = token("id");
   /** Running. */
   byte[] DURATION = token("duration");
+  /** Waiting time. */
+  byte[] WAIT = token("wait");
   /** Type. */
   byte[] TYPE = token("type");
   /** State. */
@@ -33,6 +35,58 @@ public interface JobsText {
   byte[] READS = token("reads");
   /** Write locks. */
   byte[] WRITES = token("writes");
+  /** Views. */
+  byte[] VIEWS = token("views");
+  /** View. */
+  byte[] VIEW = token("view");
+  /** Name. */
+  byte[] NAME = token("name");
+  /** Staleness window. */
+  byte[] STALENESS = token("staleness");
   /** Time of registering. */
   byte[] TIME = token("time");
+  /** Query cache. */
+  byte[] QUERY_CACHE = token("query-cache");
+  /** Number of entries. */
+  byte[] ENTRIES = token("entries");
+  /** Size. */
+  byte[] SIZE = token("size");
+  /** Maximum size. */
+  byte[] MAX = token("max");
+  /** Hits. */
+  byte[] HITS = token("hits");
+  /** Misses. */
+  byte[] MISSES = token("misses");
+  /** Evictions. */
+  byte[] EVICTIONS = token("evictions");
+  /** Invalidations. */
+  byte[] INVALIDATIONS = token("invalidations");
+  /** Queue. */
+  byte[] QUEUE = token("queue");
+  /** Maximum number of parallel jobs. */
+  byte[] PARALLEL = token("parallel");
+  /** Current limit for parallel jobs. */
+  byte[] LIMIT = token("limit");
+  /** Running jobs. */
+  byte[] RUNNING = token("running");
+  /** Queued jobs. */
+  byte[] QUEUED = token("queued");
+  /** Queued batch jobs. */
+  byte[] BATCH = token("batch");
+  /** Lock. */
+  byte[] LOCK = token("lock");
+  /** Readers. */
+  byte[] READERS = token("readers");
+  /** Writer. */
+  byte[] WRITER = token("writer");
+  /** Waiting jobs. */
+  byte[] WAITING = token("waiting");
+  /** Run time. */
+  byte[] RUN = token("run");
+  /** Count. */
+  byte[] COUNT = token("count");
+  /** Total time. */
+  byte[] TOTAL = token("total");
+  /** Bucket. */
+  byte[] BUCKET = token("bucket");
 }
@@ -0,0 +1,184 @@
+package org.basex.core.jobs;
+
+import static org.basex.core.jobs.JobsText.*;
+
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.core.locks.*;
+import org.basex.core.users.*;
+import org.basex.query.*;
+import org.basex.query.value.node.*;
+
+/**
+ * This class caches the serialized results of read-only queries.
+ * A result is discarded as soon as a job with write locks on one of the databases read by the
+ * query has been completed. If the maximum cache size is exceeded, the least recently used
+ * results are evicted.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class QueryCache {
+  /** Cached results, in the order of their last access. */
+  private final LinkedHashMap<String, Result> results = new LinkedHashMap<>(16, 0.75f, true);
+  /** Maximum size of all results (bytes). */
+  private final long max;
+  /** Size of all results (bytes). */
+  private long size;
+
+  /** Number of returned results. */
+  private long hits;
+  /** Number of requested results that were not found. */
+  private long misses;
+  /** Number of results that were evicted to free space. */
+  private long evictions;
+  /** Number of results that were invalidated by updates. */
+  private long invalidations;
+
+  /**
+   * Constructor.
+   * @param sopts static options
+   */
+  QueryCache(final StaticOptions sopts) {
+    max = Math.max(0, sopts.get(StaticOptions.QUERYCACHESIZE)) * 1024L;
+  }
+
+  /**
+   * Returns the key for caching the result of a parsed query.
+   * Besides the specified strings, the key is built from the user and its permissions, the read
+   * locks and the serialization parameters of the query. A result will thus not be returned if
+   * the permissions of the user have changed in the meantime.
+   * @param qc query context (locks must have been assigned)
+   * @param strings strings that identify the query (can be {@code null})
+   * @return key, or {@code null} if the result must not be cached
+   */
+  public static String key(final QueryContext qc, final String... strings) {
+    if(!qc.cacheable()) return null;
+
+    final StringBuilder sb = new StringBuilder();
+    final User user = qc.context.user();
+    add(sb, user.name());
+    add(sb, user.perms());
+    add(sb, qc.jc().locks.reads.toString());
+    add(sb, qc.serParams().toString());
+    for(final String string : strings) add(sb, string);
+    return sb.toString();
+  }
+
+  /**
+   * Adds a string to a key.
+   * @param sb string builder
+   * @param string string (can be {@code null})
+   */
+  private static void add(final StringBuilder sb, final String string) {
+    final String s = string != null ? string : "";
+    sb.append(s.length()).append(':').append(s);
+  }
+
+  /**
+   * Returns a cached result.
+   * @param key key
+   * @return result, or {@code null} if no result is cached
+   */
+  public synchronized Result get(final String key) {
+    final Result result = results.get(key);
+    if(result != null) hits++;
+    else misses++;
+    return result;
+  }
+
+  /**
+   * Caches a result. Results that exceed the maximum cache size will be ignored.
+   * @param key key
+   * @param output serialized result
+   * @param items number of items
+   * @param reads read locks of the query
+   */
+  public synchronized void put(final String key, final byte[] output, final long items,
+      final LockList reads) {
+
+    if(output.length > max) return;
+    String[] locks = null;
+    if(!reads.global()) {
+      locks = new String[reads.size()];
+      int l = 0;
+      for(final String lock : reads) locks[l++] = lock;
+    }
+    final Result old = results.put(key, new Result(output, items, locks));
+    if(old != null) size -= old.output.length;
+    size += output.length;
+
+    // evict least recently used results
+    final Iterator<Result> iter = results.values().iterator();
+    while(size > max) {
+      size -= iter.next().output.length;
+      iter.remove();
+      evictions++;
+    }
+  }
+
+  /**
+   * Discards all results that are affected by the write locks of a job.
+   * @param writes write locks
+   */
+  synchronized void invalidate(final LockList writes) {
+    final Iterator<Result> iter = results.values().iterator();
+    while(iter.hasNext()) {
+      final Result result = iter.next();
+      if(result.affected(writes)) {
+        size -= result.output.length;
+        iter.remove();
+        invalidations++;
+      }
+    }
+  }
+
+  /**
+   * Returns an XML representation of the cache statistics.
+   * @return element
+   */
+  public synchronized FElem toXML() {
+    return new FElem(QUERY_CACHE).add(ENTRIES, Integer.toString(results.size())).
+      add(SIZE, Long.toString(size)).add(MAX, Long.toString(max)).
+      add(HITS, Long.toString(hits)).add(MISSES, Long.toString(misses)).
+      add(EVICTIONS, Long.toString(evictions)).add(INVALIDATIONS, Long.toString(invalidations));
+  }
+
+  /**
+   * Cached result.
+   */
+  public static final class Result {
+    /** Serialized result. */
+    public final byte[] output;
+    /** Number of items. */
+    public final long items;
+    /** Read locks of the query ({@code null} for global locks). */
+    private final String[] locks;
+
+    /**
+     * Constructor.
+     * @param output serialized result
+     * @param items number of items
+     * @param locks read locks of the query ({@code null} for global locks)
+     */
+    private Result(final byte[] output, final long items, final String[] locks) {
+      this.output = output;
+      this.items = items;
+      this.locks = locks;
+    }
+
+    /**
+     * Checks if the result is affected by the specified write locks.
+     * @param writes write locks
+     * @return result of check
+     */
+    private boolean affected(final LockList writes) {
+      if(locks == null || writes.global()) return true;
+      for(final String lock : locks) {
+        if(writes.contains(lock)) return true;
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package org.basex.core.jobs;
+
+import org.basex.core.locks.*;
+import org.basex.query.value.*;
+
+/**
+ * Materialized query view. The result of the query is cached until a job with write locks on
+ * one of the databases read by the query has been completed. If a staleness window is
+ * specified, the previous result will be returned for the given time while the result is
+ * refreshed in the background.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class QueryView {
+  /** Name. */
+  public final String name;
+  /** Query. */
+  public final String query;
+  /** Read locks of the query ({@code null} if they cannot be statically determined). */
+  public final String[] locks;
+  /** Time (ms) for which a stale result may be returned. */
+  public final long staleness;
+
+  /** Cached result (can be {@code null}). */
+  private Value value;
+  /** Version of the input databases; incremented with each invalidation. */
+  private long version;
+  /** Version of the cached result. */
+  private long cached = -1;
+  /** Time (ms) when the cached result became stale ({@code 0} if it is up-to-date). */
+  private long stale;
+  /** Indicates if the result is being refreshed in the background. */
+  private boolean refreshing;
+
+  /**
+   * Constructor.
+   * @param name name
+   * @param query query
+   * @param locks read locks ({@code null} if they cannot be statically determined)
+   * @param staleness time (ms) for which a stale result may be returned
+   */
+  public QueryView(final String name, final String query, final String[] locks,
+      final long staleness) {
+    this.name = name;
+    this.query = query;
+    this.locks = locks;
+    this.staleness = staleness;
+  }
+
+  /**
+   * Returns the cached result if it is up-to-date or within the staleness window.
+   * @return result, or {@code null} if the query needs to be evaluated
+   */
+  public synchronized Value value() {
+    return value != null && (cached == version ||
+      System.currentTimeMillis() - stale <= staleness) ? value : null;
+  }
+
+  /**
+   * Returns the current version of the input databases.
+   * Must be requested before the query is evaluated.
+   * @return version
+   */
+  public synchronized long version() {
+    return version;
+  }
+
+  /**
+   * Caches a result.
+   * @param val result
+   * @param ver version of the input databases when the evaluation was started
+   */
+  public synchronized void cache(final Value val, final long ver) {
+    if(ver < cached) return;
+    value = val;
+    cached = ver;
+    if(ver == version) stale = 0;
+  }
+
+  /**
+   * Checks if the view is affected by the specified write locks.
+   * @param writes write locks
+   * @return result of check
+   */
+  boolean affected(final LockList writes) {
+    if(locks == null || writes.global()) return true;
+    for(final String lock : locks) {
+      if(writes.contains(lock)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Invalidates the cached result.
+   * @return {@code true} if the result is to be refreshed in the background
+   */
+  synchronized boolean invalidate() {
+    version++;
+    if(stale == 0) stale = System.currentTimeMillis();
+    if(staleness == 0 || value == null || refreshing) return false;
+    refreshing = true;
+    return true;
+  }
+
+  /**
+   * Finalizes a background refresh.
+   * @param ok indicates if the refresh was successful
+   * @return {@code true} if the result has been invalidated again and is to be refreshed
+   */
+  synchronized boolean refreshed(final boolean ok) {
+    refreshing = ok && cached != version;
+    return refreshing;
+  }
+}
@@ -0,0 +1,172 @@
+package org.basex.core.jobs;
+
+import static org.basex.core.jobs.JobsText.*;
+import static org.basex.util.Token.*;
+import static org.basex.util.XMLAccess.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.build.*;
+import org.basex.core.*;
+import org.basex.core.locks.*;
+import org.basex.io.*;
+import org.basex.query.*;
+import org.basex.query.value.node.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * This class organizes materialized query views. The definitions of the views are stored
+ * in the database directory, and their results are cached in main memory.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class Views {
+  /** File mutex; prevents concurrent modifications. */
+  private static final Object FILE = new Object();
+
+  /** Views, indexed by their names. */
+  private final Map<String, QueryView> views = new ConcurrentHashMap<>();
+  /** File. */
+  private final IOFile file;
+
+  /**
+   * Constructor.
+   * @param sopts static options
+   */
+  public Views(final StaticOptions sopts) {
+    file = sopts.dbPath(string(VIEWS) + IO.XMLSUFFIX);
+    try {
+      // parse views file
+      final IOContent content;
+      synchronized(FILE) {
+        if(!file.exists()) return;
+        content = new IOContent(file.read(), file.path());
+      }
+
+      final MainOptions options = new MainOptions(false);
+      options.set(MainOptions.INTPARSE, true);
+      final ANode doc = new DBNode(Parser.singleParser(content, options, ""));
+      final ANode root = children(doc, VIEWS).next();
+      if(root == null) {
+        Util.errln(file + ": No '%' root element.", VIEWS);
+        return;
+      }
+      for(final ANode child : children(root, VIEW)) {
+        final String name = string(attribute(file.path(), child, NAME));
+        final byte[] reads = child.attribute(READS), staleness = child.attribute(STALENESS);
+        String[] locks = null;
+        if(reads != null) {
+          final StringList list = new StringList();
+          for(final byte[] lock : split(reads, ',')) {
+            if(lock.length != 0) list.add(string(lock));
+          }
+          locks = list.finish();
+        }
+        views.put(name, new QueryView(name, string(child.string()), locks,
+            staleness != null ? Math.max(0, toLong(staleness)) : 0));
+      }
+    } catch(final IOException ex) {
+      Util.errln(file + ": %", ex);
+    }
+  }
+
+  /**
+   * Returns the view with the specified name.
+   * @param name name of view
+   * @return view, or {@code null} if it does not exist
+   */
+  public QueryView get(final String name) {
+    return views.get(name);
+  }
+
+  /**
+   * Adds a view. An existing view with the same name will be replaced.
+   * @param view view
+   * @throws IOException I/O exception
+   */
+  public void add(final QueryView view) throws IOException {
+    views.put(view.name, view);
+    write();
+  }
+
+  /**
+   * Removes a view.
+   * @param name name of view
+   * @return {@code true} if the view existed
+   * @throws IOException I/O exception
+   */
+  public boolean remove(final String name) throws IOException {
+    if(views.remove(name) == null) return false;
+    write();
+    return true;
+  }
+
+  /**
+   * Invalidates all views that are affected by the write locks of a job.
+   * Views with a staleness window will be refreshed in the background.
+   * @param writes write locks
+   * @param ctx database context
+   */
+  void invalidate(final LockList writes, final Context ctx) {
+    for(final QueryView view : views.values()) {
+      if(view.affected(writes) && view.invalidate()) refresh(view, ctx);
+    }
+  }
+
+  /**
+   * Refreshes the result of a view in the background.
+   * @param view view
+   * @param ctx database context
+   */
+  private static void refresh(final QueryView view, final Context ctx) {
+    final long version = view.version();
+    final QueryJobSpec spec = new QueryJobSpec(new JobsOptions(), new HashMap<>(),
+        new IOContent(view.query));
+    try {
+      new QueryJob(spec, ctx, null, result -> {
+        final boolean ok = result.value != null;
+        if(ok) view.cache(result.value, version);
+        if(view.refreshed(ok)) refresh(view, ctx);
+      });
+    } catch(final QueryException ex) {
+      Util.debug(ex);
+      view.refreshed(false);
+    }
+  }
+
+  /**
+   * Writes the views to disk.
+   * @throws IOException I/O exception
+   */
+  private void write() throws IOException {
+    final FElem xml = toXML();
+    synchronized(FILE) {
+      // only create views file if views are registered
+      if(views.isEmpty()) {
+        if(file.exists()) file.delete();
+        return;
+      }
+      file.parent().md();
+      file.write(xml.serialize().finish());
+    }
+  }
+
+  /**
+   * Returns an XML representation of all views.
+   * @return root element
+   */
+  public FElem toXML() {
+    final FElem root = new FElem(VIEWS);
+    for(final QueryView view : views.values()) {
+      final FElem elem = new FElem(VIEW).add(NAME, view.name);
+      if(view.locks != null) elem.add(READS, String.join(",", view.locks));
+      if(view.staleness != 0) elem.add(STALENESS, Long.toString(view.staleness));
+      root.add(elem.add(view.query));
+    }
+    return root;
+  }
+}
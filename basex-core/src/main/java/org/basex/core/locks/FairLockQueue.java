@@ -1,6 +1,7 @@
 package org.basex.core.locks;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * Lock queue for fair locking.
@@ -10,35 +11,41 @@ import java.util.*;
  */
 public final class FairLockQueue extends LockQueue {
   /** Queue. */
-  private final Queue<Long> queue = new LinkedList<>();
+  private final List<Long> queue = new LinkedList<>();
 
   /**
    * Constructor.
    * @param parallel parallel jobs
+   * @param load system load per processor (if {@code null}, the limit will not be adapted)
    */
-  FairLockQueue(final int parallel) {
-    super(parallel);
+  FairLockQueue(final int parallel, final DoubleSupplier load) {
+    super(parallel, load);
   }
 
   @Override
-  public synchronized void acquire(final Long id, final boolean read, final boolean write)
-      throws InterruptedException {
+  public synchronized void acquire(final Long id, final boolean read, final boolean write,
+      final boolean batch) throws InterruptedException {
 
     // add job id to queue and wait
-    if(jobs >= parallel) {
-      queue.add(id);
+    if(full() || !queue.isEmpty()) {
+      add(queue, id, batch);
 
       // loop until job is placed first
       do {
-        wait();
-      } while(!id.equals(queue.peek()));
+        pause();
+      } while(full() || !id.equals(queue.get(0)));
 
       // remove job from queue
-      queue.remove(id);
+      remove(queue, id);
     }
     jobs++;
   }
 
+  @Override
+  public synchronized int queued() {
+    return queue.size();
+  }
+
   @Override
   public synchronized String toString() {
     return "Jobs: " + jobs + ", queue: " + queue;
@@ -0,0 +1,54 @@
+package org.basex.core.locks;
+
+import static org.basex.core.jobs.JobsText.*;
+
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+
+/**
+ * Histogram of measured times.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+final class Histogram {
+  /** Upper bounds of the buckets (ms). The last bucket has no upper bound. */
+  private static final long[] BOUNDS = { 1, 10, 100, 1000, 10000, 100000 };
+
+  /** Number of measurements per bucket. */
+  private final long[] counts = new long[BOUNDS.length + 1];
+  /** Number of measurements. */
+  private long count;
+  /** Sum of all measurements (nanoseconds). */
+  private long total;
+
+  /**
+   * Adds a measurement.
+   * @param nano time in nanoseconds
+   */
+  synchronized void add(final long nano) {
+    final long ms = nano / 1000000;
+    int b = 0;
+    while(b < BOUNDS.length && ms >= BOUNDS[b]) b++;
+    counts[b]++;
+    count++;
+    total += nano;
+  }
+
+  /**
+   * Returns an XML representation of the histogram.
+   * @param name name of the element
+   * @return element
+   */
+  synchronized FElem toXML(final byte[] name) {
+    final FElem elem = new FElem(name).add(COUNT, Long.toString(count)).
+      add(TOTAL, DTDur.get(total / 1000000).string(null));
+    final int bl = counts.length;
+    for(int b = 0; b < bl; b++) {
+      final FElem bucket = new FElem(BUCKET);
+      if(b < BOUNDS.length) bucket.add(MAX, DTDur.get(BOUNDS[b]).string(null));
+      elem.add(bucket.add(COUNT, Long.toString(counts[b])));
+    }
+    return elem;
+  }
+}
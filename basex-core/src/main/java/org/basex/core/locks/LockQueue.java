@@ -1,23 +1,50 @@
 package org.basex.core.locks;
 
+import java.lang.management.*;
+import java.util.*;
+import java.util.function.*;
+
 /**
  * Lock queue.
  *
+ * Queued interactive jobs are preferred to batch jobs. If a load function is supplied,
+ * the number of parallel jobs is adapted to the system load: it is decreased if the load
+ * exceeds the number of available processors, and increased again if the load drops.
+ *
  * @author BaseX Team 2005-21, BSD License
  * @author Christian Gruen
  */
 public abstract class LockQueue {
+  /** Interval for adapting the limit (ms). */
+  private static final long INTERVAL = 1000;
+  /** System load per processor above which the limit will be decreased. */
+  private static final double HIGH = 1;
+  /** System load per processor below which the limit will be increased. */
+  private static final double LOW = 0.75;
+
   /** Maximum number of parallel jobs. */
   protected final int parallel;
   /** Number of currently running jobs. */
   protected int jobs;
 
+  /** Ids of queued batch jobs. */
+  private final Set<Long> batches = new HashSet<>();
+  /** System load per processor ({@code null} if the limit is static). */
+  private final DoubleSupplier load;
+  /** Current limit for parallel jobs. */
+  private int limit;
+  /** Time when the limit was adapted. */
+  private long adapted;
+
   /**
    * Constructor.
    * @param parallel parallel jobs
+   * @param load system load per processor (if {@code null}, the limit will not be adapted)
    */
-  LockQueue(final int parallel) {
+  LockQueue(final int parallel, final DoubleSupplier load) {
     this.parallel = parallel;
+    this.load = load;
+    limit = parallel;
   }
 
   /**
@@ -25,9 +52,11 @@ public abstract class LockQueue {
    * @param id job id
    * @param read read flag
    * @param write write flag
+   * @param batch batch job (interactive jobs will be preferred)
    * @throws InterruptedException interrupted exception
    */
-  public abstract void acquire(Long id, boolean read, boolean write) throws InterruptedException;
+  public abstract void acquire(Long id, boolean read, boolean write, boolean batch)
+      throws InterruptedException;
 
   /**
    * Notifies other jobs that a job has been completed.
@@ -36,4 +65,102 @@ public abstract class LockQueue {
     notifyAll();
     jobs--;
   }
+
+  /**
+   * Returns the number of running jobs.
+   * @return number of jobs
+   */
+  public synchronized int running() {
+    return jobs;
+  }
+
+  /**
+   * Returns the current limit for parallel jobs.
+   * @return limit
+   */
+  public synchronized int limit() {
+    return limit;
+  }
+
+  /**
+   * Returns the number of queued jobs.
+   * @return number of jobs
+   */
+  public abstract int queued();
+
+  /**
+   * Returns the number of queued batch jobs.
+   * @return number of jobs
+   */
+  public synchronized int batches() {
+    return batches.size();
+  }
+
+  /**
+   * Adapts the limit to the specified system load.
+   * @param l system load per processor (ignored if negative)
+   */
+  synchronized void adapt(final double l) {
+    if(l > HIGH) limit = Math.max(limit - 1, 1);
+    else if(l >= 0 && l < LOW) limit = Math.min(limit + 1, parallel);
+  }
+
+  /**
+   * Checks if the limit for parallel jobs has been reached.
+   * If required, the limit will be adapted to the current system load.
+   * @return result of check
+   */
+  protected final boolean full() {
+    if(load != null) {
+      final long time = System.currentTimeMillis();
+      if(time - adapted >= INTERVAL) {
+        adapted = time;
+        adapt(load.getAsDouble());
+      }
+    }
+    return jobs >= limit;
+  }
+
+  /**
+   * Waits until the job is notified. If the limit is adapted, the job will be woken up
+   * periodically to check if the limit has been increased.
+   * @throws InterruptedException interrupted exception
+   */
+  protected final void pause() throws InterruptedException {
+    wait(load != null ? INTERVAL : 0);
+  }
+
+  /**
+   * Adds a job to the specified queue. Interactive jobs are placed before batch jobs.
+   * @param queue queue
+   * @param id job id
+   * @param batch batch job
+   */
+  protected final void add(final List<Long> queue, final Long id, final boolean batch) {
+    int i = queue.size();
+    if(batch) batches.add(id);
+    else while(i > 0 && batches.contains(queue.get(i - 1))) i--;
+    queue.add(i, id);
+  }
+
+  /**
+   * Removes a job from the specified queue.
+   * Notifies other jobs, as the next queued job may be started as well.
+   * @param queue queue
+   * @param id job id
+   */
+  protected final void remove(final List<Long> queue, final Long id) {
+    queue.remove(id);
+    batches.remove(id);
+    notifyAll();
+  }
+
+  /**
+   * Returns the system load per processor.
+   * @return load, or a negative value if it is not available
+   */
+  static double load() {
+    final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    return os.getSystemLoadAverage() / os.getAvailableProcessors();
+  }
 }
@@ -1,14 +1,17 @@
 package org.basex.core.locks;
 
+import static org.basex.core.jobs.JobsText.*;
 import static org.basex.util.Prop.*;
 import static org.basex.util.Token.*;
 
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.*;
+import java.util.function.*;
 
 import org.basex.core.*;
 import org.basex.core.jobs.*;
+import org.basex.query.value.node.*;
 import org.basex.util.*;
 import org.basex.util.list.*;
 
@@ -19,6 +22,9 @@ import org.basex.util.list.*;
  *
  * (Non-)fair locking can be adjusted via the {@link StaticOptions#FAIRLOCK} option.
  *
+ * The number of concurrent jobs can be adapted to the system load via the
+ * {@link StaticOptions#ADAPTPARALLEL} option. Interactive jobs will be preferred to batch jobs.
+ *
  * This class prevents locking deadlocks by sorting all strings.
  *
  * Locks can only be released by the same thread which acquired it.
@@ -54,6 +60,10 @@ public final class Locking {
   private final ConcurrentMap<Long, Locks> locked = new ConcurrentHashMap<>();
   /** Lock queue. */
   private final LockQueue queue;
+  /** Times spent for acquiring locks. */
+  private final Histogram waits = new Histogram();
+  /** Times during which locks were held. */
+  private final Histogram runs = new Histogram();
 
   /** Global lock: exclusive lock for global writes, shared lock otherwise. */
   private final ReentrantReadWriteLock globalLocks;
@@ -75,7 +85,9 @@ public final class Locking {
     fair = soptions.get(StaticOptions.FAIRLOCK);
     globalLocks = new ReentrantReadWriteLock(fair);
     final int parallel = Math.max(soptions.get(StaticOptions.PARALLEL), 1);
-    queue = fair ? new FairLockQueue(parallel) : new NonfairLockQueue(parallel);
+    final DoubleSupplier load = soptions.get(StaticOptions.ADAPTPARALLEL) ?
+      LockQueue::load : null;
+    queue = fair ? new FairLockQueue(parallel, load) : new NonfairLockQueue(parallel, load);
   }
 
   /**
@@ -91,7 +103,7 @@ public final class Locking {
     final Locks locks = job.jc().locks;
     locks.finish(ctx);
     try {
-      acquire(locks);
+      acquire(locks, job.batch());
     } catch(final InterruptedException ex) {
       throw Util.notExpected("Thread was interrupted: %", ex);
     }
@@ -104,6 +116,18 @@ public final class Locking {
    * @throws InterruptedException interrupted exception
    */
   void acquire(final Locks locks) throws InterruptedException {
+    acquire(locks, false);
+  }
+
+  /**
+   * Puts read and write locks for the specified lock lists.
+   * The lists must have been prepared for locking (see {@link Locks#finish(Context)}).
+   * @param locks locks
+   * @param batch batch job (interactive jobs will be preferred)
+   * @throws InterruptedException interrupted exception
+   */
+  void acquire(final Locks locks, final boolean batch) throws InterruptedException {
+    final long start = System.nanoTime();
     // one thread can only hold a single lock
     final Long id = Thread.currentThread().getId();
     if(locked.containsKey(id)) throw new IllegalMonitorStateException("Thread holds locks: " + id);
@@ -112,7 +136,7 @@ public final class Locking {
     // queue job if the job limit has been reached
     final LockList reads = locks.reads, writes = locks.writes;
     final boolean write = writes.locking(), read = reads.locking(), lock = read || write;
-    queue.acquire(id, read, write);
+    queue.acquire(id, read, write, batch);
 
     // apply exclusive lock (global write), or shared lock otherwise
     if(lock) (writes.global() ? globalLocks.writeLock() : globalLocks.readLock()).lock();
@@ -140,6 +164,8 @@ public final class Locking {
         pin(reads.get(r++)).readLock().lock();
       }
     }
+    locks.acquired = System.nanoTime();
+    waits.add(locks.acquired - start);
   }
 
   /**
@@ -176,6 +202,7 @@ public final class Locking {
 
     // allow next queued job to resume
     queue.release();
+    runs.add(System.nanoTime() - locks.acquired);
   }
 
   /**
@@ -219,6 +246,23 @@ public final class Locking {
     return list.finish();
   }
 
+  /**
+   * Returns an XML representation of the queue, the held locks and the measured times.
+   * @return element
+   */
+  public FElem toXML() {
+    final FElem elem = new FElem(QUEUE).add(PARALLEL, Integer.toString(queue.parallel)).
+      add(LIMIT, Integer.toString(queue.limit())).add(RUNNING, Integer.toString(queue.running())).
+      add(QUEUED, Integer.toString(queue.queued())).add(BATCH, Integer.toString(queue.batches()));
+    synchronized(localLocks) {
+      new TreeMap<>(localLocks).forEach((key, value) -> elem.add(new FElem(LOCK).add(JobsText.NAME, key).
+        add(READERS, Integer.toString(value.getReadLockCount())).
+        add(WRITER, token(value.isWriteLocked())).
+        add(WAITING, Integer.toString(value.getQueueLength()))));
+    }
+    return elem.add(waits.toXML(WAIT)).add(runs.toXML(RUN));
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder(NL).append("Locking").append(NL);
@@ -14,6 +14,8 @@ public final class Locks {
   public final LockList reads = new LockList();
   /** Write locks. */
   public final LockList writes = new LockList();
+  /** Time when the locks were acquired (nanoseconds). */
+  long acquired;
 
   /**
    * Finalizes locks. Replaces context references with current database, sorts entries,
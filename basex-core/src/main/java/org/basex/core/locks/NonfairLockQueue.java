@@ -1,6 +1,7 @@
 package org.basex.core.locks;
 
 import java.util.*;
+import java.util.function.*;
 
 /**
  * Lock queue for non-fair locking.
@@ -10,39 +11,45 @@ import java.util.*;
  */
 public final class NonfairLockQueue extends LockQueue {
   /** Queued readers. */
-  private final Queue<Long> readers = new LinkedList<>();
+  private final List<Long> readers = new LinkedList<>();
   /** Queued writers. */
-  private final Queue<Long> writers = new LinkedList<>();
+  private final List<Long> writers = new LinkedList<>();
 
   /**
    * Constructor.
    * @param parallel parallel jobs
+   * @param load system load per processor (if {@code null}, the limit will not be adapted)
    */
-  NonfairLockQueue(final int parallel) {
-    super(parallel);
+  NonfairLockQueue(final int parallel, final DoubleSupplier load) {
+    super(parallel, load);
   }
 
   @Override
-  public synchronized void acquire(final Long id, final boolean read, final boolean write)
-      throws InterruptedException {
+  public synchronized void acquire(final Long id, final boolean read, final boolean write,
+      final boolean batch) throws InterruptedException {
 
     // only wait if job is locking
-    if(jobs >= parallel && (read || write)) {
+    if(full() && (read || write)) {
       // add job id to queue and wait
-      final Queue<Long> queue = write ? writers : readers;
-      queue.add(id);
+      final List<Long> queue = write ? writers : readers;
+      add(queue, id, batch);
 
       // loop until job is placed first (prefer readers)
       do {
-        wait();
-      } while(jobs >= parallel || write && !readers.isEmpty() || !id.equals(queue.peek()));
+        pause();
+      } while(full() || write && !readers.isEmpty() || !id.equals(queue.get(0)));
 
       // remove job from queue
-      queue.remove(id);
+      remove(queue, id);
     }
     jobs++;
   }
 
+  @Override
+  public synchronized int queued() {
+    return readers.size() + writers.size();
+  }
+
   @Override
   public synchronized String toString() {
     return "Jobs: " + jobs + ", queued readers: " + readers + ", queued writers: " + writers;
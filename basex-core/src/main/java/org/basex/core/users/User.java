@@ -183,6 +183,16 @@ public final class User {
     return perm;
   }
 
+  /**
+   * Returns a string representation of the global and local permissions.
+   * @return permissions
+   */
+  public synchronized String perms() {
+    final StringBuilder sb = new StringBuilder().append(perm);
+    patterns.forEach((pattern, prm) -> sb.append(' ').append(pattern).append(':').append(prm));
+    return sb.toString();
+  }
+
   /**
    * Returns the first entry for the specified database.
    * @param pattern database pattern
@@ -88,6 +88,10 @@ public abstract class Data {
 
   /** Resource index. */
   public final Resources resources = new Resources(this);
+  /** Element index. */
+  public final ElemIndex elemIndex = new ElemIndex(this);
+  /** Column store. */
+  public final Columns columns = new Columns(this);
   /** Meta data. */
   public final MetaData meta;
 
@@ -176,6 +180,14 @@ public abstract class Data {
    */
   public abstract void flush(boolean all);
 
+  /**
+   * Compacts the table by merging sparsely filled pages.
+   * @return number of released pages
+   */
+  public final int compact() {
+    return table.compact(true, Integer.MAX_VALUE);
+  }
+
   /**
    * Returns an index iterator for the specified token.
    * @param search index search definition
@@ -426,6 +438,17 @@ public abstract class Data {
    */
   public final byte[][] qname(final int pre, final int kind) {
     final byte[] name = name(pre, kind);
+    return new byte[][] { name, uri(pre, kind, name) };
+  }
+
+  /**
+   * Returns the namespace uri of the addressed element or attribute.
+   * @param pre pre value
+   * @param kind node kind
+   * @param name name of the node
+   * @return namespace uri (empty if the node has no namespace)
+   */
+  public final byte[] uri(final int pre, final int kind, final byte[] name) {
     byte[] uri = null;
     final boolean hasPrefix = indexOf(name, ':') != -1;
     if(hasPrefix || !nspaces.isEmpty()) {
@@ -436,7 +459,7 @@ public abstract class Data {
         uri = DataText.XML_URI;
       }
     }
-    return new byte[][] { name, uri == null ? EMPTY : uri };
+    return uri == null ? EMPTY : uri;
   }
 
   /**
@@ -514,7 +537,9 @@ public abstract class Data {
     meta.update();
 
     if(kind == PI) {
+      indexDelete(pre, -1, 1);
       updateText(pre, trim(concat(name, SPACE, atom(pre))), PI);
+      indexAdd(pre, -1, 1, null);
     } else {
       // check if namespace has changed
       final byte[] prefix = prefix(name);
@@ -544,18 +569,24 @@ public abstract class Data {
       } else {
         // update element name
         final IntList pres = new IntList();
-        // update text index
-        if(meta.updindex && meta.textindex) {
+        // update text and full-text index
+        final boolean txt = meta.updindex && meta.textindex, ft = meta.updindex && meta.ftindex;
+        if(txt || ft) {
           final int last = pre + size;
           for(int curr = pre + attSize(pre, kind); curr < last; curr += size(curr, kind(curr))) {
             if(kind(curr) == TEXT) pres.add(curr);
           }
-          textIndex.delete(new ValueCache(pres, IndexType.TEXT, this));
+          if(txt) textIndex.delete(new ValueCache(pres, IndexType.TEXT, this));
+          if(ft) ftIndex.delete(new ValueCache(pres, IndexType.FULLTEXT, this));
         }
         table.write1(pre, 3, uriId);
-        final int nameId = elemNames.put(name);
+        final int oldId = nameId(pre), nameId = elemNames.put(name);
         table.write2(nsPre, 1, (nsFlag || nsFlag(nsPre) ? 1 << 15 : 0) | nameId);
-        if(!pres.isEmpty()) textIndex.add(new ValueCache(pres, IndexType.TEXT, this));
+        elemIndex.rename(pre, oldId, nameId);
+        if(!pres.isEmpty()) {
+          if(txt) textIndex.add(new ValueCache(pres, IndexType.TEXT, this));
+          if(ft) ftIndex.add(new ValueCache(pres, IndexType.FULLTEXT, this));
+        }
       }
     }
   }
@@ -571,10 +602,47 @@ public abstract class Data {
     if(eq(val, text(pre, kind != ATTR))) return;
 
     meta.update();
+    indexDelete(pre, -1, 1);
     updateText(pre, val, kind);
+    indexAdd(pre, -1, 1, null);
     if(kind == DOC) resources.rename(pre, value);
   }
 
+  /**
+   * Updates (replaces) the values of multiple text, comment, pi, attribute or document nodes.
+   * The index structures are updated in a single pass.
+   * @param pres pre values of the nodes to be updated (must be distinct)
+   * @param kinds node kinds
+   * @param values values to be updated (texts, comments, pis, attributes, document names)
+   */
+  public final void update(final IntList pres, final IntList kinds, final TokenList values) {
+    // skip nodes with unchanged values
+    final int size = pres.size();
+    final IntList changed = new IntList(size), indexes = new IntList(size);
+    final TokenList vals = new TokenList(size);
+    for(int i = 0; i < size; i++) {
+      final int pre = pres.get(i), kind = kinds.get(i);
+      final byte[] value = values.get(i);
+      final byte[] val = kind == PI ? trim(concat(name(pre, kind), SPACE, value)) : value;
+      if(!eq(val, text(pre, kind != ATTR))) {
+        changed.add(pre);
+        indexes.add(i);
+        vals.add(val);
+      }
+    }
+    if(changed.isEmpty()) return;
+
+    meta.update();
+    indexDelete(changed);
+    final int cs = changed.size();
+    for(int c = 0; c < cs; c++) {
+      final int pre = changed.get(c), i = indexes.get(c), kind = kinds.get(i);
+      updateText(pre, vals.get(c), kind);
+      if(kind == DOC) resources.rename(pre, values.get(i));
+    }
+    indexAdd(changed);
+  }
+
   /**
    * Rapid Replace implementation. Replaces parts of the database with the specified data instance.
    * @param pre pre value of the node to be replaced
@@ -887,6 +955,7 @@ public abstract class Data {
 
   /**
    * Updates the specified text or attribute value.
+   * The index structures will not be updated by this function.
    * @param pre pre value
    * @param value content
    * @param kind node kind
@@ -1075,15 +1144,45 @@ public abstract class Data {
    * @param size number of descendants
    */
   protected final void indexDelete(final int pre, final int id, final int size) {
-    if(id != -1) resources.delete(pre, size);
+    if(id != -1) {
+      resources.delete(pre, size);
+      elemIndex.delete(pre, size);
+    }
     if(meta.updindex) {
       if(meta.textindex) textIndex.delete(new ValueCache(pre, size, IndexType.TEXT, this));
       if(meta.attrindex) attrIndex.delete(new ValueCache(pre, size, IndexType.ATTRIBUTE, this));
       if(meta.tokenindex) tokenIndex.delete(new ValueCache(pre, size, IndexType.TOKEN, this));
+      if(meta.ftindex) ftIndex.delete(new ValueCache(pre, size, IndexType.FULLTEXT, this));
       if(id != -1) idmap.delete(pre, id, -size);
     }
   }
 
+  /**
+   * Deletes the values of the specified nodes from the index structures.
+   * @param pres pre values
+   */
+  private void indexDelete(final IntList pres) {
+    if(meta.updindex) {
+      if(meta.textindex) textIndex.delete(new ValueCache(pres, IndexType.TEXT, this));
+      if(meta.attrindex) attrIndex.delete(new ValueCache(pres, IndexType.ATTRIBUTE, this));
+      if(meta.tokenindex) tokenIndex.delete(new ValueCache(pres, IndexType.TOKEN, this));
+      if(meta.ftindex) ftIndex.delete(new ValueCache(pres, IndexType.FULLTEXT, this));
+    }
+  }
+
+  /**
+   * Inserts the values of the specified nodes into the index structures.
+   * @param pres pre values
+   */
+  private void indexAdd(final IntList pres) {
+    if(meta.updindex) {
+      if(meta.textindex) textIndex.add(new ValueCache(pres, IndexType.TEXT, this));
+      if(meta.attrindex) attrIndex.add(new ValueCache(pres, IndexType.ATTRIBUTE, this));
+      if(meta.tokenindex) tokenIndex.add(new ValueCache(pres, IndexType.TOKEN, this));
+      if(meta.ftindex) ftIndex.add(new ValueCache(pres, IndexType.FULLTEXT, this));
+    }
+  }
+
   /**
    * Inserts new entries in the index structure.
    * @param pre first pre value of the nodes to insert
@@ -1092,12 +1191,16 @@ public abstract class Data {
    * @param clip data clip to be inserted
    */
   protected final void indexAdd(final int pre, final int id, final int size, final DataClip clip) {
-    if(id != -1) resources.insert(pre, clip);
+    if(id != -1) {
+      resources.insert(pre, clip);
+      elemIndex.insert(pre, size);
+    }
     if(meta.updindex) {
       if(id != -1) idmap.insert(pre, id, size);
       if(meta.textindex) textIndex.add(new ValueCache(pre, size, IndexType.TEXT, this));
       if(meta.attrindex) attrIndex.add(new ValueCache(pre, size, IndexType.ATTRIBUTE, this));
       if(meta.tokenindex) tokenIndex.add(new ValueCache(pre, size, IndexType.TOKEN, this));
+      if(meta.ftindex) ftIndex.add(new ValueCache(pre, size, IndexType.FULLTEXT, this));
     }
   }
 
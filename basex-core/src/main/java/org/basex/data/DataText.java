@@ -32,8 +32,16 @@ public interface DataText {
   String DBNDOCS = "NDOCS";
   /** Automatic index update. */
   String DBUPDIDX = "UPDINDEX";
+  /** Element index. */
+  String DBELMIDX = "ELMINDEX";
+  /** Column store: paths. */
+  String DBCOLS = "COLUMNS";
   /** Automatic optimization. */
   String DBAUTOOPT = "AUTOOPT";
+  /** Shared texts. */
+  String DBSHARE = "SHARETXT";
+  /** Packed binaries. */
+  String DBPACKBIN = "PACKBIN";
   /** Text index. */
   String DBTXTIDX = "TXTINDEX";
   /** Attribute index. */
@@ -42,6 +50,8 @@ public interface DataText {
   String DBTOKIDX = "TOKINDEX";
   /** Full-text index. */
   String DBFTXIDX = "FTXINDEX";
+  /** Full-text index: node ids. */
+  String DBFTXIDS = "FTXIDS";
   /** Text index: names. */
   String DBTXTINC = "TXTINC";
   /** Attribute index: names. */
@@ -102,6 +112,8 @@ public interface DataText {
   String DATATXT = "txt";
   /** Database - Attribute value index. */
   String DATAATV = "atv";
+  /** Database - Dictionary of shared texts. */
+  String DATADIC = "dic";
   /** Database - Token index. */
   String DATATOK = "tok";
   /** Database - Full-text index. */
@@ -114,6 +126,16 @@ public interface DataText {
   String DATAPTH = "pth";
   /** Database - ID-PRE mapping. */
   String DATAIDP = "idp";
+  /** Database - Element index. */
+  String DATAELM = "elm";
+  /** Database - Column store. */
+  String DATACOL = "col";
+  /** Database - Backup manifest. */
+  String DATACHK = "chk";
+  /** Database - Index of packed binaries. */
+  String DATAPCK = "pck";
+  /** Database - Segment of packed binaries. */
+  String DATASEG = "seg";
 
   // XML SERIALIZATION ============================================================================
 
@@ -47,15 +47,31 @@ import org.basex.util.*;
  *   - NOT COMPRESSED: return external text unchanged
  * </pre>
  *
+ * If {@link MetaData#sharetexts} is enabled, repeated texts will be stored only once, and
+ * multiple text references may point to the same external text. In this case, the space of
+ * deleted texts will not be reused; it will be reclaimed by {@link OptimizeAll}.
+ *
+ * The dictionaries of shared texts are written to disk when the database is flushed, and
+ * {@link Optimize} replaces references to duplicates that were stored without a dictionary.
+ *
  * @author BaseX Team 2005-21, BSD License
  * @author Christian Gruen
  * @author Tim Petrowsky
  */
 public final class DiskData extends Data {
+  /** Maximum number of table pages that will be released after an update. */
+  private static final int COMPACT = 16;
+  /** Percentage of unused table entries from which pages will be released after updates. */
+  private static final int FRAGMENTATION = 10;
+
   /** Texts access file. */
   private DataAccess texts;
   /** Values access file. */
   private DataAccess values;
+  /** Dictionary for shared texts (lazily instantiated, can be {@code null}). */
+  private TextDictionary textDict;
+  /** Dictionary for shared attribute values (lazily instantiated, can be {@code null}). */
+  private TextDictionary valueDict;
 
   /**
    * Default constructor, called from {@link Open#open}.
@@ -125,6 +141,77 @@ public final class DiskData extends Data {
     table = new TableDiskAccess(meta, false);
     texts = new DataAccess(meta.dbFile(DATATXT));
     values = new DataAccess(meta.dbFile(DATAATV));
+    resources.open();
+  }
+
+  /**
+   * Returns the dictionary for shared texts or attribute values.
+   * The dictionaries are read from disk when they are requested for the first time.
+   * @param text text or attribute flag
+   * @return dictionary
+   */
+  private TextDictionary dictionary(final boolean text) {
+    if(textDict == null) {
+      final IOFile file = meta.dbFile(DATADIC);
+      if(file.exists()) {
+        try(DataInput in = new DataInput(file)) {
+          textDict = new TextDictionary(meta, in, texts.length());
+          valueDict = new TextDictionary(meta, in, values.length());
+        } catch(final IOException ex) {
+          // ignore corrupt dictionaries: new texts will be shared again
+          Util.debug(ex);
+          textDict = null;
+        }
+      }
+      if(textDict == null) {
+        textDict = new TextDictionary(meta);
+        valueDict = new TextDictionary(meta);
+      }
+    }
+    return text ? textDict : valueDict;
+  }
+
+  /**
+   * Writes the dictionaries of shared texts to disk if they have been changed.
+   * Must be called after the heap files have been written.
+   * @throws IOException I/O exception
+   */
+  private void writeDictionaries() throws IOException {
+    if(textDict == null || !textDict.dirty() && !valueDict.dirty()) return;
+    try(DataOutput out = new DataOutput(meta.dbFile(DATADIC))) {
+      textDict.write(out);
+      valueDict.write(out);
+    }
+  }
+
+  /**
+   * Stores repeated texts and attribute values only once by replacing the references to
+   * duplicates with references to the first occurrence. The space of the replaced texts
+   * will be reclaimed by {@link OptimizeAll}.
+   * @return number of replaced references
+   */
+  public int shareTexts() {
+    if(!meta.sharetexts) return 0;
+    int shared = 0;
+    final int size = meta.size;
+    for(int pre = 0; pre < size; pre++) {
+      final int kind = kind(pre);
+      if(kind == ELEM) continue;
+      final long ref = textRef(pre);
+      if(Inline.inlined(ref)) continue;
+
+      final boolean text = kind != ATTR;
+      final byte[] value = txt(ref, text);
+      final TextDictionary dict = dictionary(text);
+      final long shref = dict.get(value);
+      if(shref == -1) {
+        dict.add(value, ref);
+      } else if(shref != ref) {
+        textRef(pre, shref);
+        shared++;
+      }
+    }
+    return shared;
   }
 
   /**
@@ -148,6 +235,8 @@ public final class DiskData extends Data {
       resources.write(out);
       out.write(0);
     }
+    elemIndex.write();
+    columns.write();
     if(meta.updindex) idmap.write(meta.dbFile(DATAIDP));
     meta.dirty = false;
   }
@@ -161,6 +250,8 @@ public final class DiskData extends Data {
       table.close();
       texts.close();
       values.close();
+      writeDictionaries();
+      resources.flushBinaries();
       close(IndexType.TEXT);
       close(IndexType.ATTRIBUTE);
       close(IndexType.TOKEN);
@@ -239,6 +330,15 @@ public final class DiskData extends Data {
     // OPTIMIZE ALL / db:optimize(..., true) will close the database before this function is called
     if(closed) return;
 
+    // release sparsely filled table pages of the update in small steps
+    if(table.fragmentation() >= FRAGMENTATION) table.compact(false, COMPACT);
+    // reclaim space of deleted binaries (lazy items of the update have been processed)
+    try {
+      resources.compactBinaries();
+    } catch(final IOException ex) {
+      Util.stack(ex);
+    }
+
     // remove updating file
     final boolean auto = opts.get(MainOptions.AUTOFLUSH);
     if(auto) {
@@ -259,8 +359,11 @@ public final class DiskData extends Data {
         write();
         texts.flush();
         values.flush();
+        writeDictionaries();
+        resources.flushBinaries();
         if(textIndex != null) textIndex.flush();
         if(attrIndex != null) attrIndex.flush();
+        if(ftIndex != null) ftIndex.flush();
       }
     } catch(final IOException ex) {
       Util.stack(ex);
@@ -291,9 +394,12 @@ public final class DiskData extends Data {
     if(Inline.inlined(value)) return Inline.unpackLength(value);
 
     final DataAccess da = text ? texts : values;
-    final int l = da.readNum(value & Compress.COMPRESS - 1);
-    // if text is compressed, read number of compressed bytes
-    return Compress.compressed(value) ? da.readNum() : l;
+    // synchronize consecutive reads (the cursor may be moved by concurrent readers)
+    synchronized(da) {
+      final int l = da.readNum(value & Compress.COMPRESS - 1);
+      // if text is compressed, read number of compressed bytes
+      return Compress.compressed(value) ? da.readNum() : l;
+    }
   }
 
   /**
@@ -316,6 +422,9 @@ public final class DiskData extends Data {
 
   @Override
   protected void delete(final int pre, final boolean text) {
+    // shared texts may still be referenced by other nodes
+    if(meta.sharetexts) return;
+
     // old entry (offset or value)
     final long old = textRef(pre);
     // if old text was not inlined, fill unused space in text file with zero bytes
@@ -324,8 +433,11 @@ public final class DiskData extends Data {
 
   @Override
   protected void updateText(final int pre, final byte[] value, final int kind) {
-    // delete existing index entry
-    indexDelete(pre, -1, 1);
+    if(meta.sharetexts) {
+      // shared texts are never overwritten: reference existing or new text
+      textRef(pre, textRef(value, kind != ATTR));
+      return;
+    }
 
     // reference to heap file
     final DataAccess store = kind == ATTR ? values : texts;
@@ -357,9 +469,6 @@ public final class DiskData extends Data {
       store.writeToken(off, val);
       textRef(pre, val == value ? off : off | Compress.COMPRESS);
     }
-
-    // insert new entries
-    indexAdd(pre, -1, 1, null);
   }
 
   @Override
@@ -368,11 +477,20 @@ public final class DiskData extends Data {
     final long inlined = Inline.pack(value);
     if(inlined != 0) return inlined;
 
+    // return reference to shared text
+    final TextDictionary dict = meta.sharetexts ? dictionary(text) : null;
+    if(dict != null) {
+      final long ref = dict.get(value);
+      if(ref != -1) return ref;
+    }
+
     // store text in heap file
     final byte[] packed = Compress.pack(value);
     final DataAccess store = text ? texts : values;
     final long offset = store.length();
     store.writeToken(offset, packed);
-    return packed == value ? offset : Compress.COMPRESS | offset;
+    final long ref = packed == value ? offset : Compress.COMPRESS | offset;
+    if(dict != null) dict.add(value, ref);
+    return ref;
   }
 }
@@ -167,9 +167,7 @@ public final class MemData extends Data {
 
   @Override
   protected void updateText(final int pre, final byte[] value, final int kind) {
-    indexDelete(pre, -1, 1);
     textRef(pre, textRef(value, kind != ATTR));
-    indexAdd(pre, -1, 1, null);
   }
 
   @Override
@@ -47,11 +47,21 @@ public final class MetaData {
   public boolean tokenindex;
   /** Indicates if a full-text index exists. */
   public boolean ftindex;
+  /** Indicates if the full-text index references node ids instead of pre values. */
+  public boolean ftids;
 
   /** Flag for activated automatic index update. */
   public boolean updindex;
+  /** Flag for activated element index. */
+  public boolean elemindex;
+  /** Column store: paths of numeric leaf nodes. */
+  public String columns;
   /** Flag for automatic index updating. */
   public boolean autooptimize;
+  /** Flag for storing repeated texts only once. Shared texts will not be freed by updates. */
+  public boolean sharetexts;
+  /** Flag for storing binaries in packed segment files. */
+  public boolean packbinaries;
 
   /** Indicates if the text index is to be recreated. */
   public boolean createtext;
@@ -98,6 +108,8 @@ public final class MetaData {
 
   /** Number of nodes. */
   public int size;
+  /** Percentage of unused table entries (not persisted; {@code -1} if unknown). */
+  public int fragmentation = -1;
   /** Last (highest) id assigned to a node. Can be {@code -1} if database is empty. */
   public int lastid = -1;
 
@@ -139,7 +151,11 @@ public final class MetaData {
     stemming = options.get(MainOptions.STEMMING);
     casesens = options.get(MainOptions.CASESENS);
     updindex = options.get(MainOptions.UPDINDEX);
+    elemindex = options.get(MainOptions.ELEMINDEX);
+    columns = options.get(MainOptions.COLUMNS);
     autooptimize = options.get(MainOptions.AUTOOPTIMIZE);
+    sharetexts = options.get(MainOptions.SHARETEXTS);
+    packbinaries = options.get(MainOptions.PACKBINARIES);
     maxlen = options.get(MainOptions.MAXLEN);
     maxcats = options.get(MainOptions.MAXCATS);
     stopwords = options.get(MainOptions.STOPWORDS);
@@ -402,11 +418,16 @@ public final class MetaData {
         case DBFSIZE:    inputsize = toLong(v); break;
         case DBFTDC:     diacritics = toBoolean(v); break;
         case DBUPDIDX:   updindex = toBoolean(v); break;
+        case DBELMIDX:   elemindex = toBoolean(v); break;
+        case DBCOLS:     columns = v; break;
         case DBAUTOOPT:  autooptimize = toBoolean(v); break;
+        case DBSHARE:    sharetexts = toBoolean(v); break;
+        case DBPACKBIN:  packbinaries = toBoolean(v); break;
         case DBTXTIDX:   textindex = toBoolean(v); break;
         case DBATVIDX:   attrindex = toBoolean(v); break;
         case DBTOKIDX:   tokenindex = toBoolean(v); break;
         case DBFTXIDX:   ftindex = toBoolean(v); break;
+        case DBFTXIDS:   ftids = toBoolean(v); break;
         case DBTXTINC:   textinclude = v; break;
         case DBATVINC:   attrinclude = v; break;
         case DBTOKINC:   tokeninclude = v; break;
@@ -429,6 +450,8 @@ public final class MetaData {
     oldindex = !istorage.equals(ISTORAGE) &&
         new Version(istorage).compareTo(new Version(ISTORAGE)) > 0;
     corrupt = dbFile(DATAUPD).exists();
+    // full-text index of an updatable database was built with pre values: will be recreated
+    if(ftindex && updindex && !ftids) ftindex = false;
   }
 
   /**
@@ -445,11 +468,16 @@ public final class MetaData {
     writeInfo(out, DBNDOCS,    ndocs);
     writeInfo(out, DBSIZE,     size);
     writeInfo(out, DBUPDIDX,   updindex);
+    writeInfo(out, DBELMIDX,   elemindex);
+    writeInfo(out, DBCOLS,     columns);
     writeInfo(out, DBAUTOOPT,  autooptimize);
+    writeInfo(out, DBSHARE,    sharetexts);
+    writeInfo(out, DBPACKBIN,  packbinaries);
     writeInfo(out, DBTXTIDX,   textindex);
     writeInfo(out, DBATVIDX,   attrindex);
     writeInfo(out, DBTOKIDX,   tokenindex);
     writeInfo(out, DBFTXIDX,   ftindex);
+    writeInfo(out, DBFTXIDS,   ftids);
     writeInfo(out, DBTXTINC,   textinclude);
     writeInfo(out, DBATVINC,   attrinclude);
     writeInfo(out, DBTOKINC,   tokeninclude);
@@ -483,8 +511,8 @@ public final class MetaData {
       textindex = false;
       attrindex = false;
       tokenindex = false;
+      ftindex = false;
     }
-    ftindex = false;
   }
 
   /**
@@ -2,6 +2,8 @@ package org.basex.data;
 
 import java.util.*;
 
+import org.basex.index.resource.*;
+import org.basex.io.random.*;
 import org.basex.util.*;
 
 /**
@@ -35,7 +37,7 @@ public enum MetaProp {
   BINARIES(false) {
     @Override
     public Integer value(final MetaData meta) {
-      return meta.dir != null ? meta.binaryDir().descendants().size() : 0;
+      return Resources.binaryCount(meta);
     }
   },
   /** Property. */
@@ -49,6 +51,14 @@ public enum MetaProp {
     public Boolean value(final MetaData meta) { return meta.uptodate; }
   },
   /** Property. */
+  FRAGMENTATION(false) {
+    @Override
+    public Integer value(final MetaData meta) {
+      return meta.dir == null ? 0 : meta.fragmentation != -1 ? meta.fragmentation :
+        TableDiskAccess.fragmentation(meta);
+    }
+  },
+  /** Property. */
   INPUTPATH(false) {
     @Override
     public String value(final MetaData meta) { return meta.original; }
@@ -135,11 +145,31 @@ public enum MetaProp {
     public Boolean value(final MetaData meta) { return meta.updindex; }
   },
   /** Property. */
+  ELEMINDEX(true) {
+    @Override
+    public Boolean value(final MetaData meta) { return meta.elemindex; }
+  },
+  /** Property. */
+  COLUMNS(true) {
+    @Override
+    public String value(final MetaData meta) { return meta.columns; }
+  },
+  /** Property. */
   AUTOOPTIMIZE(true) {
     @Override
     public Boolean value(final MetaData meta) { return meta.autooptimize; }
   },
   /** Property. */
+  SHARETEXTS(true) {
+    @Override
+    public Boolean value(final MetaData meta) { return meta.sharetexts; }
+  },
+  /** Property. */
+  PACKBINARIES(true) {
+    @Override
+    public Boolean value(final MetaData meta) { return meta.packbinaries; }
+  },
+  /** Property. */
   MAXCATS(true) {
     @Override
     public Integer value(final MetaData meta) { return meta.maxcats; }
@@ -0,0 +1,104 @@
+package org.basex.data;
+
+import java.io.*;
+
+import org.basex.io.in.DataInput;
+import org.basex.io.out.DataOutput;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * This class references texts that have been written to a heap file.
+ * It is used to store repeated texts only once (see {@link MetaData#sharetexts}).
+ * The number of entries and the length of the indexed texts are limited.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class TextDictionary {
+  /** Maximum number of entries. */
+  private static final int MAX = 1 << 18;
+
+  /** Indexed texts. */
+  private final TokenSet texts = new TokenSet();
+  /** Text references (indexed by the ids of the texts). */
+  private final LongList refs = new LongList().add(-1);
+  /** Maximum length of texts to be indexed. */
+  private final int maxlen;
+  /** Indicates if entries have been added since the dictionary was read or written. */
+  private boolean dirty;
+
+  /**
+   * Constructor.
+   * @param meta meta data
+   */
+  public TextDictionary(final MetaData meta) {
+    maxlen = meta.maxlen;
+  }
+
+  /**
+   * Constructor, reading the dictionary from disk.
+   * References that point beyond the end of the heap file will be ignored.
+   * @param meta meta data
+   * @param in input stream
+   * @param length length of the heap file
+   * @throws IOException I/O exception
+   */
+  public TextDictionary(final MetaData meta, final DataInput in, final long length)
+      throws IOException {
+    this(meta);
+    final int size = in.readNum();
+    final byte[][] tokens = new byte[size][];
+    for(int t = 0; t < size; t++) tokens[t] = in.readToken();
+    final long[] offsets = in.readLongs(in.readNum());
+    for(int t = 0; t < size; t++) {
+      if((offsets[t] & Compress.COMPRESS - 1) < length) add(tokens[t], offsets[t]);
+    }
+    dirty = false;
+  }
+
+  /**
+   * Writes the dictionary to disk.
+   * @param out output stream
+   * @throws IOException I/O exception
+   */
+  public void write(final DataOutput out) throws IOException {
+    final int size = texts.size();
+    out.writeNum(size);
+    for(int id = 1; id <= size; id++) out.writeToken(texts.key(id));
+    final long[] offsets = new long[size];
+    for(int id = 1; id <= size; id++) offsets[id - 1] = refs.get(id);
+    out.writeLongs(offsets);
+    dirty = false;
+  }
+
+  /**
+   * Indicates if entries have been added since the dictionary was read or written.
+   * @return result of check
+   */
+  public boolean dirty() {
+    return dirty;
+  }
+
+  /**
+   * Returns the reference to the specified text.
+   * @param text text
+   * @return reference, or {@code -1} if the text has not been indexed
+   */
+  public long get(final byte[] text) {
+    return text.length > maxlen ? -1 : refs.get(texts.id(text));
+  }
+
+  /**
+   * Indexes the specified text and its reference.
+   * @param text text
+   * @param ref reference
+   */
+  public void add(final byte[] text, final long ref) {
+    if(text.length <= maxlen && texts.size() < MAX && texts.add(text)) {
+      refs.add(ref);
+      dirty = true;
+    }
+  }
+}
@@ -38,12 +38,8 @@ public final class FTBuilder extends IndexBuilder {
     final MetaData meta = data.meta;
     tree = new FTIndexTrees(data.meta.maxlen);
 
-    final FTOpt fto = new FTOpt();
-    fto.set(FTFlag.DC, meta.diacritics);
-    fto.set(FTFlag.ST, meta.stemming);
-    fto.cs = meta.casesens ? FTCase.SENSITIVE : FTCase.INSENSITIVE;
+    final FTOpt fto = options(meta);
     fto.sw = new StopWords(data, meta.stopwords);
-    fto.ln = data.meta.language;
 
     if(!Tokenizer.supportFor(fto.ln))
       throw new BaseXException(NO_TOKENIZER_X, fto.ln);
@@ -53,11 +49,29 @@ public final class FTBuilder extends IndexBuilder {
     lexer = new FTLexer(fto);
   }
 
+  /**
+   * Returns the full-text options of a database (without stop words).
+   * @param meta meta data
+   * @return full-text options
+   */
+  static FTOpt options(final MetaData meta) {
+    final FTOpt fto = new FTOpt();
+    fto.set(FTFlag.DC, meta.diacritics);
+    fto.set(FTFlag.ST, meta.stemming);
+    fto.cs = meta.casesens ? FTCase.SENSITIVE : FTCase.INSENSITIVE;
+    fto.ln = meta.language;
+    return fto;
+  }
+
   @Override
   public FTIndex build() throws IOException {
     Util.debug(detailedInfo());
 
     try {
+      // delta segment of the previous index is obsolete
+      data.meta.dbFile(DATAFTX + 'd').delete();
+
+      final boolean updindex = data.meta.updindex;
       for(pre = 0; pre < size; ++pre) {
         if((pre & 0x0FFF) == 0) check();
         if(!indexEntry()) continue;
@@ -76,7 +90,7 @@ public final class FTBuilder extends IndexBuilder {
               writeIndex(true);
               clean();
             }
-            tree.index(token, pre, pos, splits);
+            tree.index(token, updindex ? data.id(pre) : pre, pos, splits);
             count++;
           }
         }
@@ -86,6 +100,7 @@ public final class FTBuilder extends IndexBuilder {
       write(splits > 0);
 
       finishIndex();
+      data.meta.ftids = updindex;
       return new FTIndex(data);
 
     } catch(final Throwable th) {
@@ -158,7 +173,7 @@ public final class FTBuilder extends IndexBuilder {
    * @param lp last offset
    * @throws IOException I/O exception
    */
-  private static void writeInd(final DataOutput outX, final IntList il, final int ls, final int lp)
+  static void writeInd(final DataOutput outX, final IntList il, final int ls, final int lp)
       throws IOException {
 
     final int is = il.size();
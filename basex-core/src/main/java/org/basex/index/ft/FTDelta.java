@@ -0,0 +1,180 @@
+package org.basex.index.ft;
+
+import static org.basex.util.Token.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.DataOutput;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * This class contains the postings of updated texts, which have not been merged into the
+ * disk-based full-text index yet. Postings are stored as {@code id/pos} pairs.
+ * The ids of deleted or replaced texts are recorded to hide obsolete entries of the main index.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+final class FTDelta {
+  /** Ids of nodes with obsolete entries in the main index. */
+  private final IntSet deleted = new IntSet();
+  /** Ids of nodes with postings in this segment. */
+  private final IntSet added = new IntSet();
+  /** Tokens. */
+  private final TokenSet tokens = new TokenSet();
+  /** Postings ({@code id/pos} pairs) of each token. */
+  private final ArrayList<IntList> postings = new ArrayList<>();
+  /** Number of postings. */
+  private int size;
+  /** Dirty flag. */
+  private boolean dirty;
+
+  /**
+   * Constructor.
+   * @param file file with persisted entries (ignored if it does not exist)
+   * @throws IOException I/O exception
+   */
+  FTDelta(final IOFile file) throws IOException {
+    if(!file.exists()) return;
+    try(DataInput in = new DataInput(file)) {
+      for(final int id : in.readNums()) deleted.add(id);
+      for(int t = in.readNum(); --t >= 0;) {
+        final byte[] token = in.readToken();
+        final int[] list = in.readNums();
+        for(int l = 0; l < list.length; l += 2) add(token, list[l], list[l + 1]);
+      }
+    }
+    dirty = false;
+  }
+
+  /**
+   * Adds a posting.
+   * @param token token
+   * @param id id of the text node
+   * @param pos position of the token
+   */
+  void add(final byte[] token, final int id, final int pos) {
+    final int i = tokens.put(token) - 1;
+    if(i == postings.size()) postings.add(new IntList(2));
+    postings.get(i).add(id, pos);
+    added.add(id);
+    size++;
+    dirty = true;
+  }
+
+  /**
+   * Removes all postings of the specified nodes.
+   * @param ids ids of the text nodes
+   */
+  void delete(final IntSet ids) {
+    boolean found = false;
+    for(final int id : ids.toArray()) {
+      deleted.add(id);
+      found |= added.contains(id);
+    }
+    // remove postings of the segment in a single pass
+    if(found) {
+      for(final IntList list : postings) {
+        final int ls = list.size();
+        int n = 0;
+        for(int l = 0; l < ls; l += 2) {
+          final int id = list.get(l);
+          if(!ids.contains(id)) {
+            list.set(n++, id);
+            list.set(n++, list.get(l + 1));
+          }
+        }
+        size -= ls - n >> 1;
+        list.size(n);
+      }
+    }
+    dirty = true;
+  }
+
+  /**
+   * Checks if entries of the main index for the specified node are obsolete.
+   * @param id id of the text node
+   * @return result of check
+   */
+  boolean deleted(final int id) {
+    return deleted.contains(id);
+  }
+
+  /**
+   * Indicates if entries of the main index have been deleted.
+   * @return result of check
+   */
+  boolean deletions() {
+    return !deleted.isEmpty();
+  }
+
+  /**
+   * Returns the postings of the specified token.
+   * @param token token
+   * @return {@code id/pos} pairs or {@code null}
+   */
+  IntList postings(final byte[] token) {
+    final int i = tokens.id(token);
+    return i == 0 ? null : postings.get(i - 1);
+  }
+
+  /**
+   * Returns all tokens with postings, sorted by their length and lexicographically.
+   * @return tokens
+   */
+  byte[][] tokens() {
+    final TokenList list = new TokenList();
+    for(final byte[] token : tokens) {
+      if(!postings(token).isEmpty()) list.add(token);
+    }
+    final byte[][] sorted = list.finish();
+    Arrays.sort(sorted, FTDelta::compare);
+    return sorted;
+  }
+
+  /**
+   * Compares two tokens in the order of the main index.
+   * @param token1 first token
+   * @param token2 second token
+   * @return difference
+   */
+  static int compare(final byte[] token1, final byte[] token2) {
+    final int d = token1.length - token2.length;
+    return d != 0 ? d : diff(token1, token2);
+  }
+
+  /**
+   * Returns the number of changes.
+   * @return number of postings and deleted ids
+   */
+  int changes() {
+    return size + deleted.size();
+  }
+
+  /**
+   * Writes the entries to the specified file (if required).
+   * @param file file
+   * @throws IOException I/O exception
+   */
+  void write(final IOFile file) throws IOException {
+    if(!dirty) return;
+    if(changes() == 0) {
+      file.delete();
+    } else {
+      try(DataOutput out = new DataOutput(file)) {
+        out.writeNums(deleted.toArray());
+        final byte[][] tkns = tokens();
+        out.writeNum(tkns.length);
+        for(final byte[] token : tkns) {
+          out.writeToken(token);
+          out.writeNums(postings(token).toArray());
+        }
+      }
+    }
+    dirty = false;
+  }
+}
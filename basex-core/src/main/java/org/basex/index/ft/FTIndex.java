@@ -13,6 +13,8 @@ import org.basex.index.*;
 import org.basex.index.query.*;
 import org.basex.index.stats.*;
 import org.basex.index.value.*;
+import org.basex.io.*;
+import org.basex.io.out.DataOutput;
 import org.basex.io.random.*;
 import org.basex.query.expr.ft.*;
 import org.basex.query.util.ft.*;
@@ -47,30 +49,43 @@ import org.basex.util.similarity.*;
  *   {@code pre1/pos1, pre2/pos2, pre3/pos3, ...} [{@link Num}]</li>
  * </ul>
  *
+ * <p>If the index is updatable ({@link MainOptions#UPDINDEX}), ids are stored instead of
+ * pre values. The postings of updated texts are collected in a delta segment, which is
+ * queried together with the main index and persisted in file <b>d</b>. The segment is merged
+ * with the main index as soon as it exceeds a certain size.</p>
+ *
  * @author BaseX Team 2005-21, BSD License
  * @author Christian Gruen
  */
 public final class FTIndex extends ValueIndex {
   /** Minimum fixed size for each token entry. */
   private static final int ENTRY = 9;
+  /** Minimum number of changes in the delta segment that triggers a merge
+   * (package-visible for testing). */
+  static int merge = 1 << 16;
 
   /** Cached texts. Increases used memory, but speeds up repeated queries. */
-  private final IntObjMap<byte[]> ctext = new IntObjMap<>();
+  private IntObjMap<byte[]> ctext;
   /** Levenshtein reference. */
   private final Levenshtein ls = new Levenshtein();
 
   /** Index storing each unique token length and pointer
    * on the first token with this length. */
-  private final DataAccess dataX;
+  private DataAccess dataX;
   /** Index storing each token, its data size and pointer on the data. */
-  private final DataAccess dataY;
+  private DataAccess dataY;
   /** Storing pre and pos values for each token. */
-  private final DataAccess dataZ;
+  private DataAccess dataZ;
 
   /** Cache for number of hits and data reference per token. */
-  private final IndexCache cache = new IndexCache();
+  private IndexCache cache;
   /** Token positions. */
-  private final int[] positions;
+  private int[] positions;
+
+  /** Delta segment with the postings of updated texts ({@code null} if index is not updatable). */
+  private FTDelta delta;
+  /** Lexer for updated texts (lazily instantiated). */
+  private FTLexer lexer;
 
   /**
    * Constructor, initializing the index structure.
@@ -79,6 +94,17 @@ public final class FTIndex extends ValueIndex {
    */
   public FTIndex(final Data data) throws IOException {
     super(data, IndexType.FULLTEXT);
+    open();
+    if(data.meta.updindex) delta = new FTDelta(data.meta.dbFile(DATAFTX + 'd'));
+  }
+
+  /**
+   * Opens the index files.
+   * @throws IOException I/O Exception
+   */
+  private void open() throws IOException {
+    ctext = new IntObjMap<>();
+    cache = new IndexCache();
     // cache token length index
     dataX = new DataAccess(data.meta.dbFile(DATAFTX + 'x'));
     dataY = new DataAccess(data.meta.dbFile(DATAFTX + 'y'));
@@ -101,7 +127,7 @@ public final class FTIndex extends ValueIndex {
     // estimate costs for queries which stretch over multiple index entries
     final FTOpt opt = ((FTLexer) search).ftOpt();
     return IndexCosts.get(opt.is(FZ) || opt.is(WC) ? Math.max(1, data.meta.size >> 4) :
-      entry(token).size);
+      entry(token).size + count(token));
   }
 
   @Override
@@ -125,12 +151,10 @@ public final class FTIndex extends ValueIndex {
 
     // return cached or new result
     final IndexEntry entry = entry(token);
-    if(entry.size > 0) {
-      return iter(entry.offset, entry.size, dataZ, token);
-    }
-
-    // no results
-    return FTIndexIterator.FTEMPTY;
+    final IntList pr = new IntList(entry.size), ps = new IntList(entry.size);
+    if(entry.size > 0) postings(entry.offset, entry.size, pr, ps);
+    postings(token, pr, ps);
+    return pr.isEmpty() ? FTIndexIterator.FTEMPTY : iter(new FTCache(pr, ps), token);
   }
 
   /**
@@ -151,7 +175,7 @@ public final class FTIndex extends ValueIndex {
   public EntryIterator entries(final IndexEntries entries) {
     final byte[] token = entries.token();
 
-    return new EntryIterator() {
+    final EntryIterator iter = new EntryIterator() {
       int p = token.length - 1, start, end, nr;
       boolean inner;
 
@@ -188,6 +212,59 @@ public final class FTIndex extends ValueIndex {
         }
       }
 
+      @Override
+      public int count() {
+        return nr;
+      }
+    };
+    return delta == null || delta.changes() == 0 ? iter : entries(iter, token);
+  }
+
+  /**
+   * Returns an iterator that merges the entries of the main index with the delta segment.
+   * @param iter iterator for the entries of the main index
+   * @param prefix prefix of the requested tokens
+   * @return iterator
+   */
+  private EntryIterator entries(final EntryIterator iter, final byte[] prefix) {
+    final TokenList tokens = new TokenList();
+    for(final byte[] token : delta.tokens()) {
+      if(startsWith(token, prefix)) tokens.add(token);
+    }
+    final int ts = tokens.size();
+
+    return new EntryIterator() {
+      byte[] next;
+      boolean init;
+      int t, nr;
+
+      @Override
+      public byte[] next() {
+        synchronized(FTIndex.this) {
+          if(!init) {
+            next = iter.next();
+            init = true;
+          }
+          while(next != null || t < ts) {
+            // choose smallest token of main index and delta segment
+            final byte[] dt = t < ts ? tokens.get(t) : null;
+            final int c = next == null ? 1 : dt == null ? -1 : FTDelta.compare(next, dt);
+            final byte[] token = c <= 0 ? next : dt;
+            nr = 0;
+            if(c <= 0) {
+              nr = FTIndex.this.count(entry(token).offset, iter.count());
+              next = iter.next();
+            }
+            if(c >= 0) {
+              nr += FTIndex.this.count(token);
+              t++;
+            }
+            if(nr > 0) return token;
+          }
+          return null;
+        }
+      }
+
       @Override
       public int count() {
         return nr;
@@ -253,6 +330,13 @@ public final class FTIndex extends ValueIndex {
     dataX.close();
     dataY.close();
     dataZ.close();
+    if(delta != null) {
+      try {
+        delta.write(deltaFile());
+      } catch(final IOException ex) {
+        Util.stack(ex);
+      }
+    }
   }
 
   @Override
@@ -309,14 +393,50 @@ public final class FTIndex extends ValueIndex {
 
     final int max = positions[pl - 1];
     while(p < max) {
-      final int oc = size(p, i);
-      if(stats.adding(oc)) stats.add(dataY.readBytes(p, i), oc);
+      final byte[] token = delta != null ? dataY.readBytes(p, i) : null;
+      final int oc = count(pointer(p, i), size(p, i)) + count(token);
+      if(stats.adding(oc)) stats.add(token != null ? token : dataY.readBytes(p, i), oc);
       p += i + ENTRY;
       if(p == positions[j]) {
         i = j;
         while(j + 1 < pl && positions[++j] == -1);
       }
     }
+    // add tokens that only occur in the delta segment
+    if(delta != null) {
+      for(final byte[] token : delta.tokens()) {
+        if(token(token) != -1) continue;
+        final int oc = count(token);
+        if(stats.adding(oc)) stats.add(token, oc);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of valid postings of an entry of the main index.
+   * @param off offset on entries
+   * @param size number of id/pos entries
+   * @return number of postings
+   */
+  private int count(final long off, final int size) {
+    if(delta == null || !delta.deletions()) return size;
+    dataZ.cursor(off);
+    int c = 0;
+    for(int s = 0; s < size; s++) {
+      if(!delta.deleted(dataZ.readNum())) c++;
+      dataZ.readNum();
+    }
+    return c;
+  }
+
+  /**
+   * Returns the number of postings of a token in the delta segment.
+   * @param token token (can be {@code null})
+   * @return number of postings
+   */
+  private int count(final byte[] token) {
+    final IntList list = delta != null && token != null ? delta.postings(token) : null;
+    return list != null ? list.size() >> 1 : 0;
   }
 
   /**
@@ -356,11 +476,22 @@ public final class FTIndex extends ValueIndex {
       while(t < pl && r == -1) r = positions[t++];
       while(p < r) {
         if(ls.similar(dataY.readBytes(p, s), token, k)) {
-          iter = FTIndexIterator.union(iter(pointer(p, s), size(p, s), dataZ, token), iter);
+          final IntList pr = new IntList(), ps = new IntList();
+          postings(pointer(p, s), size(p, s), pr, ps);
+          if(!pr.isEmpty()) iter = FTIndexIterator.union(iter(new FTCache(pr, ps), token), iter);
         }
         p += s + ENTRY;
       }
     }
+    if(delta != null) {
+      for(final byte[] dt : delta.tokens()) {
+        if(ls.similar(dt, token, k)) {
+          final IntList pr = new IntList(), ps = new IntList();
+          postings(dt, pr, ps);
+          iter = FTIndexIterator.union(iter(new FTCache(pr, ps), token), iter);
+        }
+      }
+    }
     return iter;
   }
 
@@ -385,37 +516,53 @@ public final class FTIndex extends ValueIndex {
       while(start < end) {
         final byte[] t = dataY.readBytes(start, p);
         if(!startsWith(t, prefix)) break;
-        if(wc.match(t)) {
-          dataZ.cursor(pointer(start, p));
-          final int s = size(start, p);
-          for(int d = 0; d < s; d++) {
-            pr.add(dataZ.readNum());
-            ps.add(dataZ.readNum());
-          }
-        }
+        if(wc.match(t)) postings(pointer(start, p), size(start, p), pr, ps);
         start += p + ENTRY;
       }
     }
+    if(delta != null) {
+      for(final byte[] dt : delta.tokens()) {
+        if(dt.length <= l && startsWith(dt, prefix) && wc.match(dt)) postings(dt, pr, ps);
+      }
+    }
     return iter(new FTCache(pr, ps), token);
   }
 
   /**
-   * Returns an iterator for an index entry.
+   * Adds the pre values and positions of an entry of the main index.
    * @param off offset on entries
    * @param size number of id/pos entries
-   * @param da data source
-   * @param token index token
-   * @return iterator
+   * @param pr pre values
+   * @param ps positions
    */
-  private static FTIndexIterator iter(final long off, final int size, final DataAccess da,
-      final byte[] token) {
-    da.cursor(off);
-    final IntList pr = new IntList(size), ps = new IntList(size);
+  private void postings(final long off, final int size, final IntList pr, final IntList ps) {
+    dataZ.cursor(off);
     for(int c = 0; c < size; c++) {
-      pr.add(da.readNum());
-      ps.add(da.readNum());
+      final int id = dataZ.readNum(), pos = dataZ.readNum();
+      if(delta == null) {
+        pr.add(id);
+        ps.add(pos);
+      } else if(!delta.deleted(id)) {
+        pr.add(data.pre(id));
+        ps.add(pos);
+      }
+    }
+  }
+
+  /**
+   * Adds the pre values and positions of a token in the delta segment.
+   * @param token token
+   * @param pr pre values
+   * @param ps positions
+   */
+  private void postings(final byte[] token, final IntList pr, final IntList ps) {
+    final IntList list = delta != null ? delta.postings(token) : null;
+    if(list == null) return;
+    final int size = list.size();
+    for(int l = 0; l < size; l += 2) {
+      pr.add(data.pre(list.get(l)));
+      ps.add(list.get(l + 1));
     }
-    return iter(new FTCache(pr, ps), token);
   }
 
   /**
@@ -497,15 +644,146 @@ public final class FTIndex extends ValueIndex {
   }
 
   @Override
-  public void add(final ValueCache values) {
-    throw Util.notExpected();
+  public synchronized void add(final ValueCache values) {
+    if(delta == null) throw Util.notExpected();
+
+    if(lexer == null) {
+      final FTOpt fto = FTBuilder.options(data.meta);
+      fto.sw = new StopWords();
+      fto.sw.compile(data);
+      lexer = new FTLexer(fto);
+    }
+    final StopWords sw = lexer.ftOpt().sw;
+    for(final byte[] text : values) {
+      final int[] ids = values.ids(text).toArray();
+      lexer.init(text);
+      int pos = -1;
+      while(lexer.hasNext()) {
+        final byte[] token = lexer.nextToken();
+        ++pos;
+        // skip too long and stopword tokens
+        if(token.length <= data.meta.maxlen && !sw.contains(token)) {
+          for(final int id : ids) delta.add(token, id, pos);
+        }
+      }
+    }
   }
 
   @Override
-  public void delete(final ValueCache values) {
-    throw Util.notExpected();
+  public synchronized void delete(final ValueCache values) {
+    if(delta == null) throw Util.notExpected();
+
+    final IntSet ids = new IntSet();
+    for(final byte[] text : values) {
+      for(final int id : values.ids(text).toArray()) ids.add(id);
+    }
+    delta.delete(ids);
   }
 
   @Override
-  public void flush() { }
+  public synchronized void flush() {
+    if(delta == null) return;
+    try {
+      // merge delta segment with main index if it gets too large. The index is flushed by
+      // the updating job, so no readers are active while the index files are replaced
+      if(delta.changes() > Math.max(merge, dataZ.length() >> 4)) merge();
+      else delta.write(deltaFile());
+    } catch(final IOException ex) {
+      Util.stack(ex);
+    }
+  }
+
+  /**
+   * Returns the file of the delta segment.
+   * @return file
+   */
+  private IOFile deltaFile() {
+    return data.meta.dbFile(DATAFTX + 'd');
+  }
+
+  /**
+   * Merges the delta segment with the main index.
+   * @throws IOException I/O exception
+   */
+  private void merge() throws IOException {
+    final byte[][] tokens = delta.tokens();
+    final int ts = tokens.length;
+    final MetaData meta = data.meta;
+    try(DataOutput outX = new DataOutput(meta.dbFile(DATAFTX + "mx"));
+        DataOutput outY = new DataOutput(meta.dbFile(DATAFTX + "my"));
+        DataOutput outZ = new DataOutput(meta.dbFile(DATAFTX + "mz"))) {
+
+      // write tokens of main index and delta segment in ascending order
+      final IntList ind = new IntList();
+      final int pl = positions.length;
+      int t = 0;
+      for(int l = 0; l < pl - 1; l++) {
+        int p = positions[l];
+        if(p == -1) continue;
+        int e = -1;
+        for(int n = l + 1; e == -1; n++) e = positions[n];
+        for(; p < e; p += l + ENTRY) {
+          final byte[] token = dataY.readBytes(p, l);
+          while(t < ts && FTDelta.compare(tokens[t], token) < 0) {
+            merge(tokens[t++], 0, 0, ind, outY, outZ);
+          }
+          if(t < ts && eq(tokens[t], token)) t++;
+          merge(token, pointer(p, l), size(p, l), ind, outY, outZ);
+        }
+      }
+      while(t < ts) merge(tokens[t++], 0, 0, ind, outY, outZ);
+
+      final int last = ind.isEmpty() ? 0 : ind.get(ind.size() - 2);
+      FTBuilder.writeInd(outX, ind, last + 1, (int) outY.size());
+    }
+
+    // replace index files
+    dataX.close();
+    dataY.close();
+    dataZ.close();
+    for(final char c : new char[] { 'x', 'y', 'z' }) {
+      final IOFile file = meta.dbFile(DATAFTX + c);
+      if(!file.delete() || !meta.dbFile(DATAFTX + 'm' + c).rename(file))
+        throw new IOException("Full-text index could not be updated: " + file);
+    }
+    final IOFile file = deltaFile();
+    file.delete();
+    delta = new FTDelta(file);
+    open();
+  }
+
+  /**
+   * Writes the merged postings of a token.
+   * @param token token
+   * @param off offset on the entries of the main index
+   * @param size number of id/pos entries in the main index
+   * @param ind token length and offsets
+   * @param outY output for tokens
+   * @param outZ output for postings
+   * @throws IOException I/O exception
+   */
+  private void merge(final byte[] token, final long off, final int size, final IntList ind,
+      final DataOutput outY, final DataOutput outZ) throws IOException {
+
+    final IntList list = new IntList();
+    dataZ.cursor(off);
+    for(int s = 0; s < size; s++) {
+      final int id = dataZ.readNum(), pos = dataZ.readNum();
+      if(!delta.deleted(id)) list.add(id, pos);
+    }
+    final IntList dl = delta.postings(token);
+    if(dl != null) list.add(dl.toArray());
+    final int ns = list.size();
+    if(ns == 0) return;
+
+    final int tl = token.length;
+    if(ind.isEmpty() || ind.get(ind.size() - 2) < tl) {
+      ind.add(tl);
+      ind.add((int) outY.size());
+    }
+    outY.writeBytes(token);
+    outY.write5(outZ.size());
+    outY.write4(ns >> 1);
+    for(int n = 0; n < ns; n++) outZ.writeNum(list.get(n));
+  }
 }
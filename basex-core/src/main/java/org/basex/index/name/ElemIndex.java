@@ -0,0 +1,294 @@
+package org.basex.index.name;
+
+import static org.basex.data.DataText.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.DataOutput;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * <p>This index contains the sorted pre values of all elements, grouped by their name ids.
+ * It allows descendant steps to be evaluated by binary searches for the range of a context node
+ * ({@code pre < p <= pre + size}) instead of scanning all descendants.</p>
+ *
+ * <p>The index is created when a database is created or optimized, and it is written to disk
+ * when the database is flushed. It is incrementally updated: similar to the document index, the
+ * pre values of all subsequent nodes need to be adjusted if nodes are inserted or deleted.
+ * Queries never create the index: if it does not exist, descendant steps are evaluated
+ * without it.</p>
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class ElemIndex {
+  /** Data reference. */
+  private final Data data;
+  /** Pre values, indexed by name ids (may be {@code null}).
+   * This variable should always be requested via {@link #lists()}. */
+  private IntList[] lists;
+  /** Indicates if the index file has been read. */
+  private boolean read;
+  /** Name ids of local names (may be {@code null}). */
+  private TokenObjMap<int[]> locals;
+  /** Number of element names when local names were cached. */
+  private int names;
+  /** Dirty flag. */
+  private boolean dirty;
+
+  /**
+   * Constructor.
+   * @param data data reference
+   */
+  public ElemIndex(final Data data) {
+    this.data = data;
+  }
+
+  /**
+   * Returns the pre values of all elements with the specified local name
+   * in the specified range.
+   * @param local local name
+   * @param first first pre value (inclusive)
+   * @param last last pre value (exclusive)
+   * @return sorted pre values, or {@code null} if the index does not exist
+   */
+  public synchronized int[] pres(final byte[] local, final int first, final int last) {
+    final IntList[] lsts = lists();
+    if(lsts == null) return null;
+    final int[] ids = ids(local);
+    if(ids.length == 1) return range(lsts, ids[0], first, last);
+
+    // local name is used with different prefixes: merge results
+    final IntList pres = new IntList();
+    for(final int id : ids) pres.add(range(lsts, id, first, last));
+    return pres.sort().finish();
+  }
+
+  /**
+   * Adds the elements of inserted nodes and updates subsequent entries.
+   * Must be called after the nodes have been inserted into the table.
+   * @param pre pre value of the first inserted node
+   * @param size number of inserted nodes
+   */
+  public synchronized void insert(final int pre, final int size) {
+    if(!update()) return;
+
+    // shift subsequent entries, group new entries by name ids
+    final IntList[] lsts = lists();
+    final IntObjMap<IntList> added = new IntObjMap<>();
+    for(int p = pre; p < pre + size; p++) {
+      final int kind = data.kind(p);
+      if(kind == Data.ELEM) {
+        final int id = data.nameId(p);
+        IntList list = added.get(id);
+        if(list == null) {
+          list = new IntList();
+          added.put(id, list);
+        }
+        list.add(p);
+      }
+    }
+    final IntList[] tmp = added.isEmpty() ? lsts : lists(data.elemNames.size());
+    for(int id = 1; id < tmp.length; id++) {
+      final IntList list = tmp[id];
+      if(list == null) continue;
+      final int i = index(list, pre);
+      list.incFrom(size, i);
+      final IntList pres = added.get(id);
+      if(pres != null) list.insert(i, pres.finish());
+    }
+    dirty = true;
+  }
+
+  /**
+   * Removes the elements of deleted nodes and updates subsequent entries.
+   * Must be called before the nodes are deleted from the table.
+   * @param pre pre value of the first deleted node
+   * @param size number of deleted nodes
+   */
+  public synchronized void delete(final int pre, final int size) {
+    if(!update()) return;
+
+    for(final IntList list : lists()) {
+      if(list == null) continue;
+      final int s = index(list, pre), e = index(list, pre + size);
+      list.remove(s, e);
+      list.incFrom(-size, s);
+    }
+    dirty = true;
+  }
+
+  /**
+   * Updates the name id of a renamed element.
+   * @param pre pre value
+   * @param oldId old name id
+   * @param newId new name id
+   */
+  public synchronized void rename(final int pre, final int oldId, final int newId) {
+    if(oldId == newId || !update()) return;
+
+    final IntList[] lsts = lists(data.elemNames.size());
+    lsts[oldId].remove(lsts[oldId].sortedIndexOf(pre));
+    lsts[newId].insert(index(lsts[newId], pre), pre);
+    dirty = true;
+  }
+
+  /**
+   * Creates the index if it is enabled and if it does not exist yet.
+   * Must only be called by updating operations.
+   */
+  public synchronized void create() {
+    if(!data.meta.elemindex || data.inMemory() || lists() != null) return;
+
+    // scan table
+    final IntList[] lsts = new IntList[data.elemNames.size() + 1];
+    for(int id = 1; id < lsts.length; id++) lsts[id] = new IntList();
+    final int size = data.meta.size;
+    for(int pre = 0; pre < size;) {
+      final int kind = data.kind(pre);
+      if(kind == Data.ELEM) lsts[data.nameId(pre)].add(pre);
+      pre += kind == Data.ELEM ? data.attSize(pre, kind) : 1;
+    }
+    lists = lsts;
+    data.meta.dirty = true;
+    dirty = true;
+  }
+
+  /**
+   * Discards the index.
+   */
+  public synchronized void drop() {
+    lists = null;
+    read = true;
+    dirty = false;
+    final IOFile file = file();
+    if(file != null) file.delete();
+  }
+
+  /**
+   * Writes the index to disk (if required).
+   * @throws IOException I/O exception
+   */
+  public synchronized void write() throws IOException {
+    if(!dirty || data.inMemory()) return;
+
+    try(DataOutput out = new DataOutput(file())) {
+      out.writeNum(lists.length);
+      for(int id = 1; id < lists.length; id++) out.writeDiffs(lists[id]);
+    }
+    dirty = false;
+  }
+
+  /**
+   * Indicates if the index needs to be updated.
+   * @return result of check
+   */
+  private boolean update() {
+    return data.meta.elemindex && !data.inMemory() && lists() != null;
+  }
+
+  /**
+   * Returns the index lists, which will be read from disk if necessary.
+   * @return lists, or {@code null} if the index does not exist
+   */
+  private IntList[] lists() {
+    if(!read) {
+      read = true;
+      final IOFile file = file();
+      if(file != null && file.exists()) {
+        try(DataInput in = new DataInput(file)) {
+          final IntList[] lsts = new IntList[in.readNum()];
+          for(int id = 1; id < lsts.length; id++) lsts[id] = in.readDiffs();
+          lists = lsts;
+        } catch(final IOException ex) {
+          Util.debug(ex);
+        }
+      }
+    }
+    return lists;
+  }
+
+  /**
+   * Returns the existing index lists, resized to the specified number of names.
+   * @param size number of names
+   * @return lists
+   */
+  private IntList[] lists(final int size) {
+    IntList[] lsts = lists();
+    final int ls = lsts.length;
+    if(ls <= size) {
+      lsts = Arrays.copyOf(lsts, size + 1);
+      for(int id = ls; id <= size; id++) lsts[id] = new IntList();
+      lists = lsts;
+    }
+    return lsts;
+  }
+
+  /**
+   * Returns the ids of all element names with the specified local name.
+   * @param local local name
+   * @return name ids
+   */
+  private int[] ids(final byte[] local) {
+    final Names nms = data.elemNames;
+    final int ns = nms.size();
+    if(locals == null || names != ns) {
+      locals = new TokenObjMap<>();
+      names = ns;
+    }
+    int[] ids = locals.get(local);
+    if(ids == null) {
+      final IntList list = new IntList(1);
+      for(int id = 1; id <= ns; id++) {
+        if(eq(local(nms.key(id)), local)) list.add(id);
+      }
+      ids = list.finish();
+      locals.put(local, ids);
+    }
+    return ids;
+  }
+
+  /**
+   * Returns the pre values of the specified name id in the specified range.
+   * @param lsts index lists
+   * @param id name id
+   * @param first first pre value (inclusive)
+   * @param last last pre value (exclusive)
+   * @return pre values
+   */
+  private static int[] range(final IntList[] lsts, final int id, final int first,
+      final int last) {
+    if(id >= lsts.length) return new int[0];
+    final IntList list = lsts[id];
+    final int s = index(list, first), e = index(list, last);
+    final int[] pres = new int[e - s];
+    for(int i = s; i < e; i++) pres[i - s] = list.get(i);
+    return pres;
+  }
+
+  /**
+   * Returns the index of the first entry that is equal to or greater than the specified value.
+   * @param list sorted list
+   * @param pre pre value
+   * @return index
+   */
+  private static int index(final IntList list, final int pre) {
+    final int i = list.sortedIndexOf(pre);
+    return i < 0 ? -i - 1 : i;
+  }
+
+  /**
+   * Returns the index file.
+   * @return file, or {@code null} if the database is in main memory
+   */
+  private IOFile file() {
+    return data.inMemory() ? null : data.meta.dbFile(DATAELM);
+  }
+}
@@ -0,0 +1,371 @@
+package org.basex.index.path;
+
+import static org.basex.data.DataText.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.data.*;
+import org.basex.index.name.*;
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.DataOutput;
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * <p>This class contains the numeric values of leaf elements and attributes whose paths have been
+ * declared via {@link MetaData#columns}. Paths are specified as comma-separated lists of local
+ * names, separated by slashes ({@code order/total, order/@date}), and they match all locations
+ * of the path index that end with the specified names. The values of a location are stored in
+ * document order, along with their pre values.</p>
+ *
+ * <p>The columns are created when a database is created or optimized, and they are written to
+ * disk when the database is flushed. They are only used if the path index is up-to-date and if
+ * the timestamp of the database has not changed since their creation. If the string value of a node cannot be converted to a double, or if an
+ * element has other children than a single text node, no values will be stored for its
+ * location.</p>
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class Columns {
+  /** Data reference. */
+  private final Data data;
+  /** Columns, indexed by location keys (may be {@code null}).
+   * This variable should always be requested via {@link #columns()}. */
+  private TokenObjMap<Column> columns;
+  /** Timestamp of the database when the columns were created. */
+  private long time;
+  /** Indicates if the columns have been requested for the current timestamp. */
+  private boolean read;
+  /** Dirty flag. */
+  private boolean dirty;
+
+  /**
+   * Constructor.
+   * @param data data reference
+   */
+  public Columns(final Data data) {
+    this.data = data;
+  }
+
+  /**
+   * Returns the numeric values of the specified locations in document order.
+   * The returned array must not be modified.
+   * @param nodes path nodes
+   * @return values, or {@code null} if no column exists for one of the locations
+   */
+  public synchronized double[] values(final ArrayList<PathNode> nodes) {
+    final MetaData meta = data.meta;
+    if(meta.columns.isEmpty() || !meta.uptodate || nodes.isEmpty()) return null;
+
+    final TokenObjMap<Column> cols = columns();
+    if(cols == null) return null;
+    Column column = null;
+    for(final PathNode node : nodes) {
+      final Column col = cols.get(key(node));
+      if(col == null || col.values == null) return null;
+      column = column == null ? col : column.merge(col);
+    }
+    return column.values;
+  }
+
+  /**
+   * Creates the columns if they have been declared and if no valid columns exist.
+   * Must only be called by updating operations.
+   */
+  public synchronized void create() {
+    final MetaData meta = data.meta;
+    if(meta.columns.isEmpty() || !meta.uptodate || columns() != null) return;
+
+    columns = scan();
+    meta.dirty = true;
+    dirty = true;
+  }
+
+  /**
+   * Discards the columns.
+   */
+  public synchronized void drop() {
+    columns = null;
+    read = false;
+    dirty = false;
+    final IOFile file = file();
+    if(file != null) file.delete();
+  }
+
+  /**
+   * Writes the columns to disk (if required).
+   * @throws IOException I/O exception
+   */
+  public synchronized void write() throws IOException {
+    if(!dirty || data.inMemory()) return;
+
+    try(DataOutput out = new DataOutput(file())) {
+      out.writeLongs(new long[] { time });
+      out.writeToken(token(data.meta.columns));
+      out.writeNum(columns.size());
+      for(final byte[] key : columns) {
+        final Column col = columns.get(key);
+        out.writeToken(key);
+        out.writeNums(col.pres);
+        out.writeBool(col.values != null);
+        if(col.values != null) {
+          final int vl = col.values.length;
+          final long[] bits = new long[vl];
+          for(int v = 0; v < vl; v++) bits[v] = Double.doubleToRawLongBits(col.values[v]);
+          out.writeLongs(bits);
+        }
+      }
+    }
+    dirty = false;
+  }
+
+  /**
+   * Returns the columns, which will be read from disk if necessary.
+   * @return columns, or {@code null} if no valid columns exist
+   */
+  private TokenObjMap<Column> columns() {
+    final long tm = data.meta.time;
+    if(read && time == tm) return columns;
+
+    read = true;
+    time = tm;
+    columns = null;
+    final IOFile file = file();
+    if(file != null && file.exists()) {
+      try(DataInput in = new DataInput(file)) {
+        if(in.readLongs(in.readNum())[0] == tm && data.meta.columns.equals(string(in.readToken()))) {
+          final TokenObjMap<Column> cols = new TokenObjMap<>();
+          for(int c = in.readNum(); c > 0; c--) {
+            final byte[] key = in.readToken();
+            final int[] pres = in.readNums();
+            double[] values = null;
+            if(in.readBool()) {
+              final long[] bits = in.readLongs(in.readNum());
+              final int bl = bits.length;
+              values = new double[bl];
+              for(int b = 0; b < bl; b++) values[b] = Double.longBitsToDouble(bits[b]);
+            }
+            cols.put(key, new Column(pres, values));
+          }
+          columns = cols;
+        }
+      } catch(final IOException ex) {
+        Util.debug(ex);
+      }
+    }
+    return columns;
+  }
+
+  /**
+   * Creates the columns by scanning the table.
+   * @return columns
+   */
+  private TokenObjMap<Column> scan() {
+    // find locations that match the declared paths
+    final ArrayList<byte[][]> paths = paths();
+    final Map<PathNode, Builder> builders = new IdentityHashMap<>();
+    final ArrayList<PathNode> nodes = data.paths.root();
+    while(!nodes.isEmpty()) {
+      final PathNode node = nodes.remove(nodes.size() - 1);
+      for(final byte[][] path : paths) {
+        if(matches(node, path)) builders.put(node, new Builder());
+      }
+      Collections.addAll(nodes, node.children);
+    }
+
+    if(!builders.isEmpty()) {
+      // scan table, assign path nodes to all elements and attributes
+      final IntList pars = new IntList();
+      final ArrayList<PathNode> stack = new ArrayList<>();
+      final PathNode root = data.paths.root().get(0);
+      final int size = data.meta.size;
+      for(int pre = 0; pre < size; pre++) {
+        final int kind = data.kind(pre);
+        if(kind == Data.DOC) {
+          pars.reset();
+          stack.clear();
+          pars.add(pre);
+          stack.add(root);
+        } else if(kind == Data.ELEM || kind == Data.ATTR) {
+          final int par = data.parent(pre, kind);
+          while(pars.peek() > par) {
+            pars.pop();
+            stack.remove(stack.size() - 1);
+          }
+          final PathNode node = child(stack.get(stack.size() - 1), kind, data.nameId(pre));
+          if(kind == Data.ELEM) {
+            pars.add(pre);
+            stack.add(node);
+          }
+          final Builder builder = builders.get(node);
+          if(builder != null) builder.add(pre, kind);
+        }
+      }
+    }
+
+    final TokenObjMap<Column> cols = new TokenObjMap<>();
+    for(final Map.Entry<PathNode, Builder> entry : builders.entrySet()) {
+      final Builder builder = entry.getValue();
+      cols.put(key(entry.getKey()), new Column(builder.pres.finish(),
+          builder.values != null ? builder.values.finish() : null));
+    }
+    return cols;
+  }
+
+  /**
+   * Returns the declared paths.
+   * @return paths, each consisting of local names (attribute names are prefixed with {@code @})
+   */
+  private ArrayList<byte[][]> paths() {
+    final ArrayList<byte[][]> paths = new ArrayList<>();
+    for(final byte[] path : split(token(data.meta.columns), ',')) {
+      final TokenList names = new TokenList();
+      for(final byte[] name : split(trim(path), '/')) {
+        if(name.length != 0) names.add(name);
+      }
+      if(!names.isEmpty()) paths.add(names.finish());
+    }
+    return paths;
+  }
+
+  /**
+   * Checks if a location ends with the specified path.
+   * @param node path node
+   * @param path local names
+   * @return result of check
+   */
+  private boolean matches(final PathNode node, final byte[][] path) {
+    PathNode pn = node;
+    for(int p = path.length - 1; p >= 0; p--) {
+      final byte[] name = path[p];
+      final boolean attr = startsWith(name, '@') && p == path.length - 1;
+      if(pn == null || pn.kind != (attr ? Data.ATTR : Data.ELEM)) return false;
+      final Names names = attr ? data.attrNames : data.elemNames;
+      if(!eq(local(names.key(pn.name)), attr ? substring(name, 1) : name)) return false;
+      pn = pn.parent;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the child location with the specified kind and name.
+   * @param node parent node
+   * @param kind node kind
+   * @param name name id
+   * @return child location, or {@code null} if none was found
+   */
+  private static PathNode child(final PathNode node, final int kind, final int name) {
+    if(node != null) {
+      for(final PathNode child : node.children) {
+        if(child.kind == kind && child.name == name) return child;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns a key for the specified location.
+   * @param node path node
+   * @return key
+   */
+  private static byte[] key(final PathNode node) {
+    final TokenBuilder tb = new TokenBuilder();
+    for(PathNode pn = node; pn.parent != null; pn = pn.parent) {
+      tb.add(pn.kind).add(Token.token(pn.name)).add('/');
+    }
+    return tb.finish();
+  }
+
+  /**
+   * Returns the index file.
+   * @return file, or {@code null} if the database is in main memory
+   */
+  private IOFile file() {
+    return data.inMemory() ? null : data.meta.dbFile(DATACOL);
+  }
+
+  /** Column builder. */
+  private final class Builder {
+    /** Pre values. */
+    private final IntList pres = new IntList();
+    /** Numeric values (set to {@code null} if a value is not numeric). */
+    private DoubleList values = new DoubleList();
+
+    /**
+     * Adds the value of an element or attribute.
+     * @param pre pre value
+     * @param kind node kind
+     */
+    void add(final int pre, final int kind) {
+      pres.add(pre);
+      if(values == null) return;
+
+      byte[] value = null;
+      if(kind == Data.ATTR) {
+        value = data.text(pre, false);
+      } else {
+        final int as = data.attSize(pre, kind);
+        if(data.size(pre, kind) == as + 1 && data.kind(pre + as) == Data.TEXT) {
+          value = data.text(pre + as, true);
+        }
+      }
+      try {
+        if(value != null) {
+          values.add(Dbl.parse(value, null));
+          return;
+        }
+      } catch(final QueryException ex) {
+        Util.debug(ex);
+      }
+      values = null;
+    }
+  }
+
+  /** Column. */
+  private static final class Column {
+    /** Pre values. */
+    private final int[] pres;
+    /** Numeric values (may be {@code null}). */
+    private final double[] values;
+
+    /**
+     * Constructor.
+     * @param pres pre values
+     * @param values numeric values (may be {@code null})
+     */
+    Column(final int[] pres, final double[] values) {
+      this.pres = pres;
+      this.values = values;
+    }
+
+    /**
+     * Merges the entries of this and the specified column in document order.
+     * @param column column
+     * @return new column
+     */
+    Column merge(final Column column) {
+      final int[] pres1 = pres, pres2 = column.pres;
+      final double[] values1 = values, values2 = column.values;
+      final int s1 = pres1.length, s2 = pres2.length, s = s1 + s2;
+      final int[] prs = new int[s];
+      final double[] vals = new double[s];
+      for(int i = 0, i1 = 0, i2 = 0; i < s; i++) {
+        if(i2 == s2 || i1 < s1 && pres1[i1] < pres2[i2]) {
+          prs[i] = pres1[i1];
+          vals[i] = values1[i1++];
+        } else {
+          prs[i] = pres2[i2];
+          vals[i] = values2[i2++];
+        }
+      }
+      return new Column(prs, vals);
+    }
+  }
+}
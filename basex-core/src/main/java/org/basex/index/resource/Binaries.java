@@ -2,6 +2,7 @@ package org.basex.index.resource;
 
 import static org.basex.util.Token.*;
 
+import java.io.*;
 import java.util.*;
 
 import org.basex.data.*;
@@ -13,12 +14,22 @@ import org.basex.util.list.*;
 /**
  * <p>This index organizes binary files in a database.</p>
  *
+ * <p>Binaries are either stored as single files in the {@link IO#RAW} directory, or in the
+ * segment files of the {@link PackedBinaries} store (see {@link MetaData#packbinaries}). A resource
+ * is only stored in one of the two locations: if it is written, the other one is cleaned up.
+ * Existing files are moved to the store, or extracted from it, by {@link #optimize()}.</p>
+ *
  * @author BaseX Team 2005-21, BSD License
  * @author Christian Gruen
  */
 final class Binaries {
+  /** Percentage of unused bytes from which the segment files will be compacted after updates. */
+  private static final int GARBAGE = 50;
+
   /** Data reference. */
   private final Data data;
+  /** Packed binaries ({@code null} for main-memory databases). */
+  private PackedBinaries packed;
 
   /**
    * Constructor.
@@ -28,6 +39,14 @@ final class Binaries {
     this.data = data;
   }
 
+  /**
+   * Opens the store of packed binaries.
+   * @throws IOException I/O exception
+   */
+  synchronized void open() throws IOException {
+    packed = new PackedBinaries(data.meta);
+  }
+
   /**
    * Returns the database paths to all binary files that match the
    * specified path. All paths are relative to the filesystem.
@@ -45,6 +64,7 @@ final class Binaries {
       final String lc = Prop.CASE ? f : f.toLowerCase(Locale.ENGLISH);
       if(exct.isEmpty() || lc.equals(exct) || lc.startsWith(pref)) tl.add(f);
     }
+    for(final String f : packed.paths(np)) tl.add(f);
     return tl.sort(Prop.CASE);
   }
 
@@ -63,6 +83,7 @@ final class Binaries {
     for(final IOFile f : file.children()) {
       if(!dir ^ f.isDir()) tbm.put(token(f.name()), true);
     }
+    packed.children(string(path), dir, tbm);
   }
 
   /**
@@ -73,6 +94,160 @@ final class Binaries {
   synchronized boolean isDir(final String path) {
     if(data.inMemory()) return false;
     final IOFile bin = data.meta.binary(path);
-    return bin != null && bin.isDir();
+    return bin != null && (bin.isDir() || packed.isDir(path));
+  }
+
+  /**
+   * Checks if the specified path can be assigned to a binary resource. The path must not point
+   * to a parent directory, and none of its ancestors must be a loose or packed resource.
+   * @param path path
+   * @return result of check
+   */
+  synchronized boolean isValid(final String path) {
+    if(data.inMemory() || data.meta.binary(path) == null) return false;
+    for(int i = path.indexOf('/'); i != -1; i = path.indexOf('/', i + 1)) {
+      if(i > 0 && get(path.substring(0, i)) != null) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the binary resource with the specified path.
+   * @param path path
+   * @return resource, or {@code null} if it does not exist
+   */
+  synchronized IO get(final String path) {
+    if(data.inMemory()) return null;
+    final IOFile file = data.meta.binary(path);
+    if(file == null) return null;
+    return file.exists() ? file.isDir() ? null : file : packed.get(path);
+  }
+
+  /**
+   * Stores a binary resource.
+   * @param path path
+   * @param input input stream (will be closed)
+   * @throws IOException I/O exception
+   */
+  synchronized void write(final String path, final InputStream input) throws IOException {
+    final IOFile file = data.meta.binary(path);
+    if(data.meta.packbinaries) {
+      try(InputStream in = input) {
+        packed.write(path, in, System.currentTimeMillis());
+      }
+      file.delete();
+    } else {
+      packed.delete(path);
+      if(file.isDir()) file.delete();
+      file.parent().md();
+      file.write(input);
+    }
+  }
+
+  /**
+   * Deletes the binary resource with the specified path, or the resources in the specified
+   * directory.
+   * @param path path
+   */
+  synchronized void delete(final String path) {
+    if(data.inMemory()) return;
+    final IOFile file = data.meta.binary(path);
+    if(file == null) return;
+    file.delete();
+    packed.delete(path);
+  }
+
+  /**
+   * Renames a binary resource or a directory with resources.
+   * An existing resource with the target path will be replaced.
+   * @param source source path
+   * @param target target path
+   * @return success flag
+   */
+  synchronized boolean rename(final String source, final String target) {
+    final IOFile src = data.meta.binary(source), trg = data.meta.binary(target);
+    if(src == null || trg == null) return false;
+
+    boolean ok = true;
+    if(src.exists()) {
+      packed.delete(target);
+      if(trg.exists() && !src.isDir()) trg.delete();
+      ok = trg.parent().md() && src.rename(trg);
+    }
+    final String dir = Strings.endsWith(source, '/') ? source : source + '/';
+    final String to = Strings.endsWith(target, '/') ? target : target + '/';
+    for(final String path : packed.paths(source)) {
+      final String name = path.length() > dir.length() ? to + path.substring(dir.length()) : target;
+      final IOFile file = data.meta.binary(name);
+      if(file != null) file.delete();
+      packed.rename(path, name);
+    }
+    return ok;
+  }
+
+  /**
+   * Writes the index of the packed binaries if it has been changed.
+   * @throws IOException I/O exception
+   */
+  synchronized void flush() throws IOException {
+    if(packed != null) packed.write();
+  }
+
+  /**
+   * Reclaims the space of deleted binaries if the segment files contain too many unused bytes.
+   * Must only be called if no other process is reading binaries.
+   * @throws IOException I/O exception
+   */
+  synchronized void compact() throws IOException {
+    if(packed != null && packed.garbage() >= GARBAGE) packed.compact();
+  }
+
+  /**
+   * Moves loose binaries to the store of packed binaries if {@link MetaData#packbinaries} is
+   * enabled.
+   * @throws IOException I/O exception
+   */
+  synchronized void pack() throws IOException {
+    if(data.inMemory() || !data.meta.packbinaries) return;
+
+    final IOFile dir = data.meta.binaryDir();
+    if(!dir.exists()) return;
+    for(final String path : dir.descendants()) {
+      final IOFile file = new IOFile(dir, path);
+      try(InputStream in = file.inputStream()) {
+        packed.write(path, in, file.timeStamp());
+      }
+      file.delete();
+    }
+    dir.delete();
+  }
+
+  /**
+   * Moves all binaries to the location that is specified by {@link MetaData#packbinaries} and
+   * reclaims the space of deleted binaries.
+   * Must only be called if no other process is reading binaries.
+   * @throws IOException I/O exception
+   */
+  synchronized void optimize() throws IOException {
+    if(data.inMemory()) return;
+
+    final IOFile dir = data.meta.binaryDir();
+    if(data.meta.packbinaries) {
+      pack();
+      if(packed.garbage() > 0) packed.compact();
+    } else {
+      for(final String path : packed.paths("")) {
+        final IOFile file = new IOFile(dir, path);
+        final IO io = packed.get(path);
+        file.parent().md();
+        try(FileOutputStream out = file.outputStream()) {
+          io.writeTo(out);
+        }
+        file.file().setLastModified(io.timeStamp());
+        packed.delete(path);
+      }
+      packed.compact();
+    }
+    packed.write();
   }
 }
@@ -0,0 +1,444 @@
+package org.basex.index.resource;
+
+import static org.basex.data.DataText.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.DataOutput;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * <p>This class stores binary resources in append-only segment files.</p>
+ *
+ * <p>Contents are identified by their SHA-256 hash, and identical contents are only stored once.
+ * The index, which maps resource paths to sections of the segment files, is written to disk when
+ * the database is flushed. The space of deleted or replaced contents is reclaimed by
+ * {@link #compact()}.</p>
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+final class PackedBinaries {
+  /** Maximum size of a segment file. */
+  private static final long SEGMENT = 1L << 30;
+
+  /** Entries, indexed by their (normalized) paths. */
+  private final TreeMap<String, Entry> entries = new TreeMap<>();
+  /** Contents, indexed by their hashes. */
+  private final HashMap<String, Blob> blobs = new HashMap<>();
+  /** Meta data. */
+  private final MetaData meta;
+  /** Id of the first segment. */
+  private int first;
+  /** Id of the next segment to be created. */
+  private int next;
+  /** Indicates if the index has been changed since it was read or written. */
+  private boolean dirty;
+
+  /**
+   * Constructor, reading the index from disk.
+   * @param meta meta data
+   * @throws IOException I/O exception
+   */
+  PackedBinaries(final MetaData meta) throws IOException {
+    this.meta = meta;
+    final IOFile file = meta.dbFile(DATAPCK);
+    if(!file.exists()) return;
+
+    try(DataInput in = new DataInput(file)) {
+      in.readNum();
+      first = in.readNum();
+      next = in.readNum();
+      final int[] segments = in.readNums();
+      final int bs = segments.length;
+      final long[] offsets = in.readLongs(in.readNum()), lengths = in.readLongs(in.readNum());
+      final byte[][] hashes = in.readTokens();
+      final Blob[] bl = new Blob[bs];
+      for(int b = 0; b < bs; b++) {
+        bl[b] = new Blob(segments[b], offsets[b], lengths[b], string(hashes[b]));
+        blobs.put(bl[b].hash, bl[b]);
+      }
+      final byte[][] paths = in.readTokens();
+      final int es = paths.length;
+      final long[] times = in.readLongs(in.readNum());
+      final int[] ids = in.readNums();
+      for(int e = 0; e < es; e++) add(string(paths[e]), times[e], bl[ids[e]]);
+    }
+  }
+
+  /**
+   * Returns the number of packed resources without reading the complete index.
+   * @param meta meta data
+   * @return number of resources
+   */
+  static int size(final MetaData meta) {
+    final IOFile file = meta.dbFile(DATAPCK);
+    if(!file.exists()) return 0;
+    try(DataInput in = new DataInput(file)) {
+      return in.readNum();
+    } catch(final IOException ex) {
+      Util.debug(ex);
+      return 0;
+    }
+  }
+
+  /**
+   * Writes the index to disk if it has been changed.
+   * The index is written to a temporary file, which then replaces the existing file.
+   * @throws IOException I/O exception
+   */
+  void write() throws IOException {
+    if(!dirty) return;
+
+    final IOFile file = meta.dbFile(DATAPCK), tmp = meta.dbFile(DATAPCK + DATATMP);
+    try(DataOutput out = new DataOutput(tmp)) {
+      out.writeNum(entries.size());
+      out.writeNum(first);
+      out.writeNum(next);
+      final int bs = blobs.size();
+      final int[] segments = new int[bs];
+      final long[] offsets = new long[bs], lengths = new long[bs];
+      final byte[][] hashes = new byte[bs][];
+      final IdentityHashMap<Blob, Integer> ids = new IdentityHashMap<>();
+      int b = 0;
+      for(final Blob blob : blobs.values()) {
+        segments[b] = blob.segment;
+        offsets[b] = blob.offset;
+        lengths[b] = blob.length;
+        hashes[b] = token(blob.hash);
+        ids.put(blob, b++);
+      }
+      out.writeNums(segments);
+      out.writeLongs(offsets);
+      out.writeLongs(lengths);
+      out.writeTokens(hashes);
+
+      final int es = entries.size();
+      final byte[][] paths = new byte[es][];
+      final long[] times = new long[es];
+      final int[] refs = new int[es];
+      int e = 0;
+      for(final Entry entry : entries.values()) {
+        paths[e] = token(entry.path);
+        times[e] = entry.time;
+        refs[e++] = ids.get(entry.blob);
+      }
+      out.writeTokens(paths);
+      out.writeLongs(times);
+      out.writeNums(refs);
+    }
+    Files.move(tmp.file().toPath(), file.file().toPath(), StandardCopyOption.REPLACE_EXISTING);
+    dirty = false;
+  }
+
+  /**
+   * Returns the resource with the specified path.
+   * @param path path
+   * @return resource, or {@code null} if it does not exist
+   */
+  IO get(final String path) {
+    final Entry entry = entries.get(key(path));
+    if(entry == null) return null;
+    final Blob blob = entry.blob;
+    return new IOSlice(segment(blob.segment), blob.offset, blob.length, entry.time, entry.path);
+  }
+
+  /**
+   * Returns the paths of all resources that match the specified path or are located in the
+   * specified directory.
+   * @param path path
+   * @return paths
+   */
+  StringList paths(final String path) {
+    final StringList list = new StringList();
+    final String exct = key(path), pref = exct.isEmpty() || Strings.endsWith(exct, '/') ?
+      exct : exct + '/';
+    for(final Map.Entry<String, Entry> entry : entries.tailMap(exct).entrySet()) {
+      final String key = entry.getKey();
+      if(!key.startsWith(exct)) break;
+      if(key.equals(exct) || key.startsWith(pref)) list.add(entry.getValue().path);
+    }
+    return list;
+  }
+
+  /**
+   * Adds the names of the children of the specified directory to the given map.
+   * @param path path to the directory
+   * @param dir returns directories instead of files
+   * @param tbm map; values will be {@code true} to indicate raw files
+   */
+  void children(final String path, final boolean dir, final TokenBoolMap tbm) {
+    final String pref = path.isEmpty() || Strings.endsWith(path, '/') ? path : path + '/';
+    final int pl = pref.length();
+    for(final String p : paths(pref)) {
+      final String name = p.substring(pl);
+      final int i = name.indexOf('/');
+      if(dir ^ i == -1) tbm.put(token(dir ? name.substring(0, i) : name), true);
+    }
+  }
+
+  /**
+   * Checks if the specified path points to a directory.
+   * @param path path
+   * @return result of check
+   */
+  boolean isDir(final String path) {
+    final String key = key(path);
+    if(key.isEmpty()) return !entries.isEmpty();
+    final String pref = Strings.endsWith(key, '/') ? key : key + '/';
+    final String ceiling = entries.ceilingKey(pref);
+    return ceiling != null && ceiling.startsWith(pref);
+  }
+
+  /**
+   * Stores a resource. If its contents are already stored, they will be referenced.
+   * @param path path
+   * @param input input stream
+   * @param time timestamp
+   * @throws IOException I/O exception
+   */
+  void write(final String path, final InputStream input, final long time) throws IOException {
+    final MessageDigest md;
+    try {
+      md = MessageDigest.getInstance("SHA-256");
+    } catch(final NoSuchAlgorithmException ex) {
+      throw Util.notExpected(ex);
+    }
+
+    final int segment = next > first && segment(next - 1).length() < SEGMENT ? next - 1 : next++;
+    dirty = true;
+    try(FileOutputStream out = new FileOutputStream(segment(segment).file(), true)) {
+      final FileChannel channel = out.getChannel();
+      final long offset = channel.size();
+      try {
+        final byte[] buffer = new byte[IO.BLOCKSIZE];
+        long length = 0;
+        for(int r; (r = input.read(buffer)) != -1;) {
+          md.update(buffer, 0, r);
+          out.write(buffer, 0, r);
+          length += r;
+        }
+        final String hash = string(hex(md.digest(), false));
+        Blob blob = blobs.get(hash);
+        if(blob != null && blob.length == length) {
+          // contents exist: discard written bytes
+          channel.truncate(offset);
+        } else {
+          blob = new Blob(segment, offset, length, hash);
+          blobs.put(hash, blob);
+        }
+        put(path, time, blob);
+      } catch(final IOException ex) {
+        channel.truncate(offset);
+        throw ex;
+      }
+    }
+  }
+
+  /**
+   * Deletes the resource with the specified path, or the resources in the specified directory.
+   * @param path path
+   * @return number of deleted resources
+   */
+  int delete(final String path) {
+    int c = 0;
+    for(final String p : paths(path)) {
+      final Blob blob = entries.remove(key(p)).blob;
+      if(--blob.refs == 0) blobs.remove(blob.hash);
+      dirty = true;
+      c++;
+    }
+    return c;
+  }
+
+  /**
+   * Renames a resource. An existing resource with the target path will be replaced.
+   * @param source source path
+   * @param target target path
+   * @return success flag
+   */
+  boolean rename(final String source, final String target) {
+    final Entry entry = entries.remove(key(source));
+    if(entry == null) return false;
+    // the reference of the removed entry is released after the target has been assigned
+    put(target, entry.time, entry.blob);
+    entry.blob.refs--;
+    return true;
+  }
+
+  /**
+   * Returns the number of resources.
+   * @return number of resources
+   */
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the percentage of unused bytes in the segment files.
+   * @return percentage
+   */
+  int garbage() {
+    long total = 0, used = 0;
+    for(int s = first; s < next; s++) total += segment(s).length();
+    for(final Blob blob : blobs.values()) used += blob.length;
+    return total == 0 ? 0 : (int) ((total - used) * 100 / total);
+  }
+
+  /**
+   * Rewrites all referenced contents to new segment files and deletes the old files.
+   * Must only be called if no other process is reading binaries.
+   * @throws IOException I/O exception
+   */
+  void compact() throws IOException {
+    final int start = next;
+    FileOutputStream out = null;
+    try {
+      int segment = start - 1;
+      long size = 0;
+      for(final Blob blob : blobs.values()) {
+        if(out == null || size > 0 && size + blob.length > SEGMENT) {
+          if(out != null) out.close();
+          out = new FileOutputStream(segment(++segment).file());
+          size = 0;
+        }
+        final long offset = size;
+        try(FileInputStream in = segment(blob.segment).inputStream()) {
+          final FileChannel src = in.getChannel(), trg = out.getChannel();
+          IOFile.transfer(src, blob.offset, blob.length, trg);
+        }
+        blob.segment = segment;
+        blob.offset = offset;
+        size += blob.length;
+      }
+      next = segment + 1;
+    } finally {
+      if(out != null) out.close();
+    }
+
+    // write new index, delete old segments
+    final int old = first;
+    first = start;
+    dirty = true;
+    write();
+    for(int s = old; s < start; s++) segment(s).delete();
+  }
+
+  /**
+   * Returns the files that belong to the packed store.
+   * @param meta meta data
+   * @return files
+   */
+  static ArrayList<IOFile> files(final MetaData meta) {
+    final ArrayList<IOFile> files = new ArrayList<>();
+    if(meta.dir != null) {
+      final String regex = '(' + DATAPCK + '|' + DATASEG + "\\d+)\\" + IO.BASEXSUFFIX;
+      Collections.addAll(files, meta.dir.children(regex));
+    }
+    return files;
+  }
+
+  /**
+   * Adds an entry.
+   * @param path path
+   * @param time timestamp
+   * @param blob contents
+   */
+  private void add(final String path, final long time, final Blob blob) {
+    entries.put(key(path), new Entry(path, time, blob));
+    blob.refs++;
+  }
+
+  /**
+   * Assigns contents to the specified path and replaces existing entries.
+   * @param path path
+   * @param time timestamp
+   * @param blob contents
+   */
+  private void put(final String path, final long time, final Blob blob) {
+    // the contents may also be referenced by a replaced entry: keep them until it is deleted
+    blob.refs++;
+    delete(path);
+    add(path, time, blob);
+    blob.refs--;
+    dirty = true;
+  }
+
+  /**
+   * Returns the specified segment file.
+   * @param segment id of the segment
+   * @return file
+   */
+  private IOFile segment(final int segment) {
+    return meta.dbFile(DATASEG + segment);
+  }
+
+  /**
+   * Returns the key for the specified path.
+   * @param path path
+   * @return key
+   */
+  private static String key(final String path) {
+    return Prop.CASE ? path : path.toLowerCase(Locale.ENGLISH);
+  }
+
+  /** Stored contents. */
+  private static final class Blob {
+    /** Hash (hex string). */
+    private final String hash;
+    /** Length. */
+    private final long length;
+    /** Id of the segment. */
+    private int segment;
+    /** Offset in the segment. */
+    private long offset;
+    /** Number of entries that reference the contents. */
+    private int refs;
+
+    /**
+     * Constructor.
+     * @param segment id of the segment
+     * @param offset offset
+     * @param length length
+     * @param hash hash
+     */
+    private Blob(final int segment, final long offset, final long length, final String hash) {
+      this.segment = segment;
+      this.offset = offset;
+      this.length = length;
+      this.hash = hash;
+    }
+  }
+
+  /** Resource entry. */
+  private static final class Entry {
+    /** Path. */
+    private final String path;
+    /** Timestamp. */
+    private final long time;
+    /** Contents. */
+    private final Blob blob;
+
+    /**
+     * Constructor.
+     * @param path path
+     * @param time timestamp
+     * @param blob contents
+     */
+    private Entry(final String path, final long time, final Blob blob) {
+      this.path = path;
+      this.time = time;
+      this.blob = blob;
+    }
+  }
+}
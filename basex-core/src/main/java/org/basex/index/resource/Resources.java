@@ -1,11 +1,13 @@
 package org.basex.index.resource;
 
 import java.io.*;
+import java.util.*;
 
 import org.basex.core.*;
 import org.basex.data.*;
 import org.basex.index.*;
 import org.basex.index.query.*;
+import org.basex.io.*;
 import org.basex.io.in.DataInput;
 import org.basex.io.out.DataOutput;
 import org.basex.query.util.index.*;
@@ -43,6 +45,14 @@ public final class Resources implements Index {
     docs.read(in);
   }
 
+  /**
+   * Opens the binary resources of a disk-based database.
+   * @throws IOException I/O exception
+   */
+  public void open() throws IOException {
+    bins.open();
+  }
+
   /**
    * Writes information on database resources to disk.
    * @param out output stream
@@ -124,6 +134,115 @@ public final class Resources implements Index {
     return bins.bins(path);
   }
 
+  /**
+   * Returns the binary resource with the specified path.
+   * @param path path
+   * @return resource, or {@code null} if it does not exist or if this is a main-memory database
+   */
+  public IO binary(final String path) {
+    return bins.get(path);
+  }
+
+  /**
+   * Checks if the specified path can be assigned to a binary resource.
+   * @param path path
+   * @return result of check ({@code false} if this is a main-memory database)
+   */
+  public boolean isBinaryPath(final String path) {
+    return bins.isValid(path);
+  }
+
+  /**
+   * Determines whether the given path is the path to a directory with binary resources.
+   * @param path given path
+   * @return result of check
+   */
+  public boolean isBinaryDir(final String path) {
+    return bins.isDir(path);
+  }
+
+  /**
+   * Stores a binary resource. An existing resource or directory will be replaced.
+   * @param path path
+   * @param input input stream (will be closed)
+   * @throws IOException I/O exception
+   */
+  public void store(final String path, final InputStream input) throws IOException {
+    bins.write(path, input);
+  }
+
+  /**
+   * Deletes the binary resource with the specified path, or the resources in the specified
+   * directory.
+   * @param path path
+   */
+  public void deleteBinaries(final String path) {
+    bins.delete(path);
+  }
+
+  /**
+   * Renames a binary resource or a directory with binary resources.
+   * @param source source path
+   * @param target target path
+   * @return success flag
+   */
+  public boolean renameBinaries(final String source, final String target) {
+    return bins.rename(source, target);
+  }
+
+  /**
+   * Returns the number of binary resources of a database.
+   * @param meta meta data
+   * @return number of resources
+   */
+  public static int binaryCount(final MetaData meta) {
+    return meta.dir == null ? 0 :
+      meta.binaryDir().descendants().size() + PackedBinaries.size(meta);
+  }
+
+  /**
+   * Writes the index of the binary resources if it has been changed.
+   * @throws IOException I/O exception
+   */
+  public void flushBinaries() throws IOException {
+    bins.flush();
+  }
+
+  /**
+   * Reclaims the space of deleted binary resources if required.
+   * Must only be called if no other process is reading binaries.
+   * @throws IOException I/O exception
+   */
+  public void compactBinaries() throws IOException {
+    bins.compact();
+  }
+
+  /**
+   * Moves loose binary resources to the packed store if binaries are packed.
+   * @throws IOException I/O exception
+   */
+  public void packBinaries() throws IOException {
+    bins.pack();
+  }
+
+  /**
+   * Moves all binary resources to the location specified by {@link MetaData#packbinaries}.
+   * Must only be called if no other process is reading binaries.
+   * @throws IOException I/O exception
+   */
+  public void optimizeBinaries() throws IOException {
+    bins.optimize();
+  }
+
+  /**
+   * Returns the files of the store of packed binaries.
+   * @param meta meta data
+   * @return files
+   */
+  public static ArrayList<IOFile> packedFiles(final MetaData meta) {
+    return PackedBinaries.files(meta);
+  }
+
   /**
    * Determines whether the given path is the path to a directory.
    * @param path given path
@@ -230,6 +230,18 @@ public abstract class IO {
    */
   public abstract InputStream inputStream() throws IOException;
 
+  /**
+   * Writes the contents to the specified output stream.
+   * @param os output stream
+   * @throws IOException I/O exception
+   */
+  public void writeTo(final OutputStream os) throws IOException {
+    try(InputStream in = inputStream()) {
+      final byte[] buffer = new byte[BLOCKSIZE];
+      for(int r; (r = in.read(buffer)) != -1;) os.write(buffer, 0, r);
+    }
+  }
+
   /**
    * Merges two paths.
    * @param path path to be merged
@@ -1,14 +1,13 @@
 package org.basex.io;
 
 import java.io.*;
+import java.nio.channels.*;
 import java.nio.file.*;
 import java.util.*;
 import java.util.regex.*;
 
 import javax.xml.transform.stream.*;
 
-import org.basex.io.in.*;
-import org.basex.io.out.*;
 import org.basex.util.*;
 import org.basex.util.list.*;
 import org.xml.sax.*;
@@ -275,8 +274,30 @@ public final class IOFile extends IO {
    * @throws IOException I/O exception
    */
   public void write(final InputStream is) throws IOException {
-    try(BufferInput in = BufferInput.get(is); BufferOutput out = new BufferOutput(this)) {
-      for(int i; (i = in.read()) != -1;) out.write(i);
+    try(FileOutputStream out = outputStream()) {
+      final byte[] buffer = new byte[BLOCKSIZE];
+      for(int r; (r = is.read(buffer)) != -1;) out.write(buffer, 0, r);
+    } finally {
+      // keep filter streams (e.g. entries of zip archives) open
+      if(!(is instanceof FilterInputStream)) is.close();
+    }
+  }
+
+  /**
+   * Writes the contents of the file to the specified output stream. If the stream writes to a
+   * file, the bytes will be transferred by the operating system.
+   * @param os output stream
+   * @throws IOException I/O exception
+   */
+  @Override
+  public void writeTo(final OutputStream os) throws IOException {
+    if(os instanceof FileOutputStream) {
+      try(FileInputStream in = inputStream()) {
+        final FileChannel src = in.getChannel(), trg = ((FileOutputStream) os).getChannel();
+        transfer(src, 0, src.size(), trg);
+      }
+    } else {
+      super.writeTo(os);
     }
   }
 
@@ -426,6 +447,24 @@ public final class IOFile extends IO {
     }
   }
 
+  /**
+   * Transfers a section of a file channel to another channel.
+   * @param src source channel
+   * @param offset offset of the section
+   * @param length length of the section
+   * @param trg target channel
+   * @throws IOException I/O exception, or if the section exceeds the end of the source
+   */
+  public static void transfer(final FileChannel src, final long offset, final long length,
+      final FileChannel trg) throws IOException {
+    for(long p = 0; p < length;) {
+      final long t = src.transferTo(offset + p, length - p, trg);
+      if(t == 0) throw new EOFException(Util.info("Unexpected end of file (% bytes missing).",
+          length - p));
+      p += t;
+    }
+  }
+
   /**
    * Checks if the specified string is a valid file name.
    * @param name file name
@@ -0,0 +1,140 @@
+package org.basex.io;
+
+import java.io.*;
+import java.nio.channels.*;
+
+import javax.xml.transform.stream.*;
+
+import org.basex.util.*;
+import org.xml.sax.*;
+
+/**
+ * {@link IO} reference, representing a section of a local file.
+ * The section is addressed by a custom path.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class IOSlice extends IO {
+  /** File. */
+  private final IOFile file;
+  /** Offset of the section. */
+  private final long offset;
+  /** Time stamp. */
+  private final long time;
+
+  /**
+   * Constructor.
+   * @param file file
+   * @param offset offset of the section
+   * @param length length of the section
+   * @param time time stamp
+   * @param path path
+   */
+  public IOSlice(final IOFile file, final long offset, final long length, final long time,
+      final String path) {
+    super(path);
+    this.file = file;
+    this.offset = offset;
+    this.time = time;
+    len = length;
+  }
+
+  @Override
+  public byte[] read() throws IOException {
+    if(len > Array.MAX_SIZE) throw new IOException("File too large: " + this);
+    try(RandomAccessFile raf = new RandomAccessFile(file.file(), "r")) {
+      final byte[] bytes = new byte[(int) len];
+      raf.seek(offset);
+      raf.readFully(bytes);
+      return bytes;
+    }
+  }
+
+  @Override
+  public boolean exists() {
+    return file.exists();
+  }
+
+  @Override
+  public long timeStamp() {
+    return time;
+  }
+
+  @Override
+  public InputSource inputSource() {
+    final InputSource is = new InputSource(inputStream());
+    is.setSystemId(pth);
+    return is;
+  }
+
+  @Override
+  public StreamSource streamSource() {
+    return new StreamSource(inputStream(), pth);
+  }
+
+  @Override
+  public InputStream inputStream() {
+    return new SliceInput();
+  }
+
+  @Override
+  public void writeTo(final OutputStream os) throws IOException {
+    if(os instanceof FileOutputStream) {
+      // transfer bytes to files via the operating system
+      try(FileInputStream in = file.inputStream()) {
+        final FileChannel src = in.getChannel(), trg = ((FileOutputStream) os).getChannel();
+        IOFile.transfer(src, offset, len, trg);
+      }
+    } else {
+      super.writeTo(os);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Util.className(this) + '[' + pth + ']';
+  }
+
+  /** Input stream for the section of the file. The file is opened with the first read. */
+  private final class SliceInput extends InputStream {
+    /** File input (assigned with the first read). */
+    private FileInputStream input;
+    /** Remaining bytes. */
+    private long remaining = len;
+
+    @Override
+    public int read() throws IOException {
+      if(remaining <= 0) return -1;
+      final int b = input().read();
+      if(b != -1) remaining--;
+      return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int l) throws IOException {
+      if(remaining <= 0) return -1;
+      final int r = input().read(b, off, (int) Math.min(l, remaining));
+      if(r > 0) remaining -= r;
+      return r;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if(input != null) input.close();
+    }
+
+    /**
+     * Returns the file input.
+     * @return input
+     * @throws IOException I/O exception
+     */
+    private FileInputStream input() throws IOException {
+      if(input == null) {
+        input = file.inputStream();
+        input.getChannel().position(offset);
+      }
+      return input;
+    }
+  }
+}
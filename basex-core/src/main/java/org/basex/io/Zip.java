@@ -86,12 +86,32 @@ public final class Zip extends Job {
    * @throws IOException I/O exception
    */
   public void zip(final IOFile root, final StringList files) throws IOException {
+    zip(root, files, null, null);
+  }
+
+  /**
+   * Zips the specified files. An additional entry with the specified contents will be written
+   * first, so it can be read without traversing the remaining entries.
+   * @param root root directory
+   * @param files files to add
+   * @param name name of the additional entry, relative to the root directory
+   *   (can be {@code null})
+   * @param contents contents of the additional entry
+   * @throws IOException I/O exception
+   */
+  public void zip(final IOFile root, final StringList files, final String name,
+      final byte[] contents) throws IOException {
     if(!(file instanceof IOFile)) throw new FileNotFoundException(file.path());
 
     curr = 0;
     try(ZipOutputStream out = new ZipOutputStream(new BufferOutput((IOFile) file))) {
       // use simple, fast compression
       out.setLevel(1);
+      if(name != null) {
+        out.putNextEntry(new ZipEntry(root.name() + '/' + name));
+        out.write(contents);
+        out.closeEntry();
+      }
       // loop through all files
       total = files.size();
       final byte[] data = new byte[IO.BLOCKSIZE];
@@ -18,4 +18,7 @@ public final class NullOutput extends PrintOutput {
 
   @Override
   public void write(final int value) { }
+
+  @Override
+  public void write(final byte[] b, final int off, final int len) { }
 }
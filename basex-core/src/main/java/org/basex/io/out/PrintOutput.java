@@ -63,6 +63,13 @@ public class PrintOutput extends OutputStream {
     if(size++ < max) os.write(b);
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    final long left = max - size;
+    if(left > 0) os.write(b, off, (int) Math.min(len, left));
+    size += len;
+  }
+
   /**
    * Prints a single codepoint.
    * @param cp codepoint to be printed
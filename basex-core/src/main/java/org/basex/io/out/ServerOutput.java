@@ -31,6 +31,22 @@ public final class ServerOutput extends OutputStream {
     os.write(b);
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    // write chunks of bytes that need no encoding at once
+    int s = off;
+    final int l = off + len;
+    for(int i = off; i < l; i++) {
+      final int c = b[i];
+      if(c == 0x00 || c == -1) {
+        if(s < i) os.write(b, s, i - s);
+        os.write(0xFF);
+        s = i;
+      }
+    }
+    if(s < l) os.write(b, s, l - s);
+  }
+
   @Override
   public void flush() throws IOException {
     os.flush();
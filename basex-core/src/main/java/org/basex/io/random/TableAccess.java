@@ -171,4 +171,19 @@ public abstract class TableAccess {
    * @param entries array of bytes containing the entries to insert
    */
   public abstract void insert(int pre, byte[] entries);
+
+  /**
+   * Compacts the table by merging adjacent pages whose entries fit into a single page.
+   * @param all compact all pages (otherwise, only the pages with entries that have been
+   *   inserted or deleted since the last compaction will be considered)
+   * @param max maximum number of pages to be released
+   * @return number of released pages
+   */
+  public abstract int compact(boolean all, int max);
+
+  /**
+   * Returns the percentage of unused entries in the used pages of the table.
+   * @return percentage
+   */
+  public abstract int fragmentation();
 }
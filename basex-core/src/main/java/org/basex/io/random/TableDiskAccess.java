@@ -39,6 +39,11 @@ public final class TableDiskAccess extends TableAccess {
   /** Number of used pages. */
   private int used;
 
+  /** Smallest pre value of the entries that have been changed since the last compaction. */
+  private int changedFrom = Integer.MAX_VALUE;
+  /** Largest pre value of the entries that have been changed since the last compaction. */
+  private int changedTo = -1;
+
   /** Pointer to current page. */
   private int page = -1;
   /** Pre value of the first entry in the current page. */
@@ -77,6 +82,7 @@ public final class TableDiskAccess extends TableAccess {
     // initialize data file
     file = new RandomAccessFile(meta.dbFile(DATATBL).file(), "rw");
     if(!lock(write)) throw new BaseXException(Text.DB_PINNED_X, meta.name);
+    meta.fragmentation = fragmentation();
   }
 
   /**
@@ -97,6 +103,36 @@ public final class TableDiskAccess extends TableAccess {
     }
   }
 
+  /**
+   * Returns the percentage of unused table entries in the pages of the specified database.
+   * @param meta meta data
+   * @return percentage
+   */
+  public static int fragmentation(final MetaData meta) {
+    final IOFile index = meta.dbFile(DATATBL + 'i');
+    if(!index.exists()) return 0;
+
+    try(DataInput in = new DataInput(index)) {
+      in.readNum();
+      // number of used pages (0: empty table; MAX: no mapping, all pages are full)
+      final int used = in.readNum();
+      return used == Integer.MAX_VALUE ? 0 : fragmentation(meta.size, used);
+    } catch(final IOException ex) {
+      Util.debug(ex);
+      return 0;
+    }
+  }
+
+  /**
+   * Returns the percentage of unused table entries in the specified number of pages.
+   * @param size number of entries
+   * @param used number of used pages
+   * @return percentage
+   */
+  private static int fragmentation(final int size, final int used) {
+    return used == 0 ? 0 : (int) (100 - 100L * size / ((long) used * IO.ENTRIES));
+  }
+
   @Override
   public synchronized void flush(final boolean all) throws IOException {
     for(final Buffer buffer : buffers.all()) {
@@ -242,6 +278,8 @@ public final class TableDiskAccess extends TableAccess {
 
     // get first page
     dirty();
+    changedFrom = Math.min(changedFrom, pre);
+    changedTo = changedTo >= pre ? Math.max(pre, changedTo - count) : pre;
     cursor(pre);
 
     // some useful variables to make code more readable
@@ -306,6 +344,7 @@ public final class TableDiskAccess extends TableAccess {
       removeMapping();
       pages = 1;
     }
+    meta.fragmentation = fragmentation();
   }
 
   @Override
@@ -316,6 +355,8 @@ public final class TableDiskAccess extends TableAccess {
 
     // number of entries to be inserted
     final int nr = nnew >>> IO.NODEPOWER;
+    changedFrom = Math.min(changedFrom, pre);
+    changedTo = Math.max(changedTo >= pre ? changedTo + nr : changedTo, pre + nr - 1);
 
     int split = 0;
     if(used == 0) {
@@ -344,6 +385,7 @@ public final class TableDiskAccess extends TableAccess {
       // update cached variables (fpre is not changed)
       nextPre += nr;
       meta.size += nr;
+      meta.fragmentation = fragmentation();
       return;
     }
 
@@ -423,6 +465,65 @@ public final class TableDiskAccess extends TableAccess {
     // update cached variables
     firstPre = fPreIndex[page];
     nextPre = page + 1 < used && fPreIndex[page + 1] < meta.size ? fPreIndex[page + 1] : meta.size;
+    meta.fragmentation = fragmentation();
+  }
+
+  @Override
+  public synchronized int compact(final boolean all, final int max) {
+    // no mapping: all pages are full
+    if(fPreIndex == null || !all && changedTo == -1) {
+      changedFrom = Integer.MAX_VALUE;
+      changedTo = -1;
+      return 0;
+    }
+
+    // choose pages with changed entries, and the preceding page
+    int p = 0, last = used - 1;
+    if(!all) {
+      p = Math.max(0, pageOf(changedFrom) - 1);
+      last = Math.min(last, pageOf(Math.min(changedTo, meta.size - 1)) + 1);
+    }
+
+    int released = 0;
+    for(; p < last && released < max;) {
+      final int occ = occSpace(p), next = occSpace(p + 1);
+      if(occ + next > IO.ENTRIES) {
+        ++p;
+        continue;
+      }
+      // append entries of the next page to the current page
+      readPage(p + 1);
+      final byte[] entries = Arrays.copyOf(buffers.current().data, next << IO.NODEPOWER);
+      readPage(p);
+      final Buffer buffer = buffers.current();
+      Array.copyFromStart(entries, entries.length, buffer.data, occ << IO.NODEPOWER);
+      buffer.dirty = true;
+
+      // release the next page and remove it from the index
+      usedPages.clear(pageIndex[p + 1]);
+      Array.remove(fPreIndex, p + 1, 1, used);
+      Array.remove(pageIndex, p + 1, 1, used);
+      --used;
+      --last;
+      ++released;
+      setPage(p);
+    }
+    if(released > 0) dirty = true;
+
+    // remember remaining pages for the next compaction
+    if(p < last) {
+      changedFrom = fPreIndex[p];
+    } else {
+      changedFrom = Integer.MAX_VALUE;
+      changedTo = -1;
+    }
+    meta.fragmentation = fragmentation();
+    return released;
+  }
+
+  @Override
+  public int fragmentation() {
+    return fPreIndex == null ? 0 : fragmentation(meta.size, used);
   }
 
   @Override
@@ -594,6 +695,21 @@ public final class TableDiskAccess extends TableAccess {
     return len;
   }
 
+  /**
+   * Returns the index of the page that contains the specified pre value.
+   * @param pre pre value
+   * @return page index
+   */
+  private int pageOf(final int pre) {
+    int l = 0, h = used - 1;
+    while(l < h) {
+      final int m = l + h + 1 >>> 1;
+      if(fPreIndex[m] <= pre) l = m;
+      else h = m - 1;
+    }
+    return l;
+  }
+
   /**
    * Calculates the occupied space in a page.
    * @param index page index
@@ -118,6 +118,16 @@ public final class TableMemAccess extends TableAccess {
     set(pre, entries);
   }
 
+  @Override
+  public int compact(final boolean all, final int max) {
+    return 0;
+  }
+
+  @Override
+  public int fragmentation() {
+    return 0;
+  }
+
   @Override
   protected void dirty() {
     dirty = true;
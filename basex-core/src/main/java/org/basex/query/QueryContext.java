@@ -475,6 +475,15 @@ public final class QueryContext extends Job implements Closeable {
     return info.toString(this);
   }
 
+  /**
+   * Checks if the result of the parsed query may be cached (see {@link MainOptions#QUERYCACHE}).
+   * @return result of check
+   */
+  public boolean cacheable() {
+    return Boolean.TRUE.equals(options.get(MainOptions.QUERYCACHE)) && root != null &&
+        !updating && root.cacheable();
+  }
+
   /**
    * Returns query-specific or default serialization parameters.
    * @return serialization parameters
@@ -343,6 +343,12 @@ public enum QueryError {
   JOBS_SERVICE(JOBS, "service", "No variables allowed."),
   /** Error code. */
   JOBS_SERVICE_X_X(JOBS, "service", "Could not write service: %."),
+  /** Error code. */
+  JOBS_VIEW_X(JOBS, "view", "Unknown view: %."),
+  /** Error code. */
+  JOBS_VIEW_UPDATE_X(JOBS, "view", "View must not be updating: %."),
+  /** Error code. */
+  JOBS_VIEW_X_X(JOBS, "view", "Could not write view %: %."),
 
   // JSON Module
 
@@ -58,6 +58,16 @@ final class QueryOptions {
     localOpts.put(opt, dummyOptions.get(opt));
   }
 
+  /**
+   * Returns the value of a database option. If the option has been declared in the query,
+   * the local value is returned, even if it has not been assigned yet.
+   * @param option option
+   * @return value
+   */
+  Object get(final Option<?> option) {
+    return localOpts.containsKey(option) ? localOpts.get(option) : qc.context.options.get(option);
+  }
+
   /**
    * Compiles all options.
    */
@@ -7,6 +7,7 @@ import org.basex.index.*;
 import org.basex.query.*;
 import org.basex.query.CompileContext.*;
 import org.basex.query.expr.CmpV.*;
+import org.basex.query.expr.path.*;
 import org.basex.query.func.*;
 import org.basex.query.func.fn.*;
 import org.basex.query.iter.*;
@@ -126,6 +127,8 @@ public class CmpG extends Cmp {
   OpG op;
   /** Type check at runtime. */
   private boolean check = true;
+  /** Direct evaluation of database values (can be {@code null}). */
+  DBValues values;
 
   /**
    * Constructor.
@@ -211,7 +214,63 @@ public class CmpG extends Cmp {
     }
 
     // return optimized, pre-evaluated or original expression
-    return expr instanceof CmpG ? expr : cc.replaceWith(this, expr);
+    if(expr instanceof CmpG) {
+      ((CmpG) expr).values();
+      return expr;
+    }
+    return cc.replaceWith(this, expr);
+  }
+
+  /**
+   * Prepares the direct evaluation of database values if the first operand is a simple path
+   * and the second operand is a string or a number.
+   */
+  final void values() {
+    final Expr expr1 = exprs[0], expr2 = exprs[1];
+    values = null;
+    if(coll != null) return;
+
+    if(expr2 instanceof Str || expr2 instanceof Atm) {
+      final byte[] string = expr2 instanceof Str ? ((Str) expr2).string() :
+        ((Atm) expr2).string(info);
+      values = DBValues.get(expr1, value -> test(Token.diff(value, string)));
+    } else if(expr2 instanceof ANum) {
+      final double number = ((ANum) expr2).dbl();
+      values = DBValues.get(expr1, value -> test(Dbl.parse(value, info), number));
+    }
+  }
+
+  /**
+   * Checks the result of a string comparison.
+   * @param diff difference
+   * @return result of check
+   */
+  private boolean test(final int diff) {
+    switch(op) {
+      case LE: return diff <= 0;
+      case LT: return diff < 0;
+      case GE: return diff >= 0;
+      case GT: return diff > 0;
+      case EQ: return diff == 0;
+      default: return diff != 0;
+    }
+  }
+
+  /**
+   * Compares two numbers.
+   * @param number1 first number
+   * @param number2 second number
+   * @return result of check
+   */
+  private boolean test(final double number1, final double number2) {
+    switch(op) {
+      case LE: return number1 <= number2;
+      case LT: return number1 < number2;
+      case GE: return number1 >= number2;
+      case GT: return number1 > number2;
+      case EQ: return number1 == number2;
+      default: return number1 != number2;
+    }
   }
 
   /**
@@ -240,6 +299,10 @@ public class CmpG extends Cmp {
 
   @Override
   public Bln item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    if(values != null) {
+      final Bln bln = values.test(qc.focus.value);
+      if(bln != null) return bln;
+    }
     final Iter iter1 = exprs[0].atomIter(qc, info);
     final long size1 = iter1.size();
     if(size1 == 0) return Bln.FALSE;
@@ -412,6 +475,7 @@ public class CmpG extends Cmp {
   public CmpG copy(final CompileContext cc, final IntObjMap<Var> vm) {
     final CmpG cmp = new CmpG(exprs[0].copy(cc, vm), exprs[1].copy(cc, vm), op, coll, sc, info);
     cmp.check = check;
+    cmp.values();
     return copyType(cmp);
   }
 
@@ -42,6 +42,8 @@ public final class CmpR extends Single {
 
   /** Evaluation flag: atomic evaluation. */
   private boolean single;
+  /** Direct evaluation of database values (can be {@code null}). */
+  private DBValues values;
 
   /**
    * Constructor.
@@ -115,6 +117,7 @@ public final class CmpR extends Single {
 
     final SeqType st = expr.seqType();
     single = st.zeroOrOne() && !st.mayBeArray();
+    values = DBValues.get(expr, value -> inRange(Dbl.parse(value, info)));
 
     if(expr instanceof Value) return cc.preEval(this);
 
@@ -128,6 +131,10 @@ public final class CmpR extends Single {
 
   @Override
   public Bln item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    if(values != null) {
+      final Bln bln = values.test(qc.focus.value);
+      if(bln != null) return bln;
+    }
     // atomic evaluation of arguments (faster)
     if(single) {
       final Item item = expr.item(qc, info);
@@ -255,6 +262,7 @@ public final class CmpR extends Single {
   public Expr copy(final CompileContext cc, final IntObjMap<Var> vm) {
     final CmpR cmp = new CmpR(expr.copy(cc, vm), min, max, info);
     cmp.single = single;
+    cmp.values = DBValues.get(cmp.expr, value -> cmp.inRange(Dbl.parse(value, info)));
     return copyType(cmp);
   }
 
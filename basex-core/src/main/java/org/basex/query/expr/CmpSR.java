@@ -12,6 +12,7 @@ import org.basex.query.*;
 import org.basex.query.CompileContext.*;
 import org.basex.query.expr.CmpG.*;
 import org.basex.query.expr.index.*;
+import org.basex.query.expr.path.*;
 import org.basex.query.iter.*;
 import org.basex.query.util.*;
 import org.basex.query.util.collation.*;
@@ -44,6 +45,8 @@ public final class CmpSR extends Single {
 
   /** Flag for atomic evaluation. */
   private boolean single;
+  /** Direct evaluation of database values (can be {@code null}). */
+  private DBValues values;
 
   /**
    * Constructor.
@@ -77,6 +80,7 @@ public final class CmpSR extends Single {
 
     final SeqType st = expr.seqType();
     single = st.zeroOrOne() && !st.mayBeArray();
+    values = DBValues.get(expr, this::eval);
 
     return expr instanceof Value ? cc.preEval(this) : this;
   }
@@ -106,6 +110,10 @@ public final class CmpSR extends Single {
 
   @Override
   public Bln item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    if(values != null) {
+      final Bln bln = values.test(qc.focus.value);
+      if(bln != null) return bln;
+    }
     // atomic evaluation of arguments (faster)
     if(single) {
       final Item item = expr.item(qc, info);
@@ -128,7 +136,15 @@ public final class CmpSR extends Single {
    */
   private boolean eval(final Item item) throws QueryException {
     if(!item.type.isStringOrUntyped()) throw diffError(item, Str.EMPTY, info);
-    final byte[] s = item.string(info);
+    return eval(item.string(info));
+  }
+
+  /**
+   * Evaluates the range for the specified string.
+   * @param s string to be evaluated
+   * @return result of check
+   */
+  private boolean eval(final byte[] s) {
     final int mn = min == null ?  1 :
       coll == null ? Token.diff(s, min) : coll.compare(s, min);
     final int mx = max == null ? -1 :
@@ -189,6 +205,7 @@ public final class CmpSR extends Single {
   public Expr copy(final CompileContext cc, final IntObjMap<Var> vm) {
     final CmpSR cmp = new CmpSR(expr.copy(cc, vm), min, mni, max, mxi, coll, info);
     cmp.single = single;
+    cmp.values = DBValues.get(cmp.expr, cmp::eval);
     return copyType(cmp);
   }
 
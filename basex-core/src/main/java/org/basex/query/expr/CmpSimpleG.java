@@ -31,6 +31,10 @@ public final class CmpSimpleG extends CmpG {
 
   @Override
   public Bln item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    if(values != null) {
+      final Bln bln = values.test(qc.focus.value);
+      if(bln != null) return bln;
+    }
     final Item item1 = exprs[0].item(qc, info);
     if(item1 == Empty.VALUE) return Bln.FALSE;
     final Item item2 = exprs[1].item(qc, info);
@@ -39,8 +43,10 @@ public final class CmpSimpleG extends CmpG {
 
   @Override
   public CmpG copy(final CompileContext cc, final IntObjMap<Var> vm) {
-    return copyType(new CmpSimpleG(exprs[0].copy(cc, vm), exprs[1].copy(cc, vm), op, coll, sc,
-        info));
+    final CmpG cmp = new CmpSimpleG(exprs[0].copy(cc, vm), exprs[1].copy(cc, vm), op, coll, sc,
+        info);
+    cmp.values();
+    return copyType(cmp);
   }
 
   @Override
@@ -31,7 +31,7 @@ public final class CachedStep extends Step {
   public Iter iter(final QueryContext qc) throws QueryException {
     // evaluate step
     final ANodeList list = new ANodeList();
-    for(final ANode node : axis.iter(checkNode(qc))) {
+    for(final ANode node : axisIter(checkNode(qc))) {
       if(test.matches(node)) list.add(node.finish());
     }
 
@@ -0,0 +1,101 @@
+package org.basex.query.expr.path;
+
+import org.basex.data.*;
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * Evaluates a check on the string values of a simple relative path, which are directly read
+ * from the table of a database. Supported paths consist of a single attribute step, a child
+ * element step or a child text step, and no predicates. No nodes or items are created.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class DBValues {
+  /** Step. */
+  private final Step step;
+  /** Check. */
+  private final QueryFunction<byte[], Boolean> check;
+
+  /**
+   * Constructor.
+   * @param step step
+   * @param check check
+   */
+  private DBValues(final Step step, final QueryFunction<byte[], Boolean> check) {
+    this.step = step;
+    this.check = check;
+  }
+
+  /**
+   * Returns an instance for the specified expression.
+   * @param expr expression
+   * @param check check to be applied to the string values
+   * @return instance or {@code null} if the expression is no supported path
+   */
+  public static DBValues get(final Expr expr, final QueryFunction<byte[], Boolean> check) {
+    if(!(expr instanceof AxisPath)) return null;
+    final AxisPath path = (AxisPath) expr;
+    if(path.root != null || path.steps.length != 1) return null;
+
+    final Step step = (Step) path.steps[0];
+    final Test test = step.test;
+    if(step.exprs.length != 0 || test instanceof UnionTest) return null;
+    final boolean ok = step.axis == Axis.ATTRIBUTE ? test.type == NodeType.ATTRIBUTE :
+      step.axis == Axis.CHILD && (test.type == NodeType.TEXT ||
+      test.type == NodeType.ELEMENT && test instanceof NameTest);
+    return ok ? new DBValues(step, check) : null;
+  }
+
+  /**
+   * Checks if one of the string values of the path matches.
+   * @param value context value
+   * @return result of check, or {@code null} if the values cannot be directly accessed
+   * @throws QueryException query exception
+   */
+  public Bln test(final Value value) throws QueryException {
+    if(!(value instanceof DBNode)) return null;
+
+    final DBNode node = (DBNode) value;
+    final Data data = node.data();
+    final int pre = node.pre(), kind = node.kind();
+    if(kind != Data.ELEM && kind != Data.DOC) return null;
+
+    final Test test = step.test;
+    if(step.axis == Axis.ATTRIBUTE) {
+      for(int p = pre + 1, l = pre + data.attSize(pre, kind); p < l; p++) {
+        if(test.matches(data, p, Data.ATTR) && check.apply(data.text(p, false))) return Bln.TRUE;
+      }
+      return Bln.FALSE;
+    }
+
+    for(int p = pre + data.attSize(pre, kind), l = pre + data.size(pre, kind); p < l;) {
+      final int k = data.kind(p), s = data.size(p, k);
+      if(test.matches(data, p, k)) {
+        final byte[] string;
+        if(k == Data.TEXT) {
+          string = data.text(p, true);
+        } else {
+          // element: only accept empty elements and elements with a single text node
+          final int as = data.attSize(p, k);
+          if(s == as) {
+            string = Token.EMPTY;
+          } else if(s == as + 1 && data.kind(p + as) == Data.TEXT) {
+            string = data.text(p + as, true);
+          } else {
+            return null;
+          }
+        }
+        if(check.apply(string)) return Bln.TRUE;
+      }
+      p += s;
+    }
+    return Bln.FALSE;
+  }
+}
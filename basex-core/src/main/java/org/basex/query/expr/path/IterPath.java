@@ -1,11 +1,21 @@
 package org.basex.query.expr.path;
 
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.core.*;
+import org.basex.core.jobs.*;
+import org.basex.core.locks.*;
+import org.basex.data.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.func.*;
 import org.basex.query.iter.*;
+import org.basex.query.util.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
+import org.basex.query.value.seq.*;
 import org.basex.query.var.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
@@ -17,6 +27,9 @@ import org.basex.util.hash.*;
  * @author Christian Gruen
  */
 public final class IterPath extends AxisPath {
+  /** Minimum number of database nodes for a parallel evaluation. */
+  private static final int PARALLEL = 1 << 16;
+
   /**
    * Constructor.
    * @param info input info
@@ -29,6 +42,16 @@ public final class IterPath extends AxisPath {
 
   @Override
   protected Iter iterator(final QueryContext qc) {
+    return iterator(null, qc);
+  }
+
+  /**
+   * Returns a node iterator.
+   * @param value value of the root expression (if {@code null}, the root will be evaluated)
+   * @param qc query context
+   * @return iterator
+   */
+  private Iter iterator(final Value value, final QueryContext qc) {
     final boolean rt = root != null;
 
     return new Iter() {
@@ -39,7 +62,7 @@ public final class IterPath extends AxisPath {
 
       @Override
       public Item next() throws QueryException {
-        if(iter[0] == null) iter[0] = exprs[0].iter(qc);
+        if(iter[0] == null) iter[0] = value != null ? value.iter() : exprs[0].iter(qc);
 
         final QueryFocus qf = qc.focus;
         final Value value = qf.value;
@@ -65,9 +88,136 @@ public final class IterPath extends AxisPath {
 
   @Override
   protected Value nodes(final QueryContext qc) throws QueryException {
+    // parallel evaluation: only chosen if all results are requested
+    final int threads = qc.context.options.get(MainOptions.SCANTHREADS);
+    if(threads > 1 && root != null && parallel()) {
+      // evaluate root, check if documents can be processed in parallel
+      final Value value = root.value(qc);
+      final Value[] chunks = chunks(value, threads);
+      return chunks != null ? parallel(chunks, qc) : iterator(value, qc).value(qc, this);
+    }
     return iterator(qc).value(qc, this);
   }
 
+  /**
+   * Checks if the steps can be evaluated in parallel for different documents.
+   * Steps must not leave the document of their context node, and they must not depend on
+   * variables, create nodes, perform updates or be nondeterministic. Steps that access
+   * resources (databases, documents, collections) or call user-defined functions are
+   * rejected as well.
+   * @return result of check
+   */
+  private boolean parallel() {
+    final BitSet declared = new BitSet();
+    final ASTVisitor visitor = new ASTVisitor() {
+      @Override
+      public boolean declared(final Var var) {
+        declared.set(var.id);
+        return true;
+      }
+
+      @Override
+      public boolean used(final VarRef ref) {
+        return declared.get(ref.var.id);
+      }
+
+      @Override
+      public boolean lock(final String lock, final boolean update) {
+        return Locking.CONTEXT.equals(lock);
+      }
+
+      @Override
+      public boolean staticFuncCall(final StaticFuncCall call) {
+        return false;
+      }
+    };
+    for(final Expr expr : steps) {
+      final Step step = (Step) expr;
+      switch(step.axis) {
+        case CHILD: case DESCENDANT: case DESCENDANT_OR_SELF: case ATTRIBUTE: case SELF: break;
+        default: return false;
+      }
+      if(step.has(Flag.CNS, Flag.NDT, Flag.UPD, Flag.HOF) || !step.accept(visitor)) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Splits database nodes into chunks of similar size.
+   * @param value value of the root expression
+   * @param threads maximum number of chunks
+   * @return chunks, or {@code null} if the value is no sequence of disjoint database nodes,
+   *   or if a parallel evaluation will not pay off
+   */
+  private static Value[] chunks(final Value value, final int threads) {
+    if(!(value instanceof DBNodeSeq)) return null;
+
+    // check if nodes are ordered and disjoint, compute total number of nodes
+    final DBNodeSeq seq = (DBNodeSeq) value;
+    final Data data = seq.data();
+    final int[] pres = seq.pres();
+    final int pl = pres.length;
+    final int[] sizes = new int[pl];
+    long total = 0;
+    for(int p = 0, end = 0; p < pl; p++) {
+      final int pre = pres[p];
+      if(pre < end) return null;
+      sizes[p] = data.size(pre, data.kind(pre));
+      end = pre + sizes[p];
+      total += sizes[p];
+    }
+    if(total < PARALLEL) return null;
+
+    // create chunks with similar numbers of nodes
+    final int cl = Math.min(threads, pl);
+    final ArrayList<Value> chunks = new ArrayList<>(cl);
+    long sum = 0;
+    for(int p = 0, start = 0; p < pl; p++) {
+      sum += sizes[p];
+      if(p + 1 == pl || sum >= total * (chunks.size() + 1) / cl) {
+        chunks.add(DBNodeSeq.get(Arrays.copyOfRange(pres, start, p + 1), data, seq.type, false));
+        start = p + 1;
+      }
+    }
+    return chunks.toArray(new Value[0]);
+  }
+
+  /**
+   * Evaluates the path for the specified chunks in parallel.
+   * @param chunks chunks with root nodes
+   * @param qc query context
+   * @return resulting nodes in document order
+   * @throws QueryException query exception
+   */
+  private Value parallel(final Value[] chunks, final QueryContext qc) throws QueryException {
+    final int cl = chunks.length;
+    final QueryContext[] qcs = new QueryContext[cl];
+    final ArrayList<ForkJoinTask<Value>> tasks = new ArrayList<>(cl);
+    for(int c = 0; c < cl; c++) {
+      final Value chunk = chunks[c];
+      final QueryContext tqc = new QueryContext(qc);
+      qcs[c] = tqc;
+      tasks.add(ForkJoinPool.commonPool().submit(() -> iterator(chunk, tqc).value(tqc, this)));
+    }
+    // join results in the order of the chunks
+    final ValueBuilder vb = new ValueBuilder(qc);
+    try {
+      for(final ForkJoinTask<Value> task : tasks) vb.add(task.join());
+    } catch(final RuntimeException ex) {
+      // pass on query and job exceptions
+      final Throwable th = Util.rootException(ex);
+      if(th instanceof QueryException) throw (QueryException) th;
+      if(th instanceof JobException) throw (JobException) th;
+      throw ex;
+    } finally {
+      // running tasks cannot be interrupted: stop their contexts, wait until they have finished
+      for(final QueryContext tqc : qcs) tqc.stop();
+      for(final ForkJoinTask<Value> task : tasks) task.quietlyJoin();
+      for(final QueryContext tqc : qcs) tqc.close();
+    }
+    return vb.value(this);
+  }
+
   @Override
   public IterPath copy(final CompileContext cc, final IntObjMap<Var> vm) {
     final Expr rt = root == null ? null : root.copy(cc, vm);
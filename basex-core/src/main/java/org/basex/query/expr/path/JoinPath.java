@@ -0,0 +1,105 @@
+package org.basex.query.expr.path;
+
+import static org.basex.query.QueryError.*;
+
+import org.basex.data.*;
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.*;
+import org.basex.query.util.list.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.var.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+
+/**
+ * Axis path expression, which is evaluated set-at-a-time.
+ * The results of each step are sorted and deduplicated before the next step is evaluated.
+ * If the nodes of a step belong to the same database, nodes of descendant steps that are
+ * nested in a preceding context node are skipped (staircase join), as their results are
+ * already included in the results of the enclosing node.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class JoinPath extends AxisPath {
+  /**
+   * Constructor.
+   * @param info input info
+   * @param root root expression; can be a {@code null} reference
+   * @param steps axis steps
+   */
+  JoinPath(final InputInfo info, final Expr root, final Expr... steps) {
+    super(info, root, steps);
+  }
+
+  @Override
+  protected Iter iterator(final QueryContext qc) throws QueryException {
+    return nodes(qc).iter();
+  }
+
+  @Override
+  protected Value nodes(final QueryContext qc) throws QueryException {
+    final QueryFocus focus = qc.focus, qf = new QueryFocus();
+    final Value rt = root != null ? root.value(qc) : focus.value;
+    if(rt == null) throw NOCTX_X.get(info, steps[0]);
+
+    ANodeBuilder nodes = new ANodeBuilder();
+    final Iter iter = rt.iter(qc);
+    for(Item item; (item = iter.next()) != null;) {
+      if(!(item instanceof ANode)) throw (root != null ? PATHNODE_X_X_X : STEPNODE_X_X_X).get(
+          info, steps[0], item.type, item);
+      nodes.add((ANode) item);
+    }
+
+    qc.focus = qf;
+    try {
+      for(final Expr step : steps) {
+        final ANodeBuilder list = new ANodeBuilder();
+        final Data data = nodes.data();
+        final boolean skip = data != null && nested((Step) step);
+        int end = -1;
+        for(final ANode node : nodes) {
+          if(skip) {
+            // skip nodes that are descendants of the last evaluated node
+            final DBNode dbnode = (DBNode) node;
+            final int pre = dbnode.pre();
+            if(pre < end) continue;
+            end = pre + data.size(pre, dbnode.kind());
+          }
+          qf.value = node;
+          // cast is safe (steps will always return a {@link NodeIter} instance)
+          final NodeIter ni = (NodeIter) step.iter(qc);
+          for(ANode nd; (nd = ni.next()) != null;) {
+            qc.checkStop();
+            list.add(nd);
+          }
+        }
+        nodes = list;
+      }
+    } finally {
+      qc.focus = focus;
+    }
+    return nodes.value(this);
+  }
+
+  /**
+   * Checks if the results of nested context nodes are included in the results of
+   * enclosing nodes.
+   * @param step step
+   * @return result of check
+   */
+  static boolean nested(final Step step) {
+    return (step.axis == Axis.DESCENDANT || step.axis == Axis.DESCENDANT_OR_SELF) &&
+        !step.has(Flag.POS);
+  }
+
+  @Override
+  public AxisPath copy(final CompileContext cc, final IntObjMap<Var> vm) {
+    final Expr rt = root == null ? null : root.copy(cc, vm);
+    return copyType(new JoinPath(info, rt, Arr.copyAll(cc, vm, steps)));
+  }
+}
@@ -1,5 +1,6 @@
 package org.basex.query.expr.path;
 
+import org.basex.data.*;
 import org.basex.query.value.node.*;
 import org.basex.query.value.type.*;
 import org.basex.util.*;
@@ -33,6 +34,8 @@ public class KindTest extends Test {
     @Override
     public boolean matches(final ANode node) { return true; }
     @Override
+    public boolean matches(final Data data, final int pre, final int kind) { return true; }
+    @Override
     public boolean instanceOf(final Test test) { return false; }
     @Override
     public Test intersect(final Test test) { return test; }
@@ -75,6 +78,11 @@ public class KindTest extends Test {
     return node.type == type;
   }
 
+  @Override
+  public boolean matches(final Data data, final int pre, final int kind) {
+    return ANode.type(kind) == type;
+  }
+
   @Override
   public boolean instanceOf(final Test test) {
     return (test instanceof KindTest || test instanceof UnionTest) && super.instanceOf(test);
@@ -1,6 +1,7 @@
 package org.basex.query.expr.path;
 
 import org.basex.data.*;
+import org.basex.index.name.*;
 import org.basex.query.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
@@ -25,6 +26,8 @@ public final class NameTest extends Test {
 
   /** Perform only local check at runtime. */
   private boolean simple;
+  /** Cached local name flags of the last accessed database (can be {@code null}). */
+  private Locals locals;
 
   /**
    * Convenience constructor for element tests.
@@ -81,6 +84,11 @@ public final class NameTest extends Test {
   @Override
   public boolean matches(final ANode node) {
     if(node.type != type) return false;
+    if(node instanceof DBNode) {
+      // database nodes: compare names without creating QNames
+      final DBNode dbnode = (DBNode) node;
+      return matches(dbnode.data(), dbnode.pre(), dbnode.kind());
+    }
     switch(part()) {
       // namespaces wildcard: only check local name
       case LOCAL: return Token.eq(local, Token.local(node.name()));
@@ -91,6 +99,41 @@ public final class NameTest extends Test {
     }
   }
 
+  @Override
+  public boolean matches(final Data data, final int pre, final int kind) {
+    if(ANode.type(kind) != type) return false;
+    final NamePart np = part();
+    if(kind == Data.PI) {
+      // processing instructions have no namespace
+      return (np == NamePart.URI || Token.eq(local, data.name(pre, kind))) &&
+          (np == NamePart.LOCAL || qname.uri().length == 0);
+    }
+
+    final int id = data.nameId(pre);
+    if(np != NamePart.URI && !locals(data, kind)[id]) return false;
+    return np == NamePart.LOCAL || Token.eq(qname.uri(),
+        data.uri(pre, kind, (kind == Data.ELEM ? data.elemNames : data.attrNames).key(id)));
+  }
+
+  /**
+   * Returns flags for the name ids of a database, indicating if the local name of an id
+   * equals the local name of the test.
+   * @param data data reference
+   * @param kind node kind
+   * @return flags, indexed by name ids
+   */
+  private boolean[] locals(final Data data, final int kind) {
+    final Names names = kind == Data.ELEM ? data.elemNames : data.attrNames;
+    final int size = names.size();
+    final Locals lcls = locals;
+    if(lcls != null && lcls.names == names && lcls.flags.length == size + 1) return lcls.flags;
+
+    final boolean[] flags = new boolean[size + 1];
+    for(int id = 1; id <= size; id++) flags[id] = Token.eq(local, Token.local(names.key(id)));
+    locals = new Locals(names, flags);
+    return flags;
+  }
+
   /**
    * Checks if the specified name matches the test.
    * @param qName name
@@ -167,4 +210,22 @@ public final class NameTest extends Test {
     final String test = tb.toString();
     return full || pi ? type.toString(test) : test;
   }
+
+  /** Local name flags of a database. */
+  private static final class Locals {
+    /** Names. */
+    private final Names names;
+    /** Flags, indexed by name ids. */
+    private final boolean[] flags;
+
+    /**
+     * Constructor.
+     * @param names names
+     * @param flags flags
+     */
+    private Locals(final Names names, final boolean[] flags) {
+      this.names = names;
+      this.flags = flags;
+    }
+  }
 }
@@ -20,6 +20,7 @@ import org.basex.query.util.index.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
 import org.basex.query.value.seq.*;
 import org.basex.query.value.type.*;
 import org.basex.query.var.*;
@@ -103,6 +104,8 @@ public abstract class Path extends ParseExpr {
         // example: a/b
         return new IterPath(ii, rt, stps);
       }
+      // example: //a//b
+      if(join(root, stps)) return new JoinPath(ii, rt, stps);
       // example: a/b/..
       return new CachedPath(ii, rt, stps);
     }
@@ -374,6 +377,19 @@ public abstract class Path extends ParseExpr {
     return nodes;
   }
 
+  /**
+   * Returns the numeric values of the resulting nodes from the column store of the database.
+   * @return values in document order (must not be modified), or {@code null} if they are
+   *   not available
+   */
+  public final double[] columns() {
+    // ensure that path starts with all documents of the database
+    final boolean all = root instanceof DBNodeSeq ? ((DBNodeSeq) root).all() :
+      root instanceof DBNode && ((DBNode) root).kind() == Data.DOC && data.meta.ndocs == 1;
+    final ArrayList<PathNode> nodes = all ? pathNodes(root) : null;
+    return nodes != null ? data.columns.values(nodes) : null;
+  }
+
   /**
    * Checks if a path can be evaluated iteratively (i.e., if all results will be in distinct
    * document order without final sorting).
@@ -429,6 +445,22 @@ public abstract class Path extends ParseExpr {
     return true;
   }
 
+  /**
+   * Checks if a path should be evaluated set-at-a-time (i.e., if descendant steps may be
+   * evaluated for nested context nodes).
+   * @param root root expression (can be {@code null})
+   * @param steps path steps
+   * @return result of check
+   */
+  private static boolean join(final Expr root, final Expr... steps) {
+    final int sl = steps.length;
+    for(int s = 0; s < sl; s++) {
+      if(JoinPath.nested((Step) steps[s]) &&
+          (s > 0 || root != null && !root.seqType().zeroOrOne())) return true;
+    }
+    return false;
+  }
+
   /**
    * Assigns a sequence type and (if statically known) result size.
    * @param rt compile time root (can be {@code null})
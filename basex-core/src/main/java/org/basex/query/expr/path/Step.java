@@ -10,6 +10,7 @@ import org.basex.index.path.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.func.*;
+import org.basex.query.iter.*;
 import org.basex.query.util.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.*;
@@ -349,6 +350,38 @@ public abstract class Step extends Preds {
     return copyType(get(info, axis, test, ExprList.concat(exprs, preds)));
   }
 
+  /**
+   * Returns an iterator for the nodes of the axis.
+   * Descendant steps with element name tests are evaluated via the element index if it exists.
+   * For other child and descendant steps on database nodes, the test is applied to table
+   * entries before nodes are created.
+   * @param node context node
+   * @return iterator
+   */
+  final BasicNodeIter axisIter(final ANode node) {
+    if((axis == Axis.DESCENDANT || axis == Axis.DESCENDANT_OR_SELF) &&
+        test instanceof NameTest && test.type == ELEMENT && node instanceof DBNode) {
+      final NameTest nt = (NameTest) test;
+      final Data data = node.data();
+      if(nt.part() != NamePart.URI && data.meta.elemindex && !data.inMemory()) {
+        final BasicNodeIter iter = ((DBNode) node).descendantIter(nt.local,
+            axis == Axis.DESCENDANT_OR_SELF);
+        if(iter != null) return iter;
+      }
+    }
+    if(node instanceof DBNode && !(test instanceof DocTest || test instanceof InvDocTest)) {
+      // child and descendant steps: test table entries before nodes are instantiated
+      final DBNode dbnode = (DBNode) node;
+      switch(axis) {
+        case CHILD: return dbnode.iter(false, false, test);
+        case DESCENDANT: return dbnode.iter(true, false, test);
+        case DESCENDANT_OR_SELF: return dbnode.iter(true, true, test);
+        default:
+      }
+    }
+    return axis.iter(node);
+  }
+
   /**
    * Throws an exception if the context value is not a node.
    * @param qc query context
@@ -111,6 +111,17 @@ public abstract class Test extends ExprInfo {
    */
   public abstract boolean matches(ANode node);
 
+  /**
+   * Checks if the specified database node matches the test.
+   * @param data data reference
+   * @param pre pre value
+   * @param kind node kind
+   * @return result of check
+   */
+  public boolean matches(final Data data, final int pre, final int kind) {
+    return matches(new DBNode(data, pre, kind));
+  }
+
   /**
    * Checks if the specified item matches the test.
    * @param item item to be checked
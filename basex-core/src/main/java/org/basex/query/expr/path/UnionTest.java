@@ -2,6 +2,7 @@ package org.basex.query.expr.path;
 
 import java.util.*;
 
+import org.basex.data.*;
 import org.basex.query.value.node.*;
 import org.basex.query.value.type.*;
 import org.basex.util.*;
@@ -34,6 +35,14 @@ public final class UnionTest extends Test {
     return false;
   }
 
+  @Override
+  public boolean matches(final Data data, final int pre, final int kind) {
+    for(final Test test : tests) {
+      if(test.matches(data, pre, kind)) return true;
+    }
+    return false;
+  }
+
   @Override
   public Test copy() {
     return this;
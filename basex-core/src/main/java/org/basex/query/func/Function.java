@@ -1267,6 +1267,9 @@ public enum Function implements AFunction {
   /** XQuery function. */
   _HTTP_SEND_REQUEST(HttpSendRequest::new, "send-request(request[,href[,bodies]])",
       arg(NODE_O, STRING_ZO, ITEM_ZM), ITEM_ZM, flag(NDT), HTTP_URI),
+  /** XQuery function. */
+  _HTTP_SEND_REQUESTS(HttpSendRequests::new, "send-requests(requests[,options])",
+      arg(NODE_ZM, MAP_ZO), ITEM_ZM, flag(NDT), HTTP_URI),
 
   // Index Module
 
@@ -1337,6 +1340,12 @@ public enum Function implements AFunction {
   _JOBS_LIST_DETAILS(JobsListDetails::new, "list-details([id])",
       arg(STRING_O), ELEMENT_ZM, flag(NDT), JOBS_URI),
   /** XQuery function. */
+  _JOBS_QUERY_CACHE(JobsQueryCache::new, "query-cache()",
+      arg(), ELEMENT_O, flag(NDT), JOBS_URI),
+  /** XQuery function. */
+  _JOBS_QUEUE(JobsQueue::new, "queue()",
+      arg(), ELEMENT_O, flag(NDT), JOBS_URI),
+  /** XQuery function. */
   _JOBS_RESULT(JobsResult::new, "result(id)",
       arg(STRING_O), ITEM_ZM, flag(NDT), JOBS_URI),
   /** XQuery function. */
@@ -1346,6 +1355,18 @@ public enum Function implements AFunction {
   _JOBS_STOP(JobsStop::new, "stop(id[,options])",
       arg(STRING_O, MAP_ZO), EMPTY_SEQUENCE_Z, flag(NDT), JOBS_URI),
   /** XQuery function. */
+  _JOBS_VIEW(JobsView::new, "view(name)",
+      arg(STRING_O), ITEM_ZM, flag(NDT), JOBS_URI),
+  /** XQuery function. */
+  _JOBS_VIEW_DROP(JobsViewDrop::new, "view-drop(name)",
+      arg(STRING_O), EMPTY_SEQUENCE_Z, flag(NDT), JOBS_URI),
+  /** XQuery function. */
+  _JOBS_VIEW_REGISTER(JobsViewRegister::new, "view-register(name,query[,options])",
+      arg(STRING_O, STRING_O, MAP_ZO), EMPTY_SEQUENCE_Z, flag(NDT), JOBS_URI),
+  /** XQuery function. */
+  _JOBS_VIEWS(JobsViews::new, "views()",
+      arg(), ELEMENT_ZM, flag(NDT), JOBS_URI),
+  /** XQuery function. */
   _JOBS_WAIT(JobsWait::new, "wait(id)",
       arg(STRING_O), EMPTY_SEQUENCE_Z, flag(NDT), JOBS_URI),
 
@@ -1499,6 +1520,9 @@ public enum Function implements AFunction {
   _SQL_EXECUTE(SqlExecute::new, "execute(id,query[,options])",
       arg(INTEGER_O, STRING_O, MAP_ZO), ITEM_ZM, flag(NDT), SQL_URI),
   /** XQuery function. */
+  _SQL_EXECUTE_BATCH(SqlExecuteBatch::new, "execute-batch(id,params[,options])",
+      arg(INTEGER_O, ELEMENT_ZM, MAP_ZO), INTEGER_O, flag(NDT), SQL_URI),
+  /** XQuery function. */
   _SQL_EXECUTE_PREPARED(SqlExecutePrepared::new, "execute-prepared(id[,params[,options]])",
       arg(INTEGER_O, ELEMENT_O, MAP_ZO), ITEM_ZM, flag(NDT), SQL_URI),
   /** XQuery function. */
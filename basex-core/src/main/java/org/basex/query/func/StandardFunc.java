@@ -572,6 +572,11 @@ public abstract class StandardFunc extends Arr {
     return visitor.lock(db, false);
   }
 
+  @Override
+  public boolean accept(final ASTVisitor visitor) {
+    return visitor.standardFunc(this) && super.accept(visitor);
+  }
+
   @Override
   public final boolean equals(final Object obj) {
     return this == obj || obj instanceof StandardFunc &&
@@ -4,7 +4,6 @@ import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 
 import org.basex.data.*;
-import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
@@ -27,9 +26,8 @@ public final class DbContentType extends DbAccess {
       // check media type; return application/xml if returned string is not of type xml
       type = MediaType.get(string(data.text(pre, true)));
       if(!type.isXML()) type = MediaType.APPLICATION_XML;
-    } else if(!data.inMemory()) {
-      final IOFile io = data.meta.binary(path);
-      if(io.exists() && !io.isDir()) type = MediaType.get(path);
+    } else if(data.resources.binary(path) != null) {
+      type = MediaType.get(path);
     }
     if(type == null) throw WHICHRES_X.get(info, path);
     return Str.get(type.toString());
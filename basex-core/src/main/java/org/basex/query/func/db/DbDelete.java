@@ -3,7 +3,6 @@ package org.basex.query.func.db;
 import static org.basex.query.QueryError.*;
 
 import org.basex.data.*;
-import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.up.*;
 import org.basex.query.up.primitives.db.*;
@@ -34,8 +33,7 @@ public final class DbDelete extends DbAccess {
     }
     // delete raw resources
     if(!data.inMemory()) {
-      final IOFile bin = data.meta.binary(path);
-      if(bin == null) throw DB_PATH_X.get(info, path);
+      if(!data.resources.isBinaryPath(path)) throw DB_PATH_X.get(info, path);
       updates.add(new DBDelete(data, path, info), qc);
     }
     return Empty.VALUE;
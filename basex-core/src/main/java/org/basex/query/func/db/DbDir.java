@@ -66,15 +66,20 @@ public final class DbDir extends DbList {
         resource(np, false, MediaType.APPLICATION_XML, data.meta.time, null));
     }
 
-    final IOFile file = data.meta.binary(string(path));
-    if(file != null) {
-      for(final IOFile io : file.children()) {
-        final byte[] np = token(io.name());
-        if(map.contains(np)) continue;
+    for(final boolean dir : new boolean[] { false, true }) {
+      final TokenBoolMap children = data.resources.children(path, dir);
+      for(final byte[] np : children) {
+        if(!children.get(np) || map.contains(np)) continue;
 
         map.put(np);
-        vb.add(io.isDir() ? dir(np, io.timeStamp()) :
-          resource(np, true, MediaType.get(io.path()), io.timeStamp(), io.length()));
+        final String bin = root + string(np);
+        if(dir) {
+          final IOFile file = data.meta.binary(bin);
+          vb.add(dir(np, file.exists() ? file.timeStamp() : data.meta.time));
+        } else {
+          final IO io = data.resources.binary(bin);
+          vb.add(resource(np, true, MediaType.get(io.path()), io.timeStamp(), io.length()));
+        }
       }
     }
 
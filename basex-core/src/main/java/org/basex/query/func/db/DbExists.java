@@ -3,7 +3,6 @@ package org.basex.query.func.db;
 import static org.basex.query.QueryError.*;
 
 import org.basex.data.*;
-import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
@@ -22,12 +21,7 @@ public final class DbExists extends DbAccess {
       if(exprs.length == 1) return Bln.TRUE;
       // check if raw file or XML document exists
       final String path = path(1, qc);
-      boolean raw = false;
-      if(!data.inMemory()) {
-        final IOFile io = data.meta.binary(path);
-        raw = io.exists() && !io.isDir();
-      }
-      return Bln.get(raw || data.resources.doc(path) != -1);
+      return Bln.get(data.resources.binary(path) != null || data.resources.doc(path) != -1);
     } catch(final QueryException ex) {
       if(ex.error() == DB_OPEN2_X) return Bln.FALSE;
       throw ex;
@@ -1,7 +1,6 @@
 package org.basex.query.func.db;
 
 import org.basex.data.*;
-import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
@@ -17,8 +16,6 @@ public final class DbIsRaw extends DbAccess {
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
     final Data data = checkData(qc);
     final String path = path(1, qc);
-    if(data.inMemory()) return Bln.FALSE;
-    final IOFile io = data.meta.binary(path);
-    return Bln.get(io.exists() && !io.isDir());
+    return Bln.get(data.resources.binary(path) != null);
   }
 }
@@ -8,6 +8,7 @@ import java.util.*;
 import org.basex.core.*;
 import org.basex.core.users.*;
 import org.basex.data.*;
+import org.basex.index.resource.*;
 import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.iter.*;
@@ -53,7 +54,7 @@ public final class DbListDetails extends DbList {
         try {
           meta.read();
           // count number of raw files
-          final int bin = meta.binaryDir().descendants().size();
+          final int bin = Resources.binaryCount(meta);
           database.add(RESOURCES, token(meta.ndocs + bin));
           database.add(MODIFIED_DATE, DateTime.format(new Date(meta.dbTime())));
           database.add(SIZE, token(meta.dbSize()));
@@ -89,7 +90,7 @@ public final class DbListDetails extends DbList {
         }
         if(i < size) {
           final byte[] pt = bins.get((int) i - ds);
-          final IOFile io = data.meta.binary(string(pt));
+          final IO io = data.resources.binary(string(pt));
           return resource(pt, true, MediaType.get(io.path()), io.timeStamp(), io.length());
         }
         return null;
@@ -5,7 +5,7 @@ import static org.basex.util.Token.*;
 
 import org.basex.core.cmd.*;
 import org.basex.data.*;
-import org.basex.io.*;
+import org.basex.index.resource.*;
 import org.basex.query.*;
 import org.basex.query.up.*;
 import org.basex.query.up.primitives.db.*;
@@ -42,37 +42,21 @@ public final class DbRename extends DbAccess {
 
     // rename raw data
     if(!data.inMemory()) {
-      final IOFile src = data.meta.binary(source);
-      final IOFile trg = data.meta.binary(target);
-      if(src == null || trg == null) throw DB_PATH_X.get(info, src);
-      if(!src.eq(trg)) {
-        rename(data, src, trg, qc);
+      final Resources resources = data.resources;
+      if(!resources.isBinaryPath(source) || !resources.isBinaryPath(target)) {
+        throw DB_PATH_X.get(info, source);
+      }
+      if(Prop.CASE ? !source.equals(target) : !source.equalsIgnoreCase(target)) {
+        // dir  ->  file, file  ->  dir? error
+        if(resources.isBinaryDir(source) ? resources.binary(target) != null :
+          resources.isBinaryDir(target)) throw DB_PATH_X.get(info, source);
+        for(final byte[] path : resources.binaries(source)) {
+          final String src = string(path);
+          updates.add(new DBRename(data, src, Rename.target(src, source, target), info), qc);
+        }
         updates.add(new DBDelete(data, source, info), qc);
       }
     }
     return Empty.VALUE;
   }
-
-  /**
-   * Recursively creates rename operations for binary files.
-   * @param data data reference
-   * @param src source path
-   * @param trg target path
-   * @param qc query context
-   * @throws QueryException query exception
-   */
-  private void rename(final Data data, final IOFile src, final IOFile trg, final QueryContext qc)
-      throws QueryException {
-
-    if(src.isDir()) {
-      // dir  ->  file? error
-      if(trg.exists() && !trg.isDir()) throw DB_PATH_X.get(info, src);
-      // rename children
-      for(final IOFile f : src.children()) rename(data, f, new IOFile(trg, f.name()), qc);
-    } else if(src.exists()) {
-      // file  ->  dir? error
-      if(trg.isDir()) throw DB_PATH_X.get(info, src);
-      qc.updates().add(new DBRename(data, src.path(), trg.path(), info), qc);
-    }
-  }
 }
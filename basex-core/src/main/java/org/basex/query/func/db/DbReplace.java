@@ -4,7 +4,6 @@ import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 
 import org.basex.data.*;
-import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.up.*;
 import org.basex.query.up.primitives.*;
@@ -35,14 +34,15 @@ public final class DbReplace extends DbNew {
     int d = 0;
 
     // delete binary resources
-    final IOFile bin = data.meta.binary(path);
     final boolean disk = !data.inMemory();
-    if(disk && (bin == null || bin.isDir())) throw DB_TARGET_X.get(info, path);
+    if(disk && (!data.resources.isBinaryPath(path) || data.resources.isBinaryDir(path))) {
+      throw DB_TARGET_X.get(info, path);
+    }
 
     if(disk && item instanceof Bin) {
       updates.add(new DBStore(data, path, item, info), qc);
     } else {
-      if(disk && bin.exists()) updates.add(new DBDelete(data, path, info), qc);
+      if(data.resources.binary(path) != null) updates.add(new DBDelete(data, path, info), qc);
       final NewInput input = checkInput(item, token(path));
       final Update update = docs.isEmpty() ?
         new DBAdd(data, input, opts, true, qc, info) :
@@ -21,8 +21,8 @@ public final class DbRetrieve extends DbAccess {
     final String path = path(1, qc);
     if(data.inMemory()) throw DB_MAINMEM_X.get(info, data.meta.name);
 
-    final IOFile file = data.meta.binary(path);
-    if(file == null || !file.exists() || file.isDir()) throw WHICHRES_X.get(info, path);
-    return new B64Lazy(file, IOERR_X);
+    final IO io = data.resources.binary(path);
+    if(io == null) throw WHICHRES_X.get(info, path);
+    return new B64Lazy(io, IOERR_X);
   }
 }
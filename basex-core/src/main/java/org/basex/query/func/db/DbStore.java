@@ -3,7 +3,6 @@ package org.basex.query.func.db;
 import static org.basex.query.QueryError.*;
 
 import org.basex.data.*;
-import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.up.primitives.db.*;
 import org.basex.query.value.item.*;
@@ -24,8 +23,7 @@ public final class DbStore extends DbAccess {
     final Item item = toNodeOrAtomItem(2, qc);
     if(data.inMemory()) throw DB_MAINMEM_X.get(info, data.meta.name);
 
-    final IOFile file = data.meta.binary(path);
-    if(file == null || path.isEmpty()) throw RESINV_X.get(info, path);
+    if(path.isEmpty() || !data.resources.isBinaryPath(path)) throw RESINV_X.get(info, path);
     qc.updates().add(new DBStore(data, path, item, info), qc);
     return Empty.VALUE;
   }
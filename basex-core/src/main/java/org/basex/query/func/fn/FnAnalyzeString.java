@@ -32,29 +32,30 @@ public final class FnAnalyzeString extends RegEx {
   public FElem item(final QueryContext qc, final InputInfo ii) throws QueryException {
     final byte[] value = toZeroToken(exprs[0], qc);
     final Pattern pattern = pattern(exprs[1], exprs.length == 3 ? exprs[2] : null, qc, true);
-    final String string = string(value);
-    final Matcher matcher = pattern.matcher(string);
+    final CharSequence chars = AsciiString.get(value);
+    final Matcher matcher = pattern.matcher(chars);
 
     final FElem root = new FElem(Q_ANALYZE).declareNS();
     int start = 0;
     while(matcher.find()) {
-      if(start != matcher.start()) nonmatch(string.substring(start, matcher.start()), root);
-      match(matcher, string, root, 0);
+      if(start != matcher.start()) nonmatch(AsciiString.token(chars, start, matcher.start()), root);
+      match(matcher, chars, root, 0);
       start = matcher.end();
     }
-    if(start != string.length()) nonmatch(string.substring(start), root);
+    final int cl = chars.length();
+    if(start != cl) nonmatch(AsciiString.token(chars, start, cl), root);
     return root;
   }
 
   /**
    * Processes a match.
    * @param matcher matcher
-   * @param string string
+   * @param chars characters
    * @param parent parent
    * @param group group number
    * @return next group number and position in string
    */
-  private static int[] match(final Matcher matcher, final String string, final FElem parent,
+  private static int[] match(final Matcher matcher, final CharSequence chars, final FElem parent,
       final int group) {
 
     final FElem nd = new FElem(group == 0 ? Q_MATCH : Q_MGROUP);
@@ -65,12 +66,12 @@ public final class FnAnalyzeString extends RegEx {
     while(pos[0] <= gc && matcher.end(pos[0]) <= end) {
       final int st = matcher.start(pos[0]);
       if(st >= 0) { // group matched
-        if(pos[1] < st) nd.add(string.substring(pos[1], st));
-        pos = match(matcher, string, nd, pos[0]);
+        if(pos[1] < st) nd.add(AsciiString.token(chars, pos[1], st));
+        pos = match(matcher, chars, nd, pos[0]);
       } else pos[0]++; // skip it
     }
     if(pos[1] < end) {
-      nd.add(string.substring(pos[1], end));
+      nd.add(AsciiString.token(chars, pos[1], end));
       pos[1] = end;
     }
     parent.add(nd);
@@ -82,7 +83,7 @@ public final class FnAnalyzeString extends RegEx {
    * @param text text
    * @param par root node
    */
-  private static void nonmatch(final String text, final FElem par) {
+  private static void nonmatch(final byte[] text, final FElem par) {
     par.add(new FElem(Q_NONMATCH).add(text));
   }
 }
@@ -43,6 +43,8 @@ public class FnAvg extends FnSum {
       final Item item = singleton((SingletonSeq) expr, true);
       if(item != null) return item;
     }
+    final double[] values = columns(expr);
+    if(values != null) return sum(values, true);
 
     final SeqType st = expr.seqType();
     if(!st.mayBeArray()) exprType.assign(Calc.DIV.type(st.type, st.type));
@@ -2,8 +2,6 @@ package org.basex.query.func.fn;
 
 import static org.basex.util.Token.*;
 
-import java.util.regex.*;
-
 import org.basex.query.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
@@ -18,7 +16,9 @@ public final class FnMatches extends RegEx {
   @Override
   public Bln item(final QueryContext qc, final InputInfo ii) throws QueryException {
     final byte[] value = toZeroToken(exprs[0], qc);
-    final Pattern pattern = pattern(exprs[1], exprs.length == 3 ? exprs[2] : null, qc, false);
-    return Bln.get(pattern.matcher(string(value)).find());
+    final RegExpr regExpr = regExpr(exprs[1], exprs.length == 3 ? exprs[2] : null, qc, false);
+    final byte[] literal = regExpr.literal;
+    return Bln.get(literal != null ? contains(value, literal) :
+      regExpr.pattern.matcher(AsciiString.get(value)).find());
   }
 }
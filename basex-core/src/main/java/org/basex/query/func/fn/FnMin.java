@@ -7,6 +7,7 @@ import org.basex.query.*;
 import org.basex.query.CompileContext.*;
 import org.basex.query.expr.*;
 import org.basex.query.expr.CmpV.*;
+import org.basex.query.expr.path.*;
 import org.basex.query.func.*;
 import org.basex.query.iter.*;
 import org.basex.query.util.collation.*;
@@ -148,6 +149,18 @@ public class FnMin extends StandardFunc {
     if(expr != this) return expr;
 
     expr = exprs[0];
+    if(expr instanceof Path && exprs.length < 2) {
+      final double[] values = ((Path) expr).columns();
+      if(values != null) {
+        // adopt comparison semantics of minmax: NaN values are returned as result
+        if(values.length == 0) return Empty.VALUE;
+        double value = values[0];
+        for(final double v : values) {
+          if((cmp == OpV.GT ? value > v : value < v) || Double.isNaN(v)) value = v;
+        }
+        return Dbl.get(value);
+      }
+    }
     final SeqType st = expr.seqType();
     Type type = st.type;
     if(type.isSortable()) {
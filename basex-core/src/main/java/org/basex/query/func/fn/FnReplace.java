@@ -18,12 +18,19 @@ import org.basex.util.*;
 public final class FnReplace extends RegEx {
   @Override
   public Str item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    final String input = string(toZeroToken(exprs[0], qc));
+    final byte[] value = toZeroToken(exprs[0], qc);
     final RegExpr regExpr = regExpr(exprs[1], exprs.length == 4 ? exprs[3] : null, qc, true);
     final byte[] value2 = toToken(exprs[2], qc);
-    String replace = string(value2);
 
-    if((regExpr.pattern.flags() & Pattern.LITERAL) == 0) {
+    final boolean lit = (regExpr.pattern.flags() & Pattern.LITERAL) != 0;
+    final byte[] literal = regExpr.literal;
+    if(literal != null && (lit || !contains(value2, '$') && !contains(value2, '\\'))) {
+      // literal search and replacement string: replace tokens
+      return Str.get(replace(value, literal, value2));
+    }
+
+    String replace = string(value2);
+    if(!lit) {
       // standard parsing: raise errors for some special cases
       final int rl = value2.length;
       for(int r = 0; r < rl; ++r) {
@@ -65,10 +72,32 @@ public final class FnReplace extends RegEx {
     }
 
     try {
-      return Str.get(regExpr.pattern.matcher(input).replaceAll(replace));
+      final Matcher matcher = regExpr.pattern.matcher(AsciiString.get(value));
+      return Str.get(matcher.find() ? token(matcher.replaceAll(replace)) : value);
     } catch(final Exception ex) {
       if(ex.getMessage().contains("No group")) throw REGROUP.get(info);
       throw REGPAT_X.get(info, ex);
     }
   }
+
+  /**
+   * Replaces all occurrences of a search string.
+   * @param value input
+   * @param search search string (non-empty)
+   * @param replace replacement string
+   * @return resulting token
+   */
+  private static byte[] replace(final byte[] value, final byte[] search, final byte[] replace) {
+    int i = indexOf(value, search);
+    if(i == -1) return value;
+
+    final TokenBuilder tb = new TokenBuilder(value.length);
+    int start = 0;
+    final int sl = search.length;
+    do {
+      tb.add(value, start, i).add(replace);
+      start = i + sl;
+    } while((i = indexOf(value, search, start)) != -1);
+    return tb.add(value, start, value.length).finish();
+  }
 }
@@ -7,6 +7,7 @@ import java.math.*;
 
 import org.basex.query.*;
 import org.basex.query.expr.*;
+import org.basex.query.expr.path.*;
 import org.basex.query.func.*;
 import org.basex.query.iter.*;
 import org.basex.query.util.*;
@@ -52,6 +53,9 @@ public class FnSum extends StandardFunc {
     }
 
     final Expr expr2 = exprs.length == 2 ? exprs[1] : null;
+    final double[] values = columns(expr1);
+    if(values != null && (values.length != 0 || expr2 == null)) return sum(values, false);
+
     final SeqType st1 = expr1.seqType(), st2 = expr2 != null ? expr2.seqType() : null;
     if(st1.zero()) {
       // sequence is empty: check if it also deterministic
@@ -78,6 +82,29 @@ public class FnSum extends StandardFunc {
     // do not simplify summed-up items and zero argument
   }
 
+  /**
+   * Returns numeric values from the column store of a database.
+   * @param expr input expression
+   * @return values (must not be modified), or {@code null} if they are not available
+   */
+  protected static double[] columns(final Expr expr) {
+    return expr instanceof Path ? ((Path) expr).columns() : null;
+  }
+
+  /**
+   * Compute result from the values of a column.
+   * @param values values
+   * @param avg calculate average
+   * @return result ({@code 0} or an empty sequence if the column is empty)
+   */
+  protected static Item sum(final double[] values, final boolean avg) {
+    final int vl = values.length;
+    if(vl == 0) return avg ? Empty.VALUE : Int.ZERO;
+    double sum = values[0];
+    for(int v = 1; v < vl; v++) sum += values[v];
+    return Dbl.get(avg ? sum / vl : sum);
+  }
+
   /**
    * Compute result from range value.
    * @param value sequence
@@ -3,6 +3,7 @@ package org.basex.query.func.fn;
 import static org.basex.query.func.Function.*;
 import static org.basex.util.Token.*;
 
+import java.util.*;
 import java.util.regex.*;
 
 import org.basex.query.*;
@@ -30,18 +31,28 @@ public final class FnTokenize extends RegEx {
     final byte[] value = toZeroToken(exprs[0], qc);
     if(exprs.length < 2) return StrSeq.get(split(normalize(value), ' '));
 
-    final Pattern pattern = pattern(exprs[1], exprs.length == 3 ? exprs[2] : null, qc, true);
+    final RegExpr regExpr = regExpr(exprs[1], exprs.length == 3 ? exprs[2] : null, qc, true);
 
     final TokenList tl = new TokenList();
-    final String string = string(value);
-    if(!string.isEmpty()) {
-      final Matcher matcher = pattern.matcher(string);
+    final int vl = value.length;
+    if(vl != 0) {
+      final byte[] literal = regExpr.literal;
       int start = 0;
-      while(matcher.find()) {
-        tl.add(string.substring(start, matcher.start()));
-        start = matcher.end();
+      if(literal != null) {
+        // literal search string: split token
+        for(int i; (i = indexOf(value, literal, start)) != -1; start = i + literal.length) {
+          tl.add(Arrays.copyOfRange(value, start, i));
+        }
+        tl.add(Arrays.copyOfRange(value, start, vl));
+      } else {
+        final CharSequence chars = AsciiString.get(value);
+        final Matcher matcher = regExpr.pattern.matcher(chars);
+        while(matcher.find()) {
+          tl.add(AsciiString.token(chars, start, matcher.start()));
+          start = matcher.end();
+        }
+        tl.add(AsciiString.token(chars, start, chars.length()));
       }
-      tl.add(string.substring(start));
     }
     return StrSeq.get(tl);
   }
@@ -4,6 +4,7 @@ import static java.util.regex.Pattern.*;
 import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 
+import java.util.*;
 import java.util.regex.*;
 
 import org.basex.query.*;
@@ -12,7 +13,6 @@ import org.basex.query.func.*;
 import org.basex.query.util.regex.parse.*;
 import org.basex.util.*;
 import org.basex.util.Token;
-import org.basex.util.hash.*;
 
 /**
  * Regular expression functions.
@@ -25,14 +25,31 @@ abstract class RegEx extends StandardFunc {
    * Regular expression pattern.
    */
   static class RegExpr {
+    /** Cache key. */
+    byte[] key;
     /** Pattern. */
     Pattern pattern;
     /** Number of groups. */
     int groups;
+    /** Literal search string, if no regex features are used ({@code null} otherwise). */
+    byte[] literal;
   }
 
-  /** Pattern cache. */
-  private final TokenObjMap<RegExpr> patterns = new TokenObjMap<>();
+  /** Maximum number of globally cached patterns. */
+  private static final int CACHE = 1000;
+  /** Global pattern cache, ordered by access. */
+  private static final Map<String, RegExpr> PATTERNS = new LinkedHashMap<String, RegExpr>(
+      CACHE, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, RegExpr> eldest) {
+      return size() > CACHE;
+    }
+  };
+  /** Characters with special meaning in regular expressions. */
+  private static final byte[] SPECIAL = token("\\^$.|?*+()[]{}");
+
+  /** Last pattern used by this function. */
+  private volatile RegExpr last;
 
   /**
    * Returns a regular expression pattern.
@@ -62,16 +79,26 @@ abstract class RegEx extends StandardFunc {
 
     final byte[] pat = toToken(regex, qc);
     final byte[] mod = modifier != null ? toToken(modifier, qc) : Token.EMPTY;
-    final byte[] key = Token.concat(pat, '\b', mod);
+    final byte[] key = new TokenBuilder().add(mod).add(check ? '+' : '-').add('\b').add(pat).
+        finish();
 
-    synchronized(patterns) {
-      RegExpr regExpr = patterns.get(key);
+    // check last pattern of this function, then global cache
+    RegExpr regExpr = last;
+    if(regExpr == null || !eq(regExpr.key, key)) {
+      final String string = string(key);
+      synchronized(PATTERNS) {
+        regExpr = PATTERNS.get(string);
+      }
       if(regExpr == null) {
         regExpr = parse(pat, mod, check);
-        patterns.put(key, regExpr);
+        regExpr.key = key;
+        synchronized(PATTERNS) {
+          PATTERNS.put(string, regExpr);
+        }
       }
-      return regExpr;
+      last = regExpr;
     }
+    return regExpr;
   }
 
   /**
@@ -123,6 +150,11 @@ abstract class RegEx extends StandardFunc {
       final RegExpr regExpr = new RegExpr();
       regExpr.pattern = pattern;
       regExpr.groups = groups;
+      // literal search string: no flags and special characters, or literal flag
+      if(!java && regex.length != 0 &&
+          (flags == LITERAL || flags == 0 && !strip && !special(regex))) {
+        regExpr.literal = regex;
+      }
       return regExpr;
 
     } catch(final PatternSyntaxException | ParseException | TokenMgrError ex) {
@@ -130,4 +162,16 @@ abstract class RegEx extends StandardFunc {
       throw REGPAT_X.get(info, regex);
     }
   }
+
+  /**
+   * Checks if the specified regular expression contains special characters.
+   * @param regex regular expression
+   * @return result of check
+   */
+  private static boolean special(final byte[] regex) {
+    for(final byte b : regex) {
+      if(contains(SPECIAL, b)) return true;
+    }
+    return false;
+  }
 }
@@ -0,0 +1,36 @@
+package org.basex.query.func.http;
+
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.list.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.util.http.*;
+import org.basex.util.options.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class HttpSendRequests extends StandardFunc {
+  /** Request options. */
+  public static final class RequestsOptions extends Options {
+    /** Maximum number of concurrent requests. */
+    public static final NumberOption PARALLEL = new NumberOption("parallel", 8);
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    checkCreate(qc);
+
+    final ANodeList requests = new ANodeList();
+    final Iter iter = exprs[0].iter(qc);
+    for(Item item; (item = qc.next(iter)) != null;) requests.add(toNode(item));
+    final RequestsOptions opts = toOptions(1, new RequestsOptions(), qc);
+    final int parallel = opts.get(RequestsOptions.PARALLEL);
+    return new HttpClient(info, qc.context.options).sendRequests(requests, parallel, qc);
+  }
+}
@@ -0,0 +1,20 @@
+package org.basex.query.func.jobs;
+
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class JobsQueryCache extends StandardFunc {
+  @Override
+  public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    checkAdmin(qc);
+    return qc.context.jobs.cache.toXML();
+  }
+}
@@ -0,0 +1,55 @@
+package org.basex.query.func.jobs;
+
+import static org.basex.query.QueryError.*;
+
+import org.basex.core.jobs.*;
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class JobsView extends StandardFunc {
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    checkAdmin(qc);
+
+    final String name = Token.string(toToken(exprs[0], qc));
+    final QueryView view = qc.context.jobs.views.get(name);
+    if(view == null) throw JOBS_VIEW_X.get(info, name);
+
+    Value value = view.value();
+    if(value == null) {
+      // no valid result available: evaluate query
+      final long version = view.version();
+      try(QueryContext qctx = new QueryContext(qc)) {
+        qctx.parseMain(view.query, null);
+        if(qctx.updating) throw JOBS_VIEW_UPDATE_X.get(info, name);
+
+        final ValueBuilder vb = new ValueBuilder(qc);
+        final Iter iter = qctx.iter();
+        for(Item item; (item = qctx.next(iter)) != null;) {
+          qc.checkStop();
+          vb.add(item);
+        }
+        value = vb.value().materialize(qc, BASEX_FUNCTION_X, info);
+      }
+      view.cache(value, version);
+    }
+    return value;
+  }
+
+  @Override
+  public boolean accept(final ASTVisitor visitor) {
+    // result may need to be computed, and locked resources cannot be detected statically
+    return visitor.lock(null, false) && super.accept(visitor);
+  }
+}
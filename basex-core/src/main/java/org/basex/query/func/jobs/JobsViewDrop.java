@@ -0,0 +1,32 @@
+package org.basex.query.func.jobs;
+
+import static org.basex.query.QueryError.*;
+
+import java.io.*;
+
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.seq.*;
+import org.basex.util.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class JobsViewDrop extends StandardFunc {
+  @Override
+  public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    checkAdmin(qc);
+
+    final String name = Token.string(toToken(exprs[0], qc));
+    try {
+      if(!qc.context.jobs.views.remove(name)) throw JOBS_VIEW_X.get(info, name);
+    } catch(final IOException ex) {
+      throw JOBS_VIEW_X_X.get(info, name, ex);
+    }
+    return Empty.VALUE;
+  }
+}
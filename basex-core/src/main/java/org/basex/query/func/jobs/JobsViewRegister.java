@@ -0,0 +1,66 @@
+package org.basex.query.func.jobs;
+
+import static org.basex.query.QueryError.*;
+
+import java.io.*;
+
+import org.basex.core.jobs.*;
+import org.basex.core.locks.*;
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.seq.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+import org.basex.util.options.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class JobsViewRegister extends StandardFunc {
+  /** View options. */
+  public static final class ViewOptions extends Options {
+    /** Time for which a stale result may be returned while it is refreshed. */
+    public static final StringOption STALENESS = new StringOption("staleness", "");
+  }
+
+  @Override
+  public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    checkAdmin(qc);
+
+    final String name = Token.string(toToken(exprs[0], qc));
+    final String query = Token.string(toToken(exprs[1], qc));
+    final ViewOptions opts = toOptions(2, new ViewOptions(), qc);
+
+    long staleness = 0;
+    final String stale = opts.get(ViewOptions.STALENESS);
+    if(!stale.isEmpty()) {
+      staleness = new DTDur(Token.token(stale), info).sec.multiply(Dec.BD_1000).longValue();
+      if(staleness < 0) throw JOBS_RANGE_X.get(info, stale);
+    }
+
+    // parse query and collect the read locks that will be invalidated by updates
+    String[] locks = null;
+    try(QueryContext qctx = new QueryContext(qc.context)) {
+      qctx.parseMain(query, null);
+      if(qctx.updating) throw JOBS_VIEW_UPDATE_X.get(info, name);
+      qctx.addLocks();
+      final LockList reads = qctx.jc().locks.reads;
+      if(!reads.global() && !reads.contains(Locking.CONTEXT)) {
+        final StringList list = new StringList();
+        for(final String lock : reads) list.add(lock);
+        locks = list.finish();
+      }
+    }
+
+    try {
+      qc.context.jobs.views.add(new QueryView(name, query, locks, staleness));
+    } catch(final IOException ex) {
+      throw JOBS_VIEW_X_X.get(info, name, ex);
+    }
+    return Empty.VALUE;
+  }
+}
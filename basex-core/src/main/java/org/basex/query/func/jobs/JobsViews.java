@@ -0,0 +1,19 @@
+package org.basex.query.func.jobs;
+
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.value.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class JobsViews extends StandardFunc {
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    checkAdmin(qc);
+    return qc.context.jobs.views.toXML().childIter().value(qc, this);
+  }
+}
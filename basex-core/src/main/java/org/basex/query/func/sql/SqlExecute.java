@@ -34,6 +34,8 @@ public class SqlExecute extends SqlFn {
   public static class StatementOptions extends Options {
     /** Query timeout. */
     public static final NumberOption TIMEOUT = new NumberOption("timeout", 0);
+    /** Number of rows to be fetched from the database per round trip (0: driver default). */
+    public static final NumberOption FETCH_SIZE = new NumberOption("fetch-size", 0);
   }
 
   @Override
@@ -45,7 +47,7 @@ public class SqlExecute extends SqlFn {
 
     try {
       final Statement stmt = conn.createStatement();
-      stmt.setQueryTimeout(options.get(StatementOptions.TIMEOUT));
+      assign(stmt, options);
       return iter(stmt, true, stmt.execute(query));
     } catch(final SQLTimeoutException ex) {
       throw SQL_TIMEOUT_X.get(info, ex);
@@ -59,6 +61,18 @@ public class SqlExecute extends SqlFn {
     return iter(qc).value(qc, this);
   }
 
+  /**
+   * Assigns statement options.
+   * @param stmt SQL statement
+   * @param options options
+   * @throws SQLException SQL exception
+   */
+  static void assign(final Statement stmt, final StatementOptions options) throws SQLException {
+    stmt.setQueryTimeout(options.get(StatementOptions.TIMEOUT));
+    final int fetchSize = options.get(StatementOptions.FETCH_SIZE);
+    if(fetchSize > 0) stmt.setFetchSize(fetchSize);
+  }
+
   /**
    * Returns a result iterator, or the number of updated rows.
    * @param stmt SQL statement
@@ -0,0 +1,74 @@
+package org.basex.query.func.sql;
+
+import static org.basex.query.QueryError.*;
+
+import java.sql.*;
+
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.item.*;
+import org.basex.util.options.*;
+
+/**
+ * Functions on relational databases.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class SqlExecuteBatch extends SqlExecutePrepared {
+  /** Batch Options. */
+  public static final class BatchOptions extends StatementOptions {
+    /** Maximum number of parameter sets that are sent to the database at once. */
+    public static final NumberOption BATCH_SIZE = new NumberOption("batch-size", 1000);
+  }
+
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    checkCreate(qc);
+
+    final PreparedStatement stmt = prepared(qc);
+    final Iter params = exprs[1].iter(qc);
+    final BatchOptions options = toOptions(2, new BatchOptions(), qc);
+    final int max = Math.max(1, options.get(BatchOptions.BATCH_SIZE));
+
+    try {
+      assign(stmt, options);
+      // discard parameters of a previously failed batch
+      stmt.clearBatch();
+
+      long updates = 0;
+      int size = 0;
+      for(Item item; (item = qc.next(params)) != null;) {
+        setParameters(toNode(item), stmt);
+        stmt.addBatch();
+        if(++size == max) {
+          updates += execute(stmt);
+          size = 0;
+        }
+      }
+      if(size > 0) updates += execute(stmt);
+      return Int.get(updates).iter();
+    } catch(final QueryException ex) {
+      // already handled
+      throw ex;
+    } catch(final SQLTimeoutException ex) {
+      throw SQL_TIMEOUT_X.get(info, ex);
+    } catch(final Exception ex) {
+      throw SQL_ERROR_X.get(info, ex);
+    }
+  }
+
+  /**
+   * Executes a batch and returns the number of updated rows.
+   * @param stmt prepared statement
+   * @return number of updated rows (unknown counts are ignored)
+   * @throws SQLException SQL exception
+   */
+  private static long execute(final PreparedStatement stmt) throws SQLException {
+    long updates = 0;
+    for(final int count : stmt.executeBatch()) {
+      if(count > 0) updates += count;
+    }
+    return updates;
+  }
+}
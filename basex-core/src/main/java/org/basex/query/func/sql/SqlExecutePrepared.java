@@ -19,7 +19,7 @@ import org.basex.util.*;
  * @author BaseX Team 2005-21, BSD License
  * @author Rositsa Shadura
  */
-public final class SqlExecutePrepared extends SqlExecute {
+public class SqlExecutePrepared extends SqlExecute {
   /** QName. */
   private static final QNm Q_PARAMETERS = new QNm(SQL_PREFIX, "parameters", SQL_URI);
   /** QName. */
@@ -56,16 +56,12 @@ public final class SqlExecutePrepared extends SqlExecute {
     checkCreate(qc);
 
     final PreparedStatement stmt = prepared(qc);
-    ANode params = null;
-    if(exprs.length > 1) {
-      params = toElem(exprs[1], qc);
-      if(!params.qname().eq(Q_PARAMETERS)) throw INVALIDOPTION_X.get(info, params.qname().local());
-    }
+    final ANode params = exprs.length > 1 ? toElem(exprs[1], qc) : null;
     final StatementOptions options = toOptions(2, new StatementOptions(), qc);
 
     try {
-      stmt.setQueryTimeout(options.get(StatementOptions.TIMEOUT));
-      if(params != null) setParameters(params.childIter(), stmt);
+      assign(stmt, options);
+      if(params != null) setParameters(params, stmt);
       // If execute returns false, statement was updating: return number of updated rows
       return iter(stmt, false, stmt.execute());
     } catch(final QueryException ex) {
@@ -80,15 +76,17 @@ public final class SqlExecutePrepared extends SqlExecute {
 
   /**
    * Sets the parameters of a prepared statement.
-   * @param params parameters
+   * @param params parameters element
    * @param stmt prepared statement
    * @throws QueryException query exception
    */
-  private void setParameters(final BasicNodeIter params, final PreparedStatement stmt)
+  final void setParameters(final ANode params, final PreparedStatement stmt)
       throws QueryException {
 
+    if(!params.qname().eq(Q_PARAMETERS)) throw INVALIDOPTION_X.get(info, params.qname().local());
+    final BasicNodeIter iter = params.childIter();
     int i = 0;
-    for(ANode next; (next = params.next()) != null;) {
+    for(ANode next; (next = iter.next()) != null;) {
       // Check name
       if(!next.qname().eq(Q_PARAMETER)) throw INVALIDOPTION_X.get(info, next.qname().local());
       final BasicNodeIter attrs = next.attributeIter();
@@ -1,5 +1,7 @@
 package org.basex.query.scope;
 
+import static org.basex.query.QueryText.*;
+
 import java.util.*;
 
 import org.basex.core.locks.*;
@@ -150,6 +152,15 @@ public final class MainModule extends AModule {
     return expr.accept(new LockVisitor(locks, qc));
   }
 
+  /**
+   * Checks if the result of the module may be cached. This is not the case if it is
+   * nondeterministic, or if it accesses data of the HTTP request, session or WebSocket.
+   * @return result of check
+   */
+  public boolean cacheable() {
+    return !expr.has(Flag.NDT) && expr.accept(new CacheVisitor());
+  }
+
   @Override
   public boolean visit(final ASTVisitor visitor) {
     return expr.accept(visitor);
@@ -250,4 +261,68 @@ public final class MainModule extends AModule {
       return ac;
     }
   }
+
+  /**
+   * Visitor for detecting functions that depend on the current request, the time of
+   * evaluation or the state of the system.
+   */
+  private static final class CacheVisitor extends ASTVisitor {
+    /** URIs of modules with request-dependent functions. */
+    private static final byte[][] URIS = {
+      REQUEST_URI, REST_URI, SESSION_URI, SESSIONS_URI, WS_URI
+    };
+    /** Functions that depend on the date, time and timezone of the query context,
+     * or on the state of the system. */
+    private static final Function[] FUNCS = {
+      Function.CURRENT_DATE, Function.CURRENT_DATETIME, Function.CURRENT_TIME,
+      Function.IMPLICIT_TIMEZONE, Function._DB_INFO, Function._DB_SYSTEM,
+      Function._INSPECT_XQDOC
+    };
+    /** Already visited scopes. */
+    private final IdentityHashMap<Scope, Object> funcs = new IdentityHashMap<>();
+
+    @Override
+    public boolean standardFunc(final StandardFunc func) {
+      final byte[] uri = func.definition.uri();
+      for(final byte[] u : URIS) {
+        if(Token.eq(uri, u)) return false;
+      }
+      for(final Function f : FUNCS) {
+        if(f.is(func)) return false;
+      }
+      // generator without seed: the seed is derived from the current time
+      return !(Function.RANDOM_NUMBER_GENERATOR.is(func) && func.exprs.length == 0);
+    }
+
+    @Override
+    public boolean staticVar(final StaticVar var) {
+      return scope(var);
+    }
+
+    @Override
+    public boolean staticFuncCall(final StaticFuncCall call) {
+      return scope(call.func());
+    }
+
+    @Override
+    public boolean inlineFunc(final Scope scope) {
+      return scope.visit(this);
+    }
+
+    @Override
+    public boolean funcItem(final FuncItem func) {
+      return scope(func);
+    }
+
+    /**
+     * Visits a scope.
+     * @param scope scope
+     * @return if more expressions should be visited
+     */
+    private boolean scope(final Scope scope) {
+      if(funcs.containsKey(scope)) return true;
+      funcs.put(scope, null);
+      return scope.visit(this);
+    }
+  }
 }
@@ -286,7 +286,18 @@ public final class AtomicUpdateCache {
     // check if previous update still in buffer
     flush();
     // value updates applied front-to-back, doens't matter as there are no row shifts
-    for(final BasicUpdate update : valueUpdates) update.apply(data);
+    final int vs = valueUpdates.size();
+    for(int v = 0; v < vs;) {
+      // apply consecutive value replacements in a single batch
+      int e = v;
+      while(e < vs && valueUpdates.get(e) instanceof UpdateValue) e++;
+      if(e - v > 1) {
+        UpdateValue.apply(data, valueUpdates.subList(v, e));
+        v = e;
+      } else {
+        valueUpdates.get(v++).apply(data);
+      }
+    }
     // structural updates are applied back-to-front
     for(int i = structUpdates.size() - 1; i >= 0; i--) structUpdates.get(i).apply(data);
   }
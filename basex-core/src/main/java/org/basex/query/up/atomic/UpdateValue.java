@@ -1,7 +1,10 @@
 package org.basex.query.up.atomic;
 
+import java.util.*;
+
 import org.basex.data.*;
 import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * Atomic update operation that replaces the value of a single text, comment, pi or
@@ -45,6 +48,24 @@ final class UpdateValue extends BasicUpdate {
     data.update(location, kind, value);
   }
 
+  /**
+   * Applies multiple value updates in a single batch.
+   * @param data data reference
+   * @param updates value updates
+   */
+  static void apply(final Data data, final List<BasicUpdate> updates) {
+    final int us = updates.size();
+    final IntList pres = new IntList(us), kinds = new IntList(us);
+    final TokenList values = new TokenList(us);
+    for(final BasicUpdate update : updates) {
+      final UpdateValue uv = (UpdateValue) update;
+      pres.add(uv.location);
+      kinds.add(uv.kind);
+      values.add(uv.value);
+    }
+    data.update(pres, kinds, values);
+  }
+
   @Override
   DataClip getInsertionData() {
     throw Util.notExpected("No insertion sequence needed for atomic value update operation.");
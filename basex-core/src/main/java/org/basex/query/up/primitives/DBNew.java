@@ -203,10 +203,12 @@ public final class DBNew {
       for(final String file : srcDir.descendants()) {
         final IOFile srcFile = new IOFile(srcDir, file);
         final IOFile trgFile = new IOFile(trgDir, file);
-        trgFile.delete();
+        target.resources.deleteBinaries(file);
         trgFile.parent().md();
         Files.move(Paths.get(srcFile.path()), Paths.get(trgFile.path()));
       }
     }
+    // move binary resources to the packed store (they may also have been written by the parser)
+    target.resources.packBinaries();
   }
 }
@@ -46,7 +46,9 @@ public final class DBOptimize extends DBUpdate {
 
     final ArrayList<Option<?>> supported = new ArrayList<>();
     for(final Option<?> option : DBOptions.INDEXING) {
-      if(all || option != MainOptions.UPDINDEX) supported.add(option);
+      if(all || option != MainOptions.UPDINDEX && option != MainOptions.SHARETEXTS) {
+        supported.add(option);
+      }
     }
     options = new DBOptions(opts, supported, info);
   }
@@ -70,7 +72,11 @@ public final class DBOptimize extends DBUpdate {
     options.assignIfAbsent(MainOptions.FTINCLUDE, meta.ftinclude);
     options.assignIfAbsent(MainOptions.SPLITSIZE, meta.splitsize);
     options.assignIfAbsent(MainOptions.UPDINDEX, meta.updindex);
+    options.assignIfAbsent(MainOptions.ELEMINDEX, meta.elemindex);
+    options.assignIfAbsent(MainOptions.COLUMNS, meta.columns);
     options.assignIfAbsent(MainOptions.AUTOOPTIMIZE, meta.autooptimize);
+    options.assignIfAbsent(MainOptions.SHARETEXTS, meta.sharetexts);
+    options.assignIfAbsent(MainOptions.PACKBINARIES, meta.packbinaries);
     options.assignTo(opts);
 
     // adopt options to database meta data
@@ -80,7 +86,16 @@ public final class DBOptimize extends DBUpdate {
     meta.createft = opts.get(MainOptions.FTINDEX);
 
     meta.updindex = opts.get(MainOptions.UPDINDEX);
+    meta.elemindex = opts.get(MainOptions.ELEMINDEX);
+    if(!meta.elemindex) data.elemIndex.drop();
+    final String columns = opts.get(MainOptions.COLUMNS);
+    if(!meta.columns.equals(columns)) {
+      data.columns.drop();
+      meta.columns = columns;
+      meta.dirty = true;
+    }
     meta.autooptimize = opts.get(MainOptions.AUTOOPTIMIZE);
+    meta.packbinaries = opts.get(MainOptions.PACKBINARIES);
     meta.splitsize = opts.get(MainOptions.SPLITSIZE);
 
     // check if other indexing options have changed
@@ -6,7 +6,6 @@ import java.util.*;
 import java.util.Map.Entry;
 
 import org.basex.data.*;
-import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.func.*;
 import org.basex.query.up.primitives.*;
@@ -40,17 +39,7 @@ public final class DBRename extends DBUpdate {
 
   @Override
   public void apply() {
-    map.forEach((source, target) -> {
-      final IOFile src = new IOFile(source), trg = new IOFile(target);
-      if(src.exists()) {
-        if(trg.exists()) {
-          trg.delete();
-        } else {
-          trg.parent().md();
-        }
-        src.rename(trg);
-      }
-    });
+    map.forEach((source, target) -> data.resources.renameBinaries(source, target));
   }
 
   @Override
@@ -6,7 +6,6 @@ import static org.basex.util.Token.*;
 import java.io.*;
 
 import org.basex.data.*;
-import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.func.*;
 import org.basex.query.up.primitives.*;
@@ -44,10 +43,7 @@ public final class DBStore extends DBUpdate {
   public void apply() throws QueryException {
     for(final byte[] path : map) {
       try {
-        final IOFile file = data.meta.binary(string(path));
-        if(file.isDir()) file.delete();
-        file.parent().md();
-        file.write(map.get(path).input(info));
+        data.resources.store(string(path), map.get(path).input(info));
       } catch(final IOException ex) {
         Util.debug(ex);
         throw UPDBPUT_X.get(info, path);
@@ -34,7 +34,7 @@ public final class BackupCreate extends NameUpdate {
   @Override
   public void apply() throws QueryException {
     try {
-      CreateBackup.backup(name, qc.context.soptions, null);
+      CreateBackup.backup(name, qc.context, null);
     } catch(final IOException ex) {
       throw UPDBERROR_X.get(info, ex);
     }
@@ -49,6 +49,17 @@ public final class B64Lazy extends B64 implements Lazy {
     }
   }
 
+  @Override
+  public void write(final OutputStream os, final InputInfo ii)
+      throws IOException, QueryException {
+    // stream file contents if they have not been cached yet
+    if(!cache && !isCached() && (input instanceof IOFile || input instanceof IOSlice)) {
+      input.writeTo(os);
+    } else {
+      super.write(os, ii);
+    }
+  }
+
   @Override
   public void cache(final  boolean lazy, final InputInfo ii) throws QueryException {
     if(lazy) cache = true;
@@ -1,5 +1,7 @@
 package org.basex.query.value.item;
 
+import java.io.*;
+
 import org.basex.io.in.*;
 import org.basex.query.*;
 import org.basex.query.value.type.*;
@@ -41,6 +43,18 @@ public abstract class Bin extends Item {
     return new ArrayInput(data);
   }
 
+  /**
+   * Writes the binary content to the specified output stream.
+   * @param os output stream
+   * @param ii input info
+   * @throws IOException I/O exception
+   * @throws QueryException query exception
+   */
+  public void write(final OutputStream os, final InputInfo ii)
+      throws IOException, QueryException {
+    os.write(binary(ii));
+  }
+
   @Override
   public final byte[] toJava() throws QueryException {
     return binary(null);
@@ -158,6 +158,11 @@ public final class Int extends ANum {
            item.eq(this, coll, sc, ii);
   }
 
+  @Override
+  public boolean sameKey(final Item item, final InputInfo ii) throws QueryException {
+    return item instanceof Int ? value == ((Int) item).value : super.sameKey(item, ii);
+  }
+
   @Override
   public int diff(final Item item, final Collation coll, final InputInfo ii) throws QueryException {
     if(item instanceof Int) return Long.compare(value, ((Int) item).value);
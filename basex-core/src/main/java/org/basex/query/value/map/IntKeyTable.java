@@ -0,0 +1,99 @@
+package org.basex.query.value.map;
+
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * Compact map representation for keys of type {@code xs:integer}.
+ * The keys are stored as long values.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+final class IntKeyTable extends KeyTable<long[]> {
+  /**
+   * Constructor.
+   */
+  IntKeyTable() {
+    super(new long[CAP]);
+  }
+
+  /**
+   * Checks if the specified key can be stored in a table of this type.
+   * @param key key
+   * @return result of check
+   */
+  static boolean supports(final Item key) {
+    return key instanceof Int && key.type == AtomType.INTEGER;
+  }
+
+  @Override
+  boolean accept(final Item key) {
+    return supports(key);
+  }
+
+  @Override
+  int slot(final Item key, final InputInfo ii) throws QueryException {
+    final long value;
+    if(key instanceof Int) {
+      value = key.itr(ii);
+    } else {
+      // other numbers are equal if they have the same integer value
+      if(!(key instanceof ANum)) return -1;
+      final double d = key.dbl(ii);
+      if(Double.isNaN(d) || Double.isInfinite(d)) return -1;
+      try {
+        value = key.dec(ii).longValueExact();
+      } catch(final ArithmeticException ex) {
+        Util.debug(ex);
+        return -1;
+      }
+    }
+    int s = first(hash(value));
+    for(; values[s] != null; s = next(s)) {
+      if(keys[s] == value) return s;
+    }
+    return -1 - s;
+  }
+
+  @Override
+  void set(final Item key, final int slot) {
+    keys[slot] = ((Int) key).itr();
+  }
+
+  @Override
+  Item item(final int slot) {
+    return Int.get(keys[slot]);
+  }
+
+  @Override
+  long[] keys(final int capacity) {
+    return new long[capacity];
+  }
+
+  @Override
+  int bucket(final long[] ks, final int slot) {
+    return hash(ks[slot]);
+  }
+
+  @Override
+  void copy(final long[] ks, final int from, final int to) {
+    keys[to] = ks[from];
+  }
+
+  @Override
+  AtomType keyType() {
+    return AtomType.INTEGER;
+  }
+
+  /**
+   * Computes the hash of an integer.
+   * @param value value
+   * @return hash
+   */
+  private static int hash(final long value) {
+    return (int) (value ^ value >>> 32);
+  }
+}
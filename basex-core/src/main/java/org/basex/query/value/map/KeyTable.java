@@ -0,0 +1,313 @@
+package org.basex.query.value.map;
+
+import static org.basex.query.QueryText.*;
+
+import java.util.*;
+
+import org.basex.query.*;
+import org.basex.query.util.list.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * Compact representation of a map whose keys have the same specialized type.
+ * Entries are stored in arrays and looked up via open addressing.
+ *
+ * <p>A table is filled by a {@link MapBuilder}. When it is finished, the entries are sorted in
+ * the order of the corresponding trie, and the table is no longer modified. Maps with tables
+ * are converted to tries when they are updated, or if a key of another type is added while
+ * the map is being built.</p>
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+abstract class KeyTable<A> {
+  /** Initial capacity. */
+  static final int CAP = 16;
+
+  /** Keys, stored in slots. */
+  A keys;
+  /** Hash codes of the keys (see {@link Item#hash(InputInfo)}), stored in slots. */
+  int[] hashes = new int[CAP];
+  /** Values, stored in slots ({@code null}: empty slot). */
+  Value[] values = new Value[CAP];
+  /** Slots of the entries, in insertion order or, when finished, in trie order. */
+  int[] order = new int[CAP >> 1];
+  /** Number of entries. */
+  int size;
+
+  /**
+   * Constructor.
+   * @param keys initial key array
+   */
+  KeyTable(final A keys) {
+    this.keys = keys;
+  }
+
+  /**
+   * Returns a new table for the specified key.
+   * @param key key
+   * @return table, or {@code null} if no specialized representation exists for the key type
+   */
+  static KeyTable<?> get(final Item key) {
+    return StrKeyTable.supports(key) ? new StrKeyTable() :
+      IntKeyTable.supports(key) ? new IntKeyTable() : null;
+  }
+
+  /**
+   * Checks if the specified key can be added to this table.
+   * @param key key
+   * @return result of check
+   */
+  abstract boolean accept(Item key);
+
+  /**
+   * Returns the slot of the specified key.
+   * @param key key (can be of any type)
+   * @param ii input info
+   * @return slot, or a negative value if the key does not exist
+   *   ({@code -1 - s}, where {@code s} is the free slot for an accepted key)
+   * @throws QueryException query exception
+   */
+  abstract int slot(Item key, InputInfo ii) throws QueryException;
+
+  /**
+   * Assigns a key, which must be accepted by this table, to the specified slot.
+   * @param key key
+   * @param slot slot
+   */
+  abstract void set(Item key, int slot);
+
+  /**
+   * Returns the key in the specified slot.
+   * @param slot slot
+   * @return key
+   */
+  abstract Item item(int slot);
+
+  /**
+   * Returns a new key array.
+   * @param capacity capacity
+   * @return key array
+   */
+  abstract A keys(int capacity);
+
+  /**
+   * Returns the bucket hash of a key.
+   * @param ks key array
+   * @param slot slot
+   * @return hash
+   */
+  abstract int bucket(A ks, int slot);
+
+  /**
+   * Copies a key from an old key array to the current one.
+   * @param ks old key array
+   * @param from old slot
+   * @param to new slot
+   */
+  abstract void copy(A ks, int from, int to);
+
+  /**
+   * Returns the type of the keys.
+   * @return key type
+   */
+  abstract AtomType keyType();
+
+  /**
+   * Returns the key of the specified entry.
+   * @param index index of the entry
+   * @return key
+   */
+  final Item key(final int index) {
+    return item(order[index]);
+  }
+
+  /**
+   * Returns the value of the specified entry.
+   * @param index index of the entry
+   * @return value
+   */
+  final Value value(final int index) {
+    return values[order[index]];
+  }
+
+  /**
+   * Returns the value of the specified key.
+   * @param key key
+   * @param ii input info
+   * @return value, or {@code null} if the key does not exist
+   * @throws QueryException query exception
+   */
+  final Value get(final Item key, final InputInfo ii) throws QueryException {
+    final int s = slot(key, ii);
+    return s < 0 ? null : values[s];
+  }
+
+  /**
+   * Adds a key, which must be accepted by this table, and a value.
+   * An existing entry with the same key will be replaced.
+   * @param key key
+   * @param value value
+   * @param ii input info
+   * @throws QueryException query exception
+   */
+  final void put(final Item key, final Value value, final InputInfo ii) throws QueryException {
+    final int s = slot(key, ii);
+    if(s >= 0) {
+      values[s] = value;
+    } else {
+      final int e = -1 - s;
+      set(key, e);
+      hashes[e] = key.hash(ii);
+      values[e] = value;
+      order[size++] = e;
+      if(size << 1 >= values.length) rehash(values.length << 1);
+    }
+  }
+
+  /**
+   * Finishes the table by sorting the entries in trie order.
+   */
+  final void finish() {
+    // sort unsigned trie positions, followed by insertion order
+    final int s = size;
+    final long[] positions = new long[s];
+    for(int i = 0; i < s; i++) {
+      positions[i] = (long) (position(hashes[order[i]]) ^ Integer.MIN_VALUE) << 32 | i;
+    }
+    Arrays.sort(positions);
+
+    final int[] od = new int[s];
+    for(int i = 0; i < s; i++) od[i] = order[(int) positions[i]];
+    order = od;
+  }
+
+  /**
+   * Converts the table to a trie.
+   * @param owner owner of the transient branches (can be {@code null})
+   * @return root node
+   */
+  final TrieNode trie(final Object owner) {
+    TrieNode node = TrieNode.EMPTY;
+    final Object own = owner != null ? owner : new Object();
+    try {
+      for(int i = 0; i < size; i++) {
+        final int o = order[i];
+        node = node.put(hashes[o], item(o), values[o], 0, own, null);
+      }
+    } catch(final QueryException ex) {
+      // keys are distinct and have the same type
+      throw Util.notExpected(ex);
+    }
+    return node;
+  }
+
+  /**
+   * Returns all keys.
+   * @return keys
+   */
+  final Value keys() {
+    final ItemList items = new ItemList(size);
+    for(int i = 0; i < size; i++) items.add(key(i));
+    return items.value();
+  }
+
+  /**
+   * Checks if the table has the specified key and value type.
+   * @param kt key type (can be {@code null})
+   * @param dt declared type (can be {@code null})
+   * @return result of check
+   */
+  final boolean instanceOf(final AtomType kt, final SeqType dt) {
+    if(kt != null && !keyType().instanceOf(kt)) return false;
+    if(dt != null) {
+      for(int i = 0; i < size; i++) {
+        if(!dt.instance(value(i))) return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if all values are materialized.
+   * @return result of check
+   */
+  final boolean materialized() {
+    for(int i = 0; i < size; i++) {
+      if(!TrieNode.materialized(value(i))) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Recursive helper for {@link XQMap#toString()}.
+   * @param sb string builder
+   * @return reference to {@code sb}
+   */
+  final StringBuilder append(final StringBuilder sb) {
+    for(int i = 0; i < size && TrieNode.more(sb); i++) {
+      sb.append(key(i)).append(MAPASG).append(value(i)).append(SEP);
+    }
+    return sb;
+  }
+
+  /**
+   * Returns the first slot for the specified hash.
+   * @param hash bucket hash
+   * @return slot
+   */
+  final int first(final int hash) {
+    final int h = hash * 0x9E3779B9;
+    return (h ^ h >>> 16) & values.length - 1;
+  }
+
+  /**
+   * Returns the next slot.
+   * @param slot current slot
+   * @return next slot
+   */
+  final int next(final int slot) {
+    return slot + 1 & values.length - 1;
+  }
+
+  /**
+   * Resizes the table.
+   * @param capacity new capacity
+   */
+  private void rehash(final int capacity) {
+    final A ks = keys;
+    final int[] hs = hashes, od = order;
+    final Value[] vs = values;
+    keys = keys(capacity);
+    hashes = new int[capacity];
+    values = new Value[capacity];
+    order = new int[capacity >> 1];
+    for(int i = 0; i < size; i++) {
+      final int o = od[i];
+      int s = first(bucket(ks, o));
+      while(values[s] != null) s = next(s);
+      copy(ks, o, s);
+      hashes[s] = hs[o];
+      values[s] = vs[o];
+      order[i] = s;
+    }
+  }
+
+  /**
+   * Returns the position of a hash in the trie. The bits of each level are moved to the front.
+   * @param hash hash
+   * @return position (to be compared as unsigned integer)
+   */
+  private static int position(final int hash) {
+    int pos = 0;
+    for(int level = 0, shift = Integer.SIZE; shift > 0; level++) {
+      final int bits = Math.min(XQMap.BITS, shift);
+      shift -= bits;
+      pos |= TrieNode.key(hash, level) << shift;
+    }
+    return pos;
+  }
+}
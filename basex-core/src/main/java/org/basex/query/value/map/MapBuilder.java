@@ -1,29 +1,66 @@
 package org.basex.query.value.map;
 
+import static org.basex.query.QueryError.*;
+
 import org.basex.query.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.seq.*;
+import org.basex.util.*;
 
 /**
- * A convenience class for building new maps.
+ * A convenience class for building new maps. The branches of the map are transient
+ * while the map is being built: they are updated in place instead of being copied for each
+ * new entry. If all keys are strings or integers, a compact table will be built instead
+ * of a trie. The resulting map is immutable.
  *
  * @author BaseX Team 2005-21, BSD License
  * @author Christian Gruen
  */
 public final class MapBuilder {
-  /** Map. */
-  private XQMap map = XQMap.EMPTY;
+  /** Input info (can be {@code null}). */
+  private final InputInfo info;
+  /** Owner of the transient branches (invalidated by {@link #finish()}). */
+  private Object owner = new Object();
+  /** Root node. */
+  private TrieNode root = TrieNode.EMPTY;
+  /** Compact representation (can be {@code null}). */
+  private KeyTable<?> table;
+
+  /**
+   * Constructor.
+   */
+  public MapBuilder() {
+    this(null);
+  }
+
+  /**
+   * Constructor.
+   * @param info input info (can be {@code null})
+   */
+  public MapBuilder(final InputInfo info) {
+    this.info = info;
+  }
 
   /**
-   * Adds a key/value pair to the map.
+   * Adds a key/value pair to the map. An existing entry with the same key will be replaced.
    * @param key key
    * @param value value
    * @return self reference
    * @throws QueryException query exception
    */
   public MapBuilder put(final Item key, final Value value) throws QueryException {
-    map = map.put(key, value, null);
+    if(root.size == 0 && table == null) table = KeyTable.get(key);
+    if(table != null) {
+      if(table.accept(key)) {
+        table.put(key, value, info);
+        return this;
+      }
+      // key of another type: switch to trie
+      root = table.trie(owner);
+      table = null;
+    }
+    root = root.put(key.hash(info), key, value, 0, owner, info);
     return this;
   }
 
@@ -49,13 +86,96 @@ public final class MapBuilder {
     return put(Str.get(key), value != null ? Str.get(value) : Empty.VALUE);
   }
 
+  /**
+   * Adds all entries of the specified map.
+   * @param map map to add
+   * @param merge merge duplicate keys
+   * @param qc query context
+   * @return self reference
+   * @throws QueryException query exception
+   */
+  public MapBuilder merge(final XQMap map, final MergeDuplicates merge, final QueryContext qc)
+      throws QueryException {
+
+    // larger tries: merge tries (unchanged subtrees will be shared)
+    if(table == null && map.table() == null && map.mapSize() > Math.max(root.size, TrieNode.KIDS)) {
+      root = root.addAll(map.root(), 0, merge, qc, info);
+      return this;
+    }
+    // smaller maps and tables: add single entries
+    for(final Item key : map.keys()) {
+      final Value old = value(key);
+      Value value = map.get(key, info);
+      if(old != null) {
+        switch(merge) {
+          case USE_FIRST:
+          case UNSPECIFIED:
+            continue;
+          case USE_LAST:
+            break;
+          case COMBINE:
+            value = ValueBuilder.concat(old, value, qc);
+            break;
+          default:
+            throw MERGE_DUPLICATE_X.get(info, key);
+        }
+      }
+      put(key, value);
+    }
+    return this;
+  }
+
+  /**
+   * Checks if the given key exists in the map.
+   * @param key key to look for
+   * @return result of check
+   * @throws QueryException query exception
+   */
+  public boolean contains(final Item key) throws QueryException {
+    return value(key) != null;
+  }
+
+  /**
+   * Returns the value of the specified key.
+   * @param key key to look for
+   * @return value, or empty sequence if the key does not exist
+   * @throws QueryException query exception
+   */
+  public Value get(final Item key) throws QueryException {
+    final Value value = value(key);
+    return value == null ? Empty.VALUE : value;
+  }
+
   /**
    * Returns the resulting map and invalidates the internal reference.
    * @return map
    */
   public XQMap finish() {
-    final XQMap m = map;
-    map = null;
-    return m;
+    final XQMap map;
+    if(table != null) {
+      // single entries are stored as trie leaves
+      if(table.size == 1) {
+        map = new XQMap(table.trie(owner));
+      } else {
+        table.finish();
+        map = new XQMap(table);
+      }
+    } else {
+      map = root == TrieNode.EMPTY ? XQMap.EMPTY : new XQMap(root);
+    }
+    root = null;
+    table = null;
+    owner = null;
+    return map;
+  }
+
+  /**
+   * Returns the value of the specified key.
+   * @param key key to look for
+   * @return value, or {@code null} if the key does not exist
+   * @throws QueryException query exception
+   */
+  private Value value(final Item key) throws QueryException {
+    return table != null ? table.get(key, info) : root.get(key.hash(info), key, 0, info);
   }
 }
@@ -0,0 +1,90 @@
+package org.basex.query.value.map;
+
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * Compact map representation for keys of type {@code xs:string}.
+ * The keys are stored as tokens.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+final class StrKeyTable extends KeyTable<byte[][]> {
+  /**
+   * Constructor.
+   */
+  StrKeyTable() {
+    super(new byte[CAP][]);
+  }
+
+  /**
+   * Checks if the specified key can be stored in a table of this type.
+   * @param key key
+   * @return result of check
+   */
+  static boolean supports(final Item key) {
+    return key instanceof Str && key.type == AtomType.STRING;
+  }
+
+  @Override
+  boolean accept(final Item key) {
+    return supports(key);
+  }
+
+  @Override
+  int slot(final Item key, final InputInfo ii) throws QueryException {
+    // keys of type xs:untypedAtomic and xs:anyURI are compared as strings
+    if(!key.type.isStringOrUntyped()) return -1;
+    final byte[] token = key.string(ii);
+    int s = first(hash(token));
+    for(; values[s] != null; s = next(s)) {
+      if(Token.eq(keys[s], token)) return s;
+    }
+    return -1 - s;
+  }
+
+  @Override
+  void set(final Item key, final int slot) {
+    keys[slot] = ((Str) key).string();
+  }
+
+  @Override
+  Item item(final int slot) {
+    return Str.get(keys[slot]);
+  }
+
+  @Override
+  byte[][] keys(final int capacity) {
+    return new byte[capacity][];
+  }
+
+  @Override
+  int bucket(final byte[][] ks, final int slot) {
+    return hash(ks[slot]);
+  }
+
+  @Override
+  void copy(final byte[][] ks, final int from, final int to) {
+    keys[to] = ks[from];
+  }
+
+  @Override
+  AtomType keyType() {
+    return AtomType.STRING;
+  }
+
+  /**
+   * Computes the hash of a token. In contrast to {@link Token#hash(byte[])}, all bytes are
+   * considered, which ensures a good distribution of long keys with common prefixes.
+   * @param token token
+   * @return hash
+   */
+  private static int hash(final byte[] token) {
+    int h = 0;
+    for(final byte b : token) h = (h << 5) - h + b;
+    return h;
+  }
+}
@@ -17,8 +17,10 @@ import org.basex.util.*;
 final class TrieBranch extends TrieNode {
   /** Child array. */
   private final TrieNode[] kids;
-  /** Bit array with a bit set for every used slot. */
-  final int used;
+  /** Bit array with a bit set for every used slot (only modified by transient branches). */
+  int used;
+  /** Owner of a transient branch, which may be updated in place (can be {@code null}). */
+  private final Object owner;
 
   /**
    * Constructor taking children array and the size of this map.
@@ -27,9 +29,21 @@ final class TrieBranch extends TrieNode {
    * @param size size of this node
    */
   TrieBranch(final TrieNode[] kids, final int used, final int size) {
+    this(kids, used, size, null);
+  }
+
+  /**
+   * Constructor for transient branches.
+   * @param kids children
+   * @param used bit array
+   * @param size size of this node
+   * @param owner owner (can be {@code null})
+   */
+  TrieBranch(final TrieNode[] kids, final int used, final int size, final Object owner) {
     super(size);
     this.kids = kids;
     this.used = used;
+    this.owner = owner;
     assert verify();
   }
 
@@ -47,23 +61,31 @@ final class TrieBranch extends TrieNode {
 
   @Override
   TrieNode put(final int hs, final Item key, final Value value, final int level,
-      final InputInfo ii) throws QueryException {
+      final Object owner, final InputInfo ii) throws QueryException {
     final int k = key(hs, level);
     final TrieNode sub = kids[k], nsub;
     final int bs, rem;
     if(sub != null) {
-      nsub = sub.put(hs, key, value, level + 1, ii);
-      if(nsub == sub) return this;
-      bs = used;
+      // size must be requested first: transient children may be updated in place
       rem = sub.size;
+      nsub = sub.put(hs, key, value, level + 1, owner, ii);
+      if(nsub == sub && nsub.size == rem) return this;
+      bs = used;
     } else {
       nsub = new TrieLeaf(hs, key, value);
       bs = used | 1 << k;
       rem = 0;
     }
+    if(owner != null && owner == this.owner) {
+      // transient branch: update in place
+      kids[k] = nsub;
+      used = bs;
+      size += nsub.size - rem;
+      return this;
+    }
     final TrieNode[] ks = copyKids();
     ks[k] = nsub;
-    return new TrieBranch(ks, bs, size - rem + nsub.size);
+    return new TrieBranch(ks, bs, size - rem + nsub.size, owner);
   }
 
   @Override
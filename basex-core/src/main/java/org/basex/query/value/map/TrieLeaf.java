@@ -40,8 +40,8 @@ final class TrieLeaf extends TrieNode {
   }
 
   @Override
-  TrieNode put(final int hs, final Item ky, final Value vl, final int level, final InputInfo ii)
-      throws QueryException {
+  TrieNode put(final int hs, final Item ky, final Value vl, final int level, final Object owner,
+      final InputInfo ii) throws QueryException {
 
     // same hash, replace or merge
     if(hs == hash) return key.sameKey(ky, ii) ? new TrieLeaf(hs, ky, vl) :
@@ -52,14 +52,14 @@ final class TrieLeaf extends TrieNode {
     final int a = key(hs, level), b = key(hash, level);
     final int used;
     if(a == b) {
-      ch[a] = put(hs, ky, vl, level + 1, ii);
+      ch[a] = put(hs, ky, vl, level + 1, owner, ii);
       used = 1 << a;
     } else {
       ch[a] = new TrieLeaf(hs, ky, vl);
       ch[b] = this;
       used = 1 << a | 1 << b;
     }
-    return new TrieBranch(ch, used, 2);
+    return new TrieBranch(ch, used, 2, owner);
   }
 
   @Override
@@ -209,10 +209,7 @@ final class TrieLeaf extends TrieNode {
 
   @Override
   boolean materialized() {
-    for(final Item item : value) {
-      if(item.persistent() || item.materialize(null, false) == null) return false;
-    }
-    return true;
+    return materialized(value);
   }
 
   @Override
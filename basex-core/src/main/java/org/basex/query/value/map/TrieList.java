@@ -86,7 +86,7 @@ final class TrieList extends TrieNode {
 
   @Override
   TrieNode put(final int hs, final Item key, final Value value, final int level,
-      final InputInfo ii) throws QueryException {
+      final Object owner, final InputInfo ii) throws QueryException {
 
     // same hash, replace or merge
     if(hs == hash) {
@@ -106,7 +106,7 @@ final class TrieList extends TrieNode {
     final int a = key(hs, level), b = key(hash, level);
     final int used;
     if(a == b) {
-      ch[a] = put(hs, key, value, level + 1, ii);
+      ch[a] = put(hs, key, value, level + 1, owner, ii);
       used = 1 << a;
     } else {
       ch[a] = new TrieLeaf(hs, key, value);
@@ -114,7 +114,7 @@ final class TrieList extends TrieNode {
       used = 1 << a | 1 << b;
     }
     // we definitely inserted one value
-    return new TrieBranch(ch, used, size + 1);
+    return new TrieBranch(ch, used, size + 1, owner);
   }
 
   @Override
@@ -65,7 +65,7 @@ abstract class TrieNode {
 return this == node; }
     @Override
     public TrieNode put(final int hash, final Item key, final Value value, final int level,
-        final InputInfo ii) { return new TrieLeaf(hash, key, value); }
+        final Object owner, final InputInfo ii) { return new TrieLeaf(hash, key, value); }
     @Override
     void forEach(final ValueBuilder vb, final FItem func, final QueryContext qc,
         final InputInfo ii) { }
@@ -75,8 +75,8 @@ return this == node; }
     StringBuilder append(final StringBuilder sb) { return sb; }
   };
 
-  /** Size of this node. */
-  final int size;
+  /** Size of this node (only modified by transient branches). */
+  int size;
   /**
    * Constructor.
    * @param size size
@@ -87,15 +87,17 @@ return this == node; }
 
   /**
    * Puts the given value into this map and replaces existing keys.
+   * Branches that belong to the specified owner are updated in place.
    * @param hash hash code used as key
    * @param key key to insert
    * @param value value to insert
    * @param level level
+   * @param owner owner of transient branches (can be {@code null})
    * @param ii input info
    * @return updated map if changed, {@code this} otherwise
    * @throws QueryException query exception
    */
-  abstract TrieNode put(int hash, Item key, Value value, int level, InputInfo ii)
+  abstract TrieNode put(int hash, Item key, Value value, int level, Object owner, InputInfo ii)
       throws QueryException;
 
   /**
@@ -218,6 +220,18 @@ return this == node; }
    */
   abstract boolean materialized();
 
+  /**
+   * Checks if the specified value is materialized.
+   * @param value value
+   * @return result of check
+   */
+  static boolean materialized(final Value value) {
+    for(final Item item : value) {
+      if(item.persistent() || item.materialize(null, false) == null) return false;
+    }
+    return true;
+  }
+
   /**
    * Applies a function on all entries.
    * @param vb value builder
@@ -29,16 +29,50 @@ public final class XQMap extends XQData {
   /** Number of bits per level, maximum is 5 because {@code 1 << 5 == 32}. */
   static final int BITS = 5;
 
-  /** Wrapped immutable map. */
-  private final TrieNode root;
+  /** Wrapped immutable map (created on demand if a table exists). */
+  private volatile TrieNode root;
+  /** Compact representation of the map (can be {@code null}). */
+  private final KeyTable<?> table;
 
   /**
    * Constructor.
    * @param root map
    */
-  private XQMap(final TrieNode root) {
+  XQMap(final TrieNode root) {
     super(SeqType.MAP);
     this.root = root;
+    table = null;
+  }
+
+  /**
+   * Constructor for maps with a compact representation.
+   * @param table finished table
+   */
+  XQMap(final KeyTable<?> table) {
+    super(SeqType.MAP);
+    this.table = table;
+  }
+
+  /**
+   * Returns the trie of this map. If the map has a compact representation, it will be
+   * converted to a trie, which will be required for updates.
+   * @return root node
+   */
+  TrieNode root() {
+    TrieNode node = root;
+    if(node == null) {
+      node = table.trie(null);
+      root = node;
+    }
+    return node;
+  }
+
+  /**
+   * Returns the compact representation of this map.
+   * @return table or {@code null}
+   */
+  KeyTable<?> table() {
+    return table;
   }
 
   @Override
@@ -48,12 +82,16 @@ public final class XQMap extends XQData {
 
   @Override
   public void refineType(final Expr expr) {
-    if(root.size != 0) super.refineType(expr);
+    if(mapSize() != 0) super.refineType(expr);
   }
 
   @Override
   public void cache(final boolean lazy, final InputInfo ii) throws QueryException {
-    root.cache(lazy, ii);
+    if(table != null) {
+      for(int i = 0; i < table.size; i++) table.value(i).cache(lazy, ii);
+    } else {
+      root.cache(lazy, ii);
+    }
   }
 
   /**
@@ -64,13 +102,13 @@ public final class XQMap extends XQData {
    * @throws QueryException query exception
    */
   public XQMap delete(final Item key, final InputInfo ii) throws QueryException {
-    final TrieNode del = root.delete(key.hash(ii), key, 0, ii);
-    return del == root ? this : del == null ? EMPTY : new XQMap(del);
+    final TrieNode node = root(), del = node.delete(key.hash(ii), key, 0, ii);
+    return del == node ? this : del == null ? EMPTY : new XQMap(del);
   }
 
   @Override
   public Value get(final Item key, final InputInfo ii) throws QueryException {
-    final Value value = root.get(key.hash(ii), key, 0, ii);
+    final Value value = table != null ? table.get(key, ii) : root.get(key.hash(ii), key, 0, ii);
     return value == null ? Empty.VALUE : value;
   }
 
@@ -82,7 +120,7 @@ public final class XQMap extends XQData {
    * @throws QueryException query exception
    */
   public boolean contains(final Item key, final InputInfo ii) throws QueryException {
-    return root.contains(key.hash(ii), key, 0, ii);
+    return table != null ? table.slot(key, ii) >= 0 : root.contains(key.hash(ii), key, 0, ii);
   }
 
   /**
@@ -98,8 +136,8 @@ public final class XQMap extends XQData {
       final InputInfo ii) throws QueryException {
 
     if(map == EMPTY) return this;
-    final TrieNode upd = root.addAll(map.root, 0, merge, qc, ii);
-    return upd == map.root ? map : new XQMap(upd);
+    final TrieNode node = map.root(), upd = root().addAll(node, 0, merge, qc, ii);
+    return upd == node ? map : new XQMap(upd);
   }
 
   @Override
@@ -114,7 +152,7 @@ public final class XQMap extends XQData {
 
   @Override
   public Item materialize(final QueryContext qc, final boolean copy) {
-    return root.materialized() ? this : null;
+    return (table != null ? table.materialized() : root.materialized()) ? this : null;
   }
 
   @Override
@@ -135,7 +173,8 @@ public final class XQMap extends XQData {
     SeqType dt = ft.declType;
     if(dt.eq(SeqType.ITEM_ZM)) dt = null;
 
-    return kt == null && dt == null || root.instanceOf(kt, dt);
+    return kt == null && dt == null ||
+      (table != null ? table.instanceOf(kt, dt) : root.instanceOf(kt, dt));
   }
 
   /**
@@ -147,8 +186,8 @@ public final class XQMap extends XQData {
    * @throws QueryException query exception
    */
   public XQMap put(final Item key, final Value value, final InputInfo ii) throws QueryException {
-    final TrieNode ins = root.put(key.hash(ii), key, value, 0, ii);
-    return ins == root ? this : new XQMap(ins);
+    final TrieNode node = root(), ins = node.put(key.hash(ii), key, value, 0, null, ii);
+    return ins == node ? this : new XQMap(ins);
   }
 
   /**
@@ -156,7 +195,7 @@ public final class XQMap extends XQData {
    * @return size
    */
   public int mapSize() {
-    return root.size;
+    return table != null ? table.size : root.size;
   }
 
   /**
@@ -164,6 +203,7 @@ public final class XQMap extends XQData {
    * @return list of keys
    */
   public Value keys() {
+    if(table != null) return table.keys();
     final ItemList items = new ItemList(root.size);
     root.keys(items);
     return items.value();
@@ -174,7 +214,11 @@ public final class XQMap extends XQData {
    * @param vb value builder
    */
   public void values(final ValueBuilder vb) {
-    root.values(vb);
+    if(table != null) {
+      for(int i = 0; i < table.size; i++) vb.add(table.value(i));
+    } else {
+      root.values(vb);
+    }
   }
 
   /**
@@ -188,7 +232,13 @@ public final class XQMap extends XQData {
   public Value forEach(final FItem func, final QueryContext qc, final InputInfo ii)
       throws QueryException {
     final ValueBuilder vb = new ValueBuilder(qc);
-    root.forEach(vb, func, qc, ii);
+    if(table != null) {
+      for(int i = 0; i < table.size; i++) {
+        vb.add(func.invoke(qc, ii, table.key(i), table.value(i)));
+      }
+    } else {
+      root.forEach(vb, func, qc, ii);
+    }
     return vb.value();
   }
 
@@ -197,8 +247,20 @@ public final class XQMap extends XQData {
       throws QueryException {
 
     if(item instanceof FuncItem) throw FICMP_X.get(ii, type);
-    if(item instanceof XQMap) return root.deep(((XQMap) item).root, coll, ii);
-    return false;
+    if(!(item instanceof XQMap)) return false;
+    final XQMap map = (XQMap) item;
+    if(table == null && map.table == null) return root.deep(map.root, coll, ii);
+
+    // compare entries if one of the maps has a compact representation
+    final XQMap tmap = table != null ? this : map, omap = tmap == this ? map : this;
+    final KeyTable<?> tbl = tmap.table;
+    if(tbl.size != omap.mapSize()) return false;
+    for(int i = 0; i < tbl.size; i++) {
+      final Item key = tbl.key(i);
+      if(!omap.contains(key, ii) || !TrieNode.deep(tbl.value(i), omap.get(key, ii), coll, ii))
+        return false;
+    }
+    return true;
   }
 
   @Override
@@ -210,7 +272,7 @@ public final class XQMap extends XQData {
 
   @Override
   public int hash(final InputInfo ii) throws QueryException {
-    return root.hash(ii);
+    return root().hash(ii);
   }
 
   @Override
@@ -276,6 +338,8 @@ public final class XQMap extends XQData {
 
   @Override
   public void plan(final QueryString qs) {
-    qs.token(MAP).brace(root.append(new StringBuilder()).toString().replaceAll(", $", ""));
+    final StringBuilder sb = table != null ? table.append(new StringBuilder()) :
+      root.append(new StringBuilder());
+    qs.token(MAP).brace(sb.toString().replaceAll(", $", ""));
   }
 }
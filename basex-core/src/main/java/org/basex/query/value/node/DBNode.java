@@ -10,6 +10,7 @@ import org.basex.core.*;
 import org.basex.data.*;
 import org.basex.io.*;
 import org.basex.query.*;
+import org.basex.query.expr.path.*;
 import org.basex.query.func.*;
 import org.basex.query.iter.*;
 import org.basex.query.value.*;
@@ -312,6 +313,58 @@ public class DBNode extends ANode {
     return descendantIter(first, last);
   }
 
+  /**
+   * Returns an iterator for all descendant elements with the specified local name.
+   * The elements are retrieved from the element index.
+   * @param local local name
+   * @param self include the node itself
+   * @return iterator, or {@code null} if the element index does not exist
+   */
+  public final BasicNodeIter descendantIter(final byte[] local, final boolean self) {
+    final int k = kind(), first = self ? pre : pre + data.attSize(pre, k);
+    final int[] pres = data.elemIndex.pres(local, first, pre + data.size(pre, k));
+    if(pres == null) return null;
+    return pres.length == 0 ? BasicNodeIter.EMPTY : new DBNodeIter(data) {
+      final DBNode node = finish();
+      int p;
+
+      @Override
+      public DBNode next() {
+        if(p == pres.length) return null;
+        node.set(pres[p++], Data.ELEM);
+        return node;
+      }
+    };
+  }
+
+  /**
+   * Returns an iterator for the child or descendant axes, which only returns nodes that match
+   * the specified test. The test is applied to the table entries, and the node instance is
+   * only updated for matching entries.
+   * @param desc descendant or child axis
+   * @param self include context node (only considered for the descendant axis)
+   * @param test node test
+   * @return iterator
+   */
+  public final BasicNodeIter iter(final boolean desc, final boolean self, final Test test) {
+    final int k = kind(), first = self ? pre : pre + data.attSize(pre, k);
+    final int last = pre + data.size(pre, k);
+    return first == last ? BasicNodeIter.EMPTY : new DBNodeIter(data) {
+      final DBNode node = finish();
+      int curr = first;
+
+      @Override
+      public DBNode next() {
+        while(curr < last) {
+          final int p = curr, kind = data.kind(p);
+          curr += desc ? data.attSize(p, kind) : data.size(p, kind);
+          if(test.matches(data, p, kind)) return node.set(p, kind);
+        }
+        return null;
+      }
+    };
+  }
+
   @Override
   public final BasicNodeIter followingIter() {
     if(root != null) return super.followingIter();
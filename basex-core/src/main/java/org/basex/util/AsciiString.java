@@ -0,0 +1,84 @@
+package org.basex.util;
+
+import java.util.*;
+
+/**
+ * Character sequence view on a token that only consists of ASCII characters.
+ * Tokens can be passed on to regular expression matchers without being decoded.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class AsciiString implements CharSequence {
+  /** Token. */
+  private final byte[] token;
+  /** Start offset. */
+  private final int start;
+  /** Length. */
+  private final int length;
+
+  /**
+   * Constructor.
+   * @param token token (must only consist of ASCII characters)
+   */
+  public AsciiString(final byte[] token) {
+    this(token, 0, token.length);
+  }
+
+  /**
+   * Constructor.
+   * @param token token (must only consist of ASCII characters)
+   * @param start start offset
+   * @param length length
+   */
+  private AsciiString(final byte[] token, final int start, final int length) {
+    this.token = token;
+    this.start = start;
+    this.length = length;
+  }
+
+  /**
+   * Returns a character sequence for the specified token.
+   * @param token token
+   * @return ASCII view, or decoded string if the token contains other characters
+   */
+  public static CharSequence get(final byte[] token) {
+    return Token.ascii(token) ? new AsciiString(token) : Token.string(token);
+  }
+
+  /**
+   * Returns a token for the specified range of a character sequence.
+   * @param chars character sequence (ASCII view or string)
+   * @param from start index
+   * @param to end index
+   * @return token
+   */
+  public static byte[] token(final CharSequence chars, final int from, final int to) {
+    if(chars instanceof AsciiString) {
+      final AsciiString as = (AsciiString) chars;
+      return from == to ? Token.EMPTY :
+        Arrays.copyOfRange(as.token, as.start + from, as.start + to);
+    }
+    return Token.token(chars.subSequence(from, to).toString());
+  }
+
+  @Override
+  public char charAt(final int index) {
+    return (char) token[start + index];
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public AsciiString subSequence(final int from, final int to) {
+    return new AsciiString(token, start + from, to - from);
+  }
+
+  @Override
+  public String toString() {
+    return Token.string(token, start, length);
+  }
+}
@@ -11,6 +11,7 @@ import java.lang.reflect.*;
 import java.net.*;
 import java.util.*;
 import java.util.Map.*;
+import java.util.concurrent.*;
 
 import org.basex.core.*;
 import org.basex.core.StaticOptions.*;
@@ -23,6 +24,7 @@ import org.basex.query.util.list.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
 import org.basex.query.value.type.*;
 import org.basex.util.*;
 import org.basex.util.Base64;
@@ -62,8 +64,60 @@ public final class HttpClient {
    */
   public Value sendRequest(final byte[] href, final ANode request, final Value bodies)
       throws QueryException {
+    return send(href, new HttpRequestParser(info).parse(request, bodies));
+  }
+
+  /**
+   * Sends several HTTP requests in parallel and returns the responses in the order of the
+   * requests. The requests are parsed in advance, and the first error will be raised.
+   * @param requests request elements
+   * @param parallel maximum number of concurrent requests
+   * @param qc query context
+   * @return HTTP responses
+   * @throws QueryException query exception
+   */
+  public Value sendRequests(final ANodeList requests, final int parallel, final QueryContext qc)
+      throws QueryException {
+    final int size = requests.size();
+    final HttpRequest[] reqs = new HttpRequest[size];
+    final HttpRequestParser parser = new HttpRequestParser(info);
+    for(int r = 0; r < size; r++) reqs[r] = parser.parse(requests.get(r), Empty.VALUE);
+
+    final ValueBuilder vb = new ValueBuilder(qc);
+    // single request or no parallelism: send requests one by one
+    if(size < 2 || parallel < 2) {
+      for(final HttpRequest req : reqs) vb.add(send(null, req));
+      return vb.value();
+    }
+
+    final ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallel, size));
+    try {
+      final ArrayList<Future<Value>> futures = new ArrayList<>(size);
+      for(final HttpRequest req : reqs) futures.add(pool.submit(() -> send(null, req)));
+      for(final Future<Value> future : futures) {
+        qc.checkStop();
+        vb.add(future.get());
+      }
+      return vb.value();
+    } catch(final ExecutionException ex) {
+      final Throwable th = Util.rootException(ex);
+      if(th instanceof QueryException) throw (QueryException) th;
+      throw HC_ERROR_X.get(info, th);
+    } catch(final InterruptedException ex) {
+      throw HC_ERROR_X.get(info, ex);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
 
-    final HttpRequest req = new HttpRequestParser(info).parse(request, bodies);
+  /**
+   * Sends a parsed HTTP request and returns the response.
+   * @param href URL to send the request to (can be {@code null})
+   * @param req request data
+   * @return HTTP response
+   * @throws QueryException query exception
+   */
+  private Value send(final byte[] href, final HttpRequest req) throws QueryException {
     HttpURLConnection conn = null;
     try {
       // parse request data, set properties
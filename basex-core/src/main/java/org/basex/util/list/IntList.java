@@ -152,6 +152,16 @@ public class IntList extends ElementList {
     return e;
   }
 
+  /**
+   * Removes the elements in the specified range.
+   * @param start index of the first element to remove
+   * @param end index after the last element to remove
+   */
+  public final void remove(final int start, final int end) {
+    Array.remove(list, start, end - start, size);
+    size -= end - start;
+  }
+
   /**
    * Adds a difference to all elements starting from the specified index.
    * @param diff difference
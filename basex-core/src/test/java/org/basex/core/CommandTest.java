@@ -166,6 +166,32 @@ public class CommandTest extends SandboxTest {
     ok(new DropBackup(NAME));
   }
 
+  /** Incremental backups. */
+  @Test public final void incrementalBackup() {
+    ok(new Set(MainOptions.INCREMENTALBACKUP, true));
+    ok(new CreateDB(NAME, "<a/>"));
+    ok(new CreateBackup(NAME));
+    // backup names have a precision of seconds
+    Performance.sleep(1100);
+    ok(new Add("b.xml", "<b/>"));
+    ok(new Close());
+    ok(new CreateBackup(NAME));
+    assertTrue(ok(new ShowBackups()).contains("incremental"));
+
+    ok(new DropDB(NAME));
+    ok(new Restore(NAME));
+    assertEquals("2", ok(new XQuery("count(" + _DB_OPEN.args(NAME) + ")")));
+    ok(new Set(MainOptions.INCREMENTALBACKUP, false));
+
+    // dropping a base backup drops its incremental backups, but not newer full backups
+    Performance.sleep(1100);
+    ok(new CreateBackup(NAME));
+    final String backups = "sort(" + _DB_BACKUPS.args(NAME) + " ! string())";
+    ok(new DropBackup(ok(new XQuery(backups + "[1]"))));
+    assertEquals("1", ok(new XQuery("count(" + backups + ")")));
+    assertFalse(ok(new ShowBackups()).contains("incremental"));
+  }
+
   /** Command test. */
   @Test public final void createDB() {
     ok(new CreateDB(NAME, FILE));
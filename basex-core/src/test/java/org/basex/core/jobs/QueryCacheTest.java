@@ -0,0 +1,74 @@
+package org.basex.core.jobs;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.basex.core.*;
+import org.basex.core.locks.*;
+import org.basex.util.*;
+import org.junit.jupiter.api.*;
+
+/**
+ * Query cache tests.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class QueryCacheTest {
+  /** Cache instance used for testing (maximum size: 1 kb). */
+  private final QueryCache cache;
+
+  /** Constructor. */
+  public QueryCacheTest() {
+    final StaticOptions sopts = new StaticOptions(false);
+    sopts.set(StaticOptions.QUERYCACHESIZE, 1);
+    cache = new QueryCache(sopts);
+  }
+
+  /** Evicts the least recently used results. */
+  @Test public void evict() {
+    final LockList reads = new LockList().add("db");
+    cache.put("a", new byte[400], 1, reads);
+    cache.put("b", new byte[400], 1, reads);
+    // access first result: second result will be evicted next
+    assertNotNull(cache.get("a"));
+    cache.put("c", new byte[400], 1, reads);
+    assertNotNull(cache.get("a"));
+    assertNull(cache.get("b"));
+    assertNotNull(cache.get("c"));
+
+    // results that exceed the maximum size are ignored
+    cache.put("d", new byte[2000], 1, reads);
+    assertNull(cache.get("d"));
+    assertNotNull(cache.get("a"));
+    assertEquals("1", stat("evictions"));
+    assertEquals("800", stat("size"));
+  }
+
+  /** Discards results affected by write locks. */
+  @Test public void invalidate() {
+    cache.put("a", new byte[1], 1, new LockList().add("db1"));
+    cache.put("b", new byte[1], 1, new LockList().add("db2"));
+    final LockList global = new LockList();
+    global.addGlobal();
+    cache.put("c", new byte[1], 1, global);
+
+    cache.invalidate(new LockList().add("db1"));
+    assertNull(cache.get("a"));
+    assertNotNull(cache.get("b"));
+    assertNull(cache.get("c"));
+    assertEquals("2", stat("invalidations"));
+
+    cache.invalidate(global);
+    assertNull(cache.get("b"));
+    assertEquals("0", stat("entries"));
+  }
+
+  /**
+   * Returns a statistic of the cache.
+   * @param name name of the statistic
+   * @return value
+   */
+  private String stat(final String name) {
+    return Token.string(cache.toXML().attribute(Token.token(name)));
+  }
+}
@@ -529,6 +529,92 @@ public final class LockingTest extends SandboxTest {
       "Looks like thread is stuck in a deadlock.");
   }
 
+  /**
+   * Queued interactive jobs are started before batch jobs.
+   * @throws InterruptedException Got interrupted.
+   */
+  @RepeatedTest(REPEAT)
+  public void priorityTest() throws InterruptedException {
+    for(final LockQueue queue : new LockQueue[] {
+      new FairLockQueue(1, null), new NonfairLockQueue(1, null)
+    }) {
+      queue.acquire(0L, true, false, false);
+      final CountDownLatch batch = new CountDownLatch(1), interactive = new CountDownLatch(1);
+      final Thread th1 = queue(queue, 1L, true, batch);
+      while(queue.queued() < 1) Thread.sleep(1);
+      final Thread th2 = queue(queue, 2L, false, interactive);
+      while(queue.queued() < 2) Thread.sleep(1);
+      assertEquals(1, queue.batches());
+
+      queue.release();
+      assertTrue(interactive.await(WAIT, TimeUnit.MILLISECONDS),
+        "Interactive job should have been started first.");
+      assertFalse(batch.await(WAIT, TimeUnit.MILLISECONDS),
+        "Batch job shouldn't be able to start yet.");
+      queue.release();
+      assertTrue(batch.await(WAIT, TimeUnit.MILLISECONDS),
+        "Batch job should have been started now.");
+      queue.release();
+      th1.join();
+      th2.join();
+      assertEquals(0, queue.running());
+    }
+  }
+
+  /**
+   * Adapts the limit of parallel jobs to the system load.
+   * @throws InterruptedException Got interrupted.
+   */
+  @RepeatedTest(REPEAT)
+  public void adaptiveLimitTest() throws InterruptedException {
+    final LockQueue queue = new NonfairLockQueue(3, () -> -1);
+    assertEquals(3, queue.limit());
+    // high load: decrease limit, but keep at least one job
+    for(int i = 0; i < 5; i++) queue.adapt(2);
+    assertEquals(1, queue.limit());
+    // unchanged load, unknown load
+    queue.adapt(0.9);
+    queue.adapt(-1);
+    assertEquals(1, queue.limit());
+
+    // jobs are queued if the limit has been reached
+    queue.acquire(0L, true, false, false);
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Thread th = queue(queue, 1L, false, latch);
+    assertFalse(latch.await(WAIT, TimeUnit.MILLISECONDS),
+      "Job shouldn't be able to start yet.");
+    // low load: increase limit, up to the specified maximum
+    for(int i = 0; i < 5; i++) queue.adapt(0.1);
+    assertEquals(3, queue.limit());
+    // waiting job is woken up periodically
+    assertTrue(latch.await(2000, TimeUnit.MILLISECONDS), "Job should have been started.");
+    queue.release();
+    queue.release();
+    th.join();
+  }
+
+  /**
+   * Starts a thread that acquires a slot in the specified queue.
+   * @param queue queue
+   * @param id job id
+   * @param batch batch flag
+   * @param latch latch to count down after the job has been started
+   * @return thread
+   */
+  private static Thread queue(final LockQueue queue, final long id, final boolean batch,
+      final CountDownLatch latch) {
+    final Thread th = new Thread(() -> {
+      try {
+        queue.acquire(id, true, false, batch);
+        latch.countDown();
+      } catch(final InterruptedException ex) {
+        throw new RuntimeException("Unexpectedly interrupted.");
+      }
+    });
+    th.start();
+    return th;
+  }
+
   /**
    * Default implementation for setting locks and latches.
    */
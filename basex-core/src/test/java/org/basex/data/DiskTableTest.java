@@ -313,6 +313,63 @@ public final class DiskTableTest extends SandboxTest {
     assertEntrysEqual(nodes, 2 * nodes, size - nodes);
   }
 
+  /**
+   * Merges sparsely filled blocks.
+   */
+  @Test public void compact() {
+    final int half = nodes / 2;
+    tda.delete(0, half);
+    tda.delete(half, half);
+    assertEquals(blocks, tdaBlocks(), "Blocks should not have been released yet!");
+    assertEquals(0, tda.compact(false, 0), "No block should have been released!");
+    assertEquals(1, tda.compact(false, Integer.MAX_VALUE), "One block should have been released!");
+    assertEquals(0, tda.compact(false, Integer.MAX_VALUE), "No block should have been released!");
+
+    assertEquals(blocks - 1, tdaBlocks(), "Unexpected number of blocks!");
+    assertEquals(size - nodes, tdaSize(), "Two half blocks deleted => size-nodes");
+    assertEntrysEqual(half, 0, half);
+    assertEntrysEqual(nodes + half, half, size - nodes - half);
+    closeAndReload();
+    assertEquals(blocks - 1, tdaBlocks(), "Unexpected number of blocks!");
+    assertEntrysEqual(half, 0, half);
+    assertEntrysEqual(nodes + half, half, size - nodes - half);
+  }
+
+  /**
+   * Merges sparsely filled blocks that have not been changed since the last compaction.
+   */
+  @Test public void compactAll() {
+    final int half = nodes / 2;
+    tda.delete(0, half);
+    tda.delete(half, half);
+    final int fragmentation = tda.fragmentation();
+    assertTrue(fragmentation > 0, "Table should be fragmented!");
+    closeAndReload();
+    assertEquals(fragmentation, tda.fragmentation(), "Unexpected fragmentation!");
+    assertEquals(0, tda.compact(false, Integer.MAX_VALUE), "No block should have been changed!");
+    assertEquals(1, tda.compact(true, Integer.MAX_VALUE), "One block should have been released!");
+    assertTrue(tda.fragmentation() < fragmentation, "Fragmentation should have been reduced!");
+
+    assertEquals(blocks - 1, tdaBlocks(), "Unexpected number of blocks!");
+    assertEntrysEqual(half, 0, half);
+    assertEntrysEqual(nodes + half, half, size - nodes - half);
+  }
+
+  /**
+   * Updates the fragmentation if entries are inserted into a page with free entries.
+   */
+  @Test public void fragmentationInsert() {
+    final int half = nodes / 2;
+    tda.delete(0, half);
+    final int fragmentation = tda.fragmentation();
+    assertEquals(fragmentation, data.meta.fragmentation, "Unexpected fragmentation!");
+    tda.insert(0, getTestEntries(half));
+    assertTrue(tda.fragmentation() < fragmentation, "Fragmentation should have been reduced!");
+    assertEquals(tda.fragmentation(), data.meta.fragmentation, "Unexpected fragmentation!");
+    assertEquals(blocks, tdaBlocks(), "Unexpected number of blocks!");
+    assertAreInserted(0, half);
+  }
+
   /**
    * Asserts that the chosen entries are inserted by a test case.
    * @param startNum first entry
@@ -1,11 +1,14 @@
 package org.basex.data;
 
 import static org.basex.query.func.Function.*;
+import static org.junit.jupiter.api.Assertions.*;
 
 import org.basex.*;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
+import org.basex.query.*;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -143,6 +146,26 @@ public final class IndexTest extends SandboxTest {
     query("replace node /X/A with 'x', replace node /X/B with 'y'", "");
   }
 
+  /**
+   * Test.
+   * @param mainmem main memory flag.
+   */
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void updindexReplaceValues(final boolean mainmem) {
+    set(MainOptions.MAINMEM, mainmem);
+    set(MainOptions.UPDINDEX, true);
+    set(MainOptions.TOKENINDEX, true);
+    execute(new CreateDB(NAME, "<X><A a='x y'>q</A><A a='x'>r</A><A a='y'>q</A></X>"));
+    query("for $a in //A return (replace value of node $a/text() with 's', "
+        + "replace value of node $a/@a with 'y z')");
+    query("count(" + _DB_TEXT.args(NAME, "s") + ')', 3);
+    query(_DB_TEXT.args(NAME, "q"), "");
+    query("count(" + _DB_ATTRIBUTE.args(NAME, "y z") + ')', 3);
+    query("count(" + _DB_TOKEN.args(NAME, "z") + ')', 3);
+    query(_DB_TOKEN.args(NAME, "x"), "");
+  }
+
   /**
    * Test.
    * @param mainmem main memory flag.
@@ -200,6 +223,155 @@ public final class IndexTest extends SandboxTest {
     execute(new Delete("A"));
   }
 
+  /**
+   * Incremental updates of the full-text index.
+   */
+  @Test public void updindexFulltext() {
+    set(MainOptions.UPDINDEX, true);
+    set(MainOptions.FTINDEX, true);
+    try {
+      execute(new CreateDB(NAME, "<x><a>one two</a><a>two three</a></x>"));
+      query(_FT_SEARCH.args(NAME, "two") + " => count()", 2);
+
+      query("replace value of node //a[1] with 'four five'");
+      query("insert node <a>five six</a> into /x");
+      query("delete node //a[2]");
+      query(_FT_SEARCH.args(NAME, "two") + " => count()", 0);
+      query(_FT_SEARCH.args(NAME, "five") + " ! string()", "four five\nfive six");
+      query(_DB_INFO.args(NAME) + "//ftindex/text()", true);
+
+      // delta segment is persisted
+      execute(new Close());
+      query(_FT_SEARCH.args(NAME, "five") + " => count()", 2);
+      query(_FT_SEARCH.args(NAME, "f.*", " map { 'wildcards': true() }") + " => count()", 2);
+      query(_FT_TOKENS.args(NAME) + " ! string()", "six\nfive\nfour");
+    } finally {
+      set(MainOptions.FTINDEX, false);
+    }
+  }
+
+  /**
+   * Deletes multiple updated texts from the full-text index.
+   */
+  @Test public void updindexFulltextDelete() {
+    set(MainOptions.UPDINDEX, true);
+    set(MainOptions.FTINDEX, true);
+    try {
+      execute(new CreateDB(NAME, "<x><a>one</a></x>"));
+      query("for $i in 1 to 100 return insert node <a>two { $i }</a> into /x");
+      query(_FT_SEARCH.args(NAME, "two") + " => count()", 100);
+      query("delete node //a[position() mod 2 = 0]");
+      query(_FT_SEARCH.args(NAME, "two") + " => count()", 50);
+      query(_FT_SEARCH.args(NAME, "one") + " => count()", 1);
+      execute(new Close());
+      query(_FT_SEARCH.args(NAME, "two") + " => count()", 50);
+    } finally {
+      set(MainOptions.FTINDEX, false);
+    }
+  }
+
+  /**
+   * Full-text index of an updatable database, built with pre values.
+   */
+  @Test public void updindexFulltextFormat() {
+    set(MainOptions.UPDINDEX, true);
+    set(MainOptions.FTINDEX, true);
+    try {
+      execute(new CreateDB(NAME, "<x><a>one</a></x>"));
+      final MetaData meta = context.data().meta;
+      meta.ftids = false;
+      meta.dirty = true;
+      execute(new Close());
+
+      // outdated index is not used, and recreated by optimize
+      execute(new Open(NAME));
+      query(_DB_INFO.args(NAME) + "//ftindex/text()", false);
+      execute(new Optimize());
+      query(_DB_INFO.args(NAME) + "//ftindex/text()", true);
+      query(_FT_SEARCH.args(NAME, "one") + " => count()", 1);
+    } finally {
+      set(MainOptions.FTINDEX, false);
+    }
+  }
+
+  /**
+   * Incremental updates of the element index.
+   * @param updindex incremental index updates
+   */
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void elemindex(final boolean updindex) {
+    set(MainOptions.UPDINDEX, updindex);
+    set(MainOptions.ELEMINDEX, true);
+    try {
+      execute(new CreateDB(NAME, "<x><a><b>1</b></a><a><b>2</b><c/></a></x>"));
+      final MetaData meta = context.data().meta;
+      assertTrue(meta.dbFile(DataText.DATAELM).exists());
+
+      // queries do not modify the database
+      query("/descendant::b ! string()", "1\n2");
+      query("//a[2]/descendant-or-self::c => count()", 1);
+      assertFalse(meta.dirty);
+
+      query("insert node <a><b>3</b></a> as first into /x");
+      query("delete node //a[2]");
+      query("rename node //c as 'b'");
+      query("string-join(/descendant::b, ',')", "3,2,");
+      query(_DB_INFO.args(NAME) + "//elemindex/text()", true);
+
+      execute(new Close());
+      query("string-join(" + _DB_OPEN.args(NAME) + "/descendant::b, ',')", "3,2,");
+
+      // index is only created by optimize
+      set(MainOptions.ELEMINDEX, false);
+      execute(new CreateDB(NAME, "<x><a><b>1</b></a></x>"));
+      query(_DB_OPTIMIZE.args(NAME, false, " map { 'elemindex': true() }"));
+      assertTrue(context.data().meta.dbFile(DataText.DATAELM).exists());
+      query("insert node <b>2</b> into /x");
+      query("string-join(/descendant::b, ',')", "1,2");
+    } finally {
+      set(MainOptions.ELEMINDEX, false);
+    }
+  }
+
+  /**
+   * Column store.
+   * @param mainmem main memory flag.
+   */
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void columns(final boolean mainmem) {
+    set(MainOptions.MAINMEM, mainmem);
+    set(MainOptions.COLUMNS, "order/total, @date, x");
+    try {
+      execute(new CreateDB(NAME, "<r><order date='3'><total>10.5</total></order>"
+          + "<order date='1'><total> 2 </total></order>"
+          + "<s><order date='NaN'><total>-1</total></order></s><x>1</x><x><y/></x></r>"));
+      final MetaData meta = context.data().meta;
+      if(!mainmem) assertTrue(meta.dbFile(DataText.DATACOL).exists());
+      query("sum(//order/total)", 11.5);
+      query("avg(//order/total)", 3.8333333333333335);
+      query("min(//order/total), max(//order/total)", "-1\n10.5");
+      query("sum(/r/order/total), sum(//s/order/total, 5)", "12.5\n-1");
+      query("min(//order/@date), sum(//@date)", "NaN\nNaN");
+      query("sum(//nothing), avg(//nothing)", 0);
+      error("sum(//x)", QueryError.FUNCCAST_X_X);
+      // queries do not modify the database
+      if(!mainmem) assertFalse(meta.dirty);
+
+      query("insert node <order><total>100</total></order> into /r");
+      query("sum(//order/total)", 111.5);
+      execute(new Optimize());
+      query("sum(//order/total)", 111.5);
+
+      query(_DB_OPTIMIZE.args(NAME, false, " map { 'columns': '' }"));
+      query(_DB_PROPERTY.args(NAME, "columns"), "");
+      query("sum(//order/total)", 111.5);
+    } finally {
+      set(MainOptions.COLUMNS, "");
+    }
+  }
+
   /**
    * Test.
    * @param mainmem main memory flag.
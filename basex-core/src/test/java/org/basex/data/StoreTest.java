@@ -3,9 +3,13 @@ package org.basex.data;
 import static org.basex.query.func.Function.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.*;
+
 import org.basex.*;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
+import org.basex.io.*;
+import org.basex.query.*;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.Test;
 
@@ -98,6 +102,164 @@ public final class StoreTest extends SandboxTest {
     }
   }
 
+  /**
+   * Compacts table pages after updates.
+   */
+  @Test public void fragmentation() {
+    execute(new CreateDB(NAME, "<X>" + String.join("", Collections.nCopies(10000, "<A/>")) +
+        "</X>"));
+    final String fragmentation = _DB_PROPERTY.args(NAME, "fragmentation");
+    query(fragmentation, 0);
+
+    // fragmentation is computed from the updated table, and pages are released after updates
+    query("delete node //A[position() mod 2 = 0]");
+    final long fragmented = Long.parseLong(query(fragmentation));
+    assertTrue(fragmented > 0 && fragmented < 50, "Fragmentation: " + fragmented);
+
+    // remaining pages are released by optimize
+    execute(new Optimize());
+    assertTrue(Long.parseLong(query(fragmentation)) < fragmented);
+    execute(new Close());
+    assertTrue(Long.parseLong(query(fragmentation)) < fragmented);
+  }
+
+  /**
+   * Tests the {@link MainOptions#SHARETEXTS} option.
+   */
+  @Test public void shareTexts() {
+    final String text = "repeated text", doc = "<X>" +
+      String.join("", Collections.nCopies(100, "<A a='" + text + "'>" + text + "</A>")) + "</X>";
+    final String insert = "insert node <A a='" + text + "'>" + text + "</A> into /X";
+    try {
+      execute(new CreateDB(NAME, doc));
+      final long full = textSize() + valueSize();
+
+      // create database: repeated texts are stored once
+      set(MainOptions.SHARETEXTS, true);
+      execute(new CreateDB(NAME, doc));
+      final long texts = textSize(), values = valueSize();
+      assertTrue(texts + values < full / 10);
+
+      // update: repeated texts are referenced
+      query(insert);
+      assertEquals(texts, textSize());
+      assertEquals(values, valueSize());
+
+      // reopen database: dictionary is read from disk
+      execute(new Close());
+      execute(new Open(NAME));
+      query(insert);
+      assertEquals(texts, textSize());
+      assertEquals(values, valueSize());
+      query("//A[@a = '" + text + "'][. = '" + text + "'] => count()", 102);
+
+      // drop dictionary: repeated texts are stored again
+      final MetaData meta = context.data().meta;
+      execute(new Close());
+      assertTrue(meta.dbFile(DataText.DATADIC).delete());
+      execute(new Open(NAME));
+      query(insert);
+      final long grown = textSize();
+      assertTrue(grown > texts);
+      assertEquals(2, textRefs());
+
+      // optimize: references to duplicates are replaced, dictionary is rebuilt
+      execute(new Optimize());
+      assertEquals(1, textRefs());
+      execute(new Close());
+      execute(new Open(NAME));
+      query(insert);
+      assertEquals(grown, textSize());
+      query("//A[@a = '" + text + "'][. = '" + text + "'] => count()", 104);
+
+      // optimize all: unreferenced texts are dropped
+      execute(new OptimizeAll());
+      assertEquals(texts, textSize());
+      assertEquals(values, valueSize());
+      query("//A[@a = '" + text + "'][. = '" + text + "'] => count()", 104);
+    } finally {
+      set(MainOptions.SHARETEXTS, false);
+    }
+  }
+
+  /**
+   * Tests the {@link MainOptions#PACKBINARIES} option.
+   */
+  @Test public void packBinaries() {
+    final String x = " string-join((1 to 1000) ! 'x')", y = " string-join((1 to 1000) ! 'y')";
+    try {
+      set(MainOptions.PACKBINARIES, true);
+      execute(new CreateDB(NAME));
+      final MetaData meta = context.data().meta;
+
+      // identical contents are stored once
+      query(_DB_STORE.args(NAME, "a.bin", x));
+      query(_DB_STORE.args(NAME, "dir/b.bin", x));
+      assertFalse(meta.binaryDir().exists());
+      assertEquals(1000, packedSize());
+      query(_DB_RETRIEVE.args(NAME, "dir/b.bin") + " => convert:binary-to-string() => " +
+          "string-length()", 1000);
+      query(_DB_LIST.args(NAME) + " => string-join(' ')", "a.bin dir/b.bin");
+      query(_DB_DIR.args(NAME, "dir") + " ! string()", "b.bin");
+      query(_DB_DIR.args(NAME, "") + " ! string() => sort() => string-join(' ')", "a.bin dir");
+      query(_DB_IS_RAW.args(NAME, "dir/b.bin"), true);
+      query(_DB_IS_RAW.args(NAME, "dir"), false);
+
+      // packed resources cannot be used as directories
+      error(_DB_STORE.args(NAME, "a.bin/c.bin", x), QueryError.RESINV_X);
+      error(_DB_RENAME.args(NAME, "dir/b.bin", "a.bin/b.bin"), QueryError.DB_PATH_X);
+
+      // rename and delete resources
+      query(_DB_RENAME.args(NAME, "dir", "new"));
+      query(_DB_DELETE.args(NAME, "a.bin"));
+      query(_DB_LIST.args(NAME) + " => string-join(' ')", "new/b.bin");
+      assertEquals(1000, packedSize());
+
+      // replaced contents are reclaimed
+      query(_DB_STORE.args(NAME, "new/b.bin", y));
+      assertEquals(1000, packedSize());
+
+      // reopen database: index is read from disk
+      execute(new Close());
+      execute(new Open(NAME));
+      query(_DB_RETRIEVE.args(NAME, "new/b.bin") + " => convert:binary-to-string() => " +
+          "substring(1, 1)", "y");
+
+      // optimize: binaries are extracted and packed again
+      set(MainOptions.PACKBINARIES, false);
+      execute(new Optimize());
+      assertTrue(meta.binary("new/b.bin").exists());
+      assertEquals(0, packedSize());
+      query(_DB_LIST.args(NAME) + " => string-join(' ')", "new/b.bin");
+      set(MainOptions.PACKBINARIES, true);
+      execute(new Optimize());
+      assertFalse(meta.binary("new/b.bin").exists());
+      assertEquals(1000, packedSize());
+
+      // optimize all: binaries are moved to the new database
+      execute(new OptimizeAll());
+      query(_DB_RETRIEVE.args(NAME, "new/b.bin") + " => convert:binary-to-string() => " +
+          "string-length()", 1000);
+
+      // add and create: raw inputs are packed
+      query(_DB_ADD.args(NAME, GH1711, "raw.xml", " map { 'parser': 'raw' }"));
+      assertFalse(meta.binaryDir().exists());
+      query(_DB_ADD.args(NAME, GH1711, "cached.xml",
+          " map { 'parser': 'raw', 'addcache': true() }"));
+      assertFalse(meta.binaryDir().exists());
+      execute(new Close());
+      query(_DB_CREATE.args(NAME, GH1711, "raw.xml",
+          " map { 'parser': 'raw', 'packbinaries': true() }"));
+      execute(new Open(NAME));
+      assertFalse(context.data().meta.binaryDir().exists());
+      assertTrue(packedSize() > 0);
+      query(_DB_RETRIEVE.args(NAME, "raw.xml") + " => convert:binary-to-string() => " +
+          "starts-with('<')", true);
+    } finally {
+      set(MainOptions.PACKBINARIES, false);
+    }
+  }
+
   /**
    * Add, delete and replace documents in an empty database.
    */
@@ -133,4 +295,48 @@ public final class StoreTest extends SandboxTest {
     query(_DB_REPLACE.args(NAME, "/", GH1711));
     query(_DB_OPEN.args(NAME));
   }
+
+  /**
+   * Returns the number of distinct references of the text nodes in the opened database.
+   * @return number of references
+   */
+  private static int textRefs() {
+    final Data data = context.data();
+    final HashSet<Long> refs = new HashSet<>();
+    for(int pre = 0; pre < data.meta.size; pre++) {
+      if(data.kind(pre) == Data.TEXT) refs.add(data.textRef(pre));
+    }
+    return refs.size();
+  }
+
+  /**
+   * Returns the size of the text store of the opened database.
+   * @return size
+   */
+  private static long textSize() {
+    execute(new Flush());
+    return context.data().meta.dbFile(DataText.DATATXT).length();
+  }
+
+  /**
+   * Returns the size of the segment files of packed binaries of the opened database.
+   * @return size
+   */
+  private static long packedSize() {
+    long size = 0;
+    final IOFile dir = context.data().meta.dir;
+    for(final IOFile file : dir.children(DataText.DATASEG + "\\d+\\" + IO.BASEXSUFFIX)) {
+      size += file.length();
+    }
+    return size;
+  }
+
+  /**
+   * Returns the size of the attribute value store of the opened database.
+   * @return size
+   */
+  private static long valueSize() {
+    execute(new Flush());
+    return context.data().meta.dbFile(DataText.DATAATV).length();
+  }
 }
@@ -0,0 +1,91 @@
+package org.basex.index.ft;
+
+import static org.basex.query.func.Function.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.data.*;
+import org.basex.io.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the incremental updates of the full-text index.
+ *
+ * @author BaseX Team 2005-21, BSD License
+ * @author Christian Gruen
+ */
+public final class FTIndexTest extends SandboxTest {
+  /** Default merge threshold. */
+  private static final int MERGE = FTIndex.merge;
+
+  /** Creates an updatable database with full-text index. */
+  @BeforeEach public void init() {
+    set(MainOptions.UPDINDEX, true);
+    set(MainOptions.FTINDEX, true);
+    execute(new CreateDB(NAME, "<x><a>one two</a><a>two three</a></x>"));
+  }
+
+  /** Resets the options. */
+  @AfterEach public void reset() {
+    FTIndex.merge = MERGE;
+    set(MainOptions.UPDINDEX, false);
+    set(MainOptions.FTINDEX, false);
+  }
+
+  /**
+   * Merges the delta segment with the main index.
+   * @throws IOException I/O exception
+   */
+  @Test public void merge() throws IOException {
+    final IOFile delta = context.data().meta.dbFile(DataText.DATAFTX + 'd');
+    final IOFile main = context.data().meta.dbFile(DataText.DATAFTX + 'z');
+
+    // changes are collected in the delta segment
+    query("insert node <a>three four</a> into /x");
+    query("delete node //a[1]");
+    assertTrue(delta.exists());
+    final byte[] postings = main.read();
+    check("one", "two", "three", "four");
+
+    // delta segment is merged with the main index
+    FTIndex.merge = 1;
+    query("replace value of node //a[1] with 'four five'");
+    assertFalse(delta.exists());
+    assertFalse(Arrays.equals(postings, main.read()));
+    check("one", "two", "three", "four", "five");
+
+    // merged index is read from disk, and updated again
+    execute(new Close());
+    check("one", "two", "three", "four", "five");
+    FTIndex.merge = MERGE;
+    query(_DB_OPEN.args(NAME) + "/x ! (insert node <a>six one</a> into .)");
+    assertTrue(delta.exists());
+    check("one", "two", "three", "four", "five", "six");
+    execute(new Close());
+    check("one", "two", "three", "four", "five", "six");
+  }
+
+  /**
+   * Compares the results of index-based and sequential full-text searches.
+   * @param tokens tokens to be checked
+   */
+  private static void check(final String... tokens) {
+    final String texts = _DB_OPEN.args(NAME) + "//text()";
+    for(final String token : tokens) {
+      final String expected = query(texts + "[. contains text '" + token + "' using no stemming]" +
+          " => count()");
+      query(_FT_SEARCH.args(NAME, token) + " => count()", expected);
+      query(_FT_SEARCH.args(NAME, token.charAt(0) + ".*", " map { 'wildcards': true() }") +
+          " ! string()", query(texts + "[. contains text '" + token.charAt(0) + ".*' " +
+          "using wildcards using no stemming] ! string()"));
+    }
+    query(_FT_TOKENS.args(NAME) + " ! string() => sort()", query("distinct-values(" + texts +
+        " ! tokenize(., ' ')) => sort()"));
+  }
+}
@@ -1,5 +1,9 @@
 package org.basex.query.expr;
 
+import static org.basex.query.QueryError.*;
+import static org.basex.query.func.Function.*;
+
+import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.query.ast.*;
 import org.basex.query.expr.path.*;
@@ -270,4 +274,66 @@ public final class PathTest extends QueryPlanTest {
     check("let $i := 0 return <a/>/*[position() = 1 to $i]",
         "", empty());
   }
+
+  /** Set-at-a-time evaluation of descendant steps. */
+  @Test public void joinPath() {
+    execute(new CreateDB(NAME, "<a><a><b>1</b><a><b>2</b></a></a><b>3</b></a>"));
+    check("//a//b ! string()", "1\n2\n3", exists(JoinPath.class));
+    check("//a/descendant::b[1] ! string()", "1\n2", empty(JoinPath.class));
+    check("count(//b/ancestor::*//b)", 3, exists(JoinPath.class));
+  }
+
+  /** Comparisons of database values. */
+  @Test public void dbValues() {
+    execute(new CreateDB(NAME, "<x><e a='1' b='x'><c>A</c><c/>t</e><e a='NaN'><c>B<d/></c></e></x>"));
+    query("count(//e[@a > 0])", 1);
+    query("count(//e[@a != 1])", 1);
+    query("count(//e[@b = 'x'])", 1);
+    query("count(//e[@b < 'y'])", 1);
+    query("count(//e[c = 'A'])", 1);
+    query("count(//e[c = ''])", 1);
+    query("count(//e[c = 'B'])", 1);
+    query("count(//e[c >= 'A'])", 2);
+    query("count(//e[text() = 't'])", 1);
+    error("//e[@b > 1]", FUNCCAST_X_X);
+  }
+
+  /** Parallel evaluation of paths on databases with many documents. */
+  @Test public void scanThreads() {
+    execute(new Close());
+    query(_DB_CREATE.args(NAME, " (1 to 20000) ! <d><r>{ . }</r><r/></d>",
+        " (1 to 20000) ! (. || '.xml')"));
+    final String query = "count(" + _DB_OPEN.args(NAME) + "/d/r[. = ('7', '19999')])";
+    set(MainOptions.SCANTHREADS, 4);
+    try {
+      query(query, 2);
+      query("sum(" + _DB_OPEN.args(NAME) + "/d/r[text()] ! xs:integer(.))", 200010000);
+      query("(" + _DB_OPEN.args(NAME) + "/d/r[. = '1'])[1] ! string()", 1);
+      error(_DB_OPEN.args(NAME) + "/d/r[xs:integer(.) = 0]", FUNCCAST_X_X_X);
+      // iterative evaluation
+      query("exists(" + _DB_OPEN.args(NAME) + "/d/r[. = '7'])", true);
+      query("head(" + _DB_OPEN.args(NAME) + "/d/r[. = '19999']) ! string()", 19999);
+      // steps with resource accesses and function calls are evaluated sequentially
+      query("count(" + _DB_OPEN.args(NAME) + "/d/r[. = " + _DB_OPEN.args(NAME, "7.xml") +
+          "/d/r[1]])", 1);
+      query("declare function local:f($r) { $r = '7' }; count(" + _DB_OPEN.args(NAME) +
+          "/d/r[local:f(.)])", 1);
+    } finally {
+      set(MainOptions.SCANTHREADS, 1);
+    }
+    query(query, 2);
+  }
+
+  /** Name tests on database nodes. */
+  @Test public void dbNameTests() {
+    execute(new CreateDB(NAME, "<x xmlns:p='U'><p:a p:b='1' b='2'/><a><?a b?><p:c/></a></x>"));
+    query("declare namespace p = 'U'; (/x/p:a, /descendant::p:*) ! name()", "p:a\np:a\np:c");
+    query("(/x/*:a, /descendant::Q{U}*, /descendant-or-self::a) ! name()", "p:a\na\np:a\np:c\na");
+    query("declare namespace p = 'U'; (//@p:b, //@b, //@*:b) ! string()", "1\n2\n1\n2");
+    query("(/x/a/processing-instruction(a), /descendant::processing-instruction()) ! name()",
+        "a\na");
+    query("insert node <p:a xmlns:p='U'><b/></p:a> into /x/a");
+    query("declare namespace p = 'U'; (/descendant::p:a, /x/a/*:b, /descendant::b) ! name()",
+        "p:a\np:a\nb");
+  }
 }
@@ -492,6 +492,65 @@ public final class DbModuleTest extends SandboxTest {
     query("0[contains(" + _FILE_READ_TEXT.args(path) + ", '&lt;')]", "");
     // deletes the exported file
     query(_FILE_DELETE.args(path));
+
+    // a zip suffix does not change the type of the target
+    final IOFile zip = new IOFile(Prop.TEMPDIR, NAME + IO.ZIPSUFFIX);
+    query(func.args(NAME, zip));
+    query(_FILE_IS_DIR.args(zip), true);
+    query(_FILE_DELETE.args(zip, true));
+
+    // exports the database to a zip archive, using multiple threads
+    execute(new Set(MainOptions.EXPORTTHREADS, 2));
+    execute(new Set(MainOptions.EXPORTARCHIVE, true));
+    try {
+      query(func.args(NAME, zip));
+      query(_ARCHIVE_ENTRIES.args(_FILE_READ_BINARY.args(zip)) + "!string()", path.name());
+      query(_FILE_DELETE.args(zip));
+
+      // large documents are serialized directly to the zip archive
+      query(_DB_ADD.args(NAME, " <x>{ (1 to 70000) ! <a/> }</x>", "large.xml"));
+      query(func.args(NAME, zip));
+      query("sort(" + _ARCHIVE_ENTRIES.args(_FILE_READ_BINARY.args(zip)) + "!string())",
+          path.name() + "\nlarge.xml");
+      query("count(parse-xml(" + _ARCHIVE_EXTRACT_TEXT.args(_FILE_READ_BINARY.args(zip),
+          "large.xml") + ")//a)", 70000);
+    } finally {
+      execute(new Set(MainOptions.EXPORTTHREADS, 1));
+      execute(new Set(MainOptions.EXPORTARCHIVE, false));
+    }
+    query(_FILE_DELETE.args(zip));
+    query(_DB_DELETE.args(NAME, "large.xml"));
+
+    // resumes an interrupted export: resources in the progress file are skipped
+    query(_DB_ADD.args(NAME, " <a/>", "a.xml"));
+    final IOFile dir = new IOFile(Prop.TEMPDIR, NAME), a = new IOFile(dir, "a.xml");
+    final IOFile progress = new IOFile(dir, ".export" + IO.BASEXSUFFIX);
+    final String id = NAME + ' ' + context.data().meta.time;
+    try {
+      query(_FILE_CREATE_DIR.args(dir));
+      query(_FILE_WRITE_TEXT.args(progress, id + "\na.xml\n"));
+      query(_FILE_WRITE_TEXT.args(a, "old"));
+      query(func.args(NAME, dir));
+      query(_FILE_READ_TEXT.args(a), "old");
+      assertTrue(path.exists());
+      assertFalse(progress.exists());
+
+      // ignores the progress file of another database state
+      query(_FILE_WRITE_TEXT.args(progress, NAME + " 0\na.xml\n"));
+      query(func.args(NAME, dir));
+      query(_FILE_READ_TEXT.args(a), "<a/>");
+      assertFalse(progress.exists());
+
+      // a failing resource stops the export, and the progress file is kept
+      query(_FILE_DELETE.args(a));
+      query(_FILE_CREATE_DIR.args(new IOFile(a, "x")));
+      execute(new Set(MainOptions.EXPORTTHREADS, 2));
+      error(func.args(NAME, dir), SER_X);
+      assertTrue(progress.exists());
+    } finally {
+      execute(new Set(MainOptions.EXPORTTHREADS, 1));
+      dir.delete();
+    }
   }
 
   /** Test method. */
@@ -871,6 +930,15 @@ public final class DbModuleTest extends SandboxTest {
     query(_DB_RETRIEVE.args(NAME, "raw2"), "b");
     query(func.args(NAME, "raw3", 123));
     query(_DB_RETRIEVE.args(NAME, "raw3"), 123);
+
+    // binaries that exceed the block size
+    final String string = " string-join(1 to 10000)";
+    query(func.args(NAME, "raw4", " convert:string-to-base64(" + string + ")"));
+    query(_DB_RETRIEVE.args(NAME, "raw4") + " => convert:binary-to-string() => string-length()",
+        38894);
+    query(_DB_RETRIEVE.args(NAME, "raw4") + " => convert:binary-to-string() = " + string, true);
+    query(_DB_RETRIEVE.args(NAME, "raw4") + " => serialize(map { 'method': 'basex' }) = " + string,
+        true);
   }
 
   /** Test method. */
@@ -715,6 +715,13 @@ public final class FnModuleTest extends QueryPlanTest {
     query(func.args("a", "", "x", "j"), "xax");
     error(func.args("a", "", "x"), REGROUP);
 
+    // literal search strings, non-ASCII input
+    query(func.args("aba", "a", "c"), "cbc");
+    query(func.args("aba", "a", "$0$0"), "aabaa");
+    query(func.args("a.b", ".", "$", "q"), "a$b");
+    query(func.args("äöü", "ö", "o"), "äoü");
+    query(func.args("äöü", "(.)", "[$1]"), "[ä][ö][ü]");
+
     // GH-573
     query(func.args("aaaaa bbbbbbbb ddd ", "(.{6,15}) ", "$1@"), "aaaaa bbbbbbbb@ddd ");
     query(func.args("aaaa AAA 123", "(\\s+\\P{Ll}{3,280}?)", "$1@"), "aaaa AAA@ 123@");
@@ -1083,6 +1090,11 @@ public final class FnModuleTest extends QueryPlanTest {
     final Function func = TOKENIZE;
     query(func.args("a", "", "j"), "\na\n");
     error(func.args("a", ""), REGROUP);
+
+    // literal search strings, non-ASCII input
+    query(func.args("a, b,, c", ","), "a\n b\n\n c");
+    query(func.args("äöü.ü", ".", "q"), "äöü\nü");
+    query(func.args("äöü ü", "\\s"), "äöü\nü");
   }
 
   /** Test method. */
@@ -8,10 +8,13 @@ import java.io.*;
 import java.util.*;
 
 import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
 import org.basex.core.users.*;
 import org.basex.query.*;
 import org.basex.util.*;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
 
 /**
  * This class tests the functions of the Job Module.
@@ -203,11 +206,141 @@ public final class JobsModuleTest extends SandboxTest {
       query(list + "/@user/string()", UserText.ADMIN);
       query(list + "/@state/string() = ('running', 'queued')", true);
       query(list + "/@duration/string() castable as xs:dayTimeDuration", true);
+      query(list + "/@wait/string() castable as xs:dayTimeDuration", true);
     } finally {
       query(_JOBS_STOP.args(id));
     }
   }
 
+  /** Test method. */
+  @Test public void queue() {
+    final Function func = _JOBS_QUEUE;
+    query(func.args() + "/@parallel = " + context.soptions.get(StaticOptions.PARALLEL), true);
+    query(func.args() + "/@limit = " + context.soptions.get(StaticOptions.PARALLEL), true);
+    query(func.args() + "/@running >= 1", true);
+    query(func.args() + "/@queued = 0", true);
+
+    // held locks and waiting jobs
+    final String lock = func.args() + "/lock[@name = '" + NAME + "']";
+    query(_DB_CREATE.args(NAME));
+    try {
+      final String writer = query(_JOBS_EVAL.args("prof:sleep(1000), " +
+          "db:add('" + NAME + "', <a/>, 'a.xml')"));
+      while(!query(lock + "/@writer = 'true'").equals("true")) Performance.sleep(1);
+      final String reader = query(_JOBS_EVAL.args("db:open('" + NAME + "')"));
+      while(!query(lock + "/@waiting = 1").equals("true")) Performance.sleep(1);
+      query(lock + "/@readers = 0", true);
+      query(_JOBS_WAIT.args(writer));
+      query(_JOBS_WAIT.args(reader));
+    } finally {
+      query(_DB_DROP.args(NAME));
+    }
+
+    // histograms of waiting and running times
+    for(final String type : new String[] { "wait", "run" }) {
+      final String hist = func.args() + '/' + type;
+      query(hist + "/@count > 1", true);
+      query(hist + "/@count = sum(" + hist + "/bucket/@count)", true);
+      query(hist + "/@total castable as xs:dayTimeDuration", true);
+    }
+    query(func.args() + "/wait/bucket[last()]/@max", "");
+  }
+
+  /**
+   * Test method.
+   * @throws BaseXException database exception
+   */
+  @Test public void queryCache() throws BaseXException {
+    final String read = "count(" + _DB_OPEN.args(NAME) + "//a)";
+    execute(new CreateDB(NAME, "<x><a/></x>"));
+    execute(new CreateDB(NAME + '2', "<x/>"));
+    set(MainOptions.QUERYCACHE, true);
+    try {
+      // repeated query: cached result is returned
+      final long hits = cache("hits"), invalidations = cache("invalidations");
+      assertEquals("1", execute(new XQuery(read)));
+      assertEquals("1", execute(new XQuery(read)));
+      assertEquals(hits + 1, cache("hits"));
+
+      // update of another database: result remains cached
+      execute(new XQuery(_DB_ADD.args(NAME + '2', " <a/>", "a.xml")));
+      assertEquals("1", execute(new XQuery(read)));
+      assertEquals(hits + 2, cache("hits"));
+      assertEquals(invalidations, cache("invalidations"));
+
+      // update of the read database: result is invalidated
+      execute(new XQuery(_DB_ADD.args(NAME, " <a/>", "a.xml")));
+      assertEquals(invalidations + 1, cache("invalidations"));
+      assertEquals("2", execute(new XQuery(read)));
+      assertEquals(hits + 2, cache("hits"));
+
+      // non-deterministic and updating queries are not cached
+      final long entries = cache("entries");
+      final String ndt = _RANDOM_DOUBLE.args() + ", " + read;
+      execute(new XQuery(ndt));
+      execute(new XQuery(ndt));
+      execute(new XQuery(_DB_ADD.args(NAME + '2', " <b/>", "b.xml")));
+      execute(new XQuery(_DB_ADD.args(NAME + '2', " <b/>", "b.xml")));
+      assertEquals(entries, cache("entries"));
+      assertEquals(hits + 2, cache("hits"));
+
+      // caching is enabled via query option
+      set(MainOptions.QUERYCACHE, false);
+      final String option = "declare option db:querycache 'true'; " + read;
+      assertEquals("2", execute(new XQuery(option)));
+      assertEquals("2", execute(new XQuery(option)));
+      assertEquals(hits + 3, cache("hits"));
+      set(MainOptions.QUERYCACHE, true);
+
+      // queries depending on the current time or the system state are not cached
+      for(final String query : new String[] {
+        CURRENT_DATETIME.args() + ", " + read, _DB_SYSTEM.args() + ", " + read
+      }) {
+        final long entries2 = cache("entries");
+        execute(new XQuery(query));
+        execute(new XQuery(query));
+        assertEquals(entries2, cache("entries"));
+        assertEquals(hits + 3, cache("hits"));
+      }
+
+      // serialization parameters are part of the key
+      final String first = "(" + _DB_OPEN.args(NAME) + "//a)[1]";
+      assertEquals("<a/>", execute(new XQuery(first)));
+      set(MainOptions.SERIALIZER, "method=text");
+      assertEquals("", execute(new XQuery(first)));
+      set(MainOptions.SERIALIZER, "");
+      assertEquals("<a/>", execute(new XQuery(first)));
+      assertEquals(hits + 4, cache("hits"));
+
+      // bound variables are part of the key
+      final String bound = "declare variable $x external; $x || " + read;
+      assertEquals("a2", execute(new XQuery(bound).bind("x", "a")));
+      assertEquals("b2", execute(new XQuery(bound).bind("x", "b")));
+      assertEquals("a2", execute(new XQuery(bound).bind("x", "a")));
+      assertEquals(hits + 5, cache("hits"));
+
+      // revoked permissions are checked for cached queries
+      execute(new CreateUser(NAME, NAME));
+      execute(new Grant(Perm.READ, NAME));
+      final Context ctx = new Context(context);
+      ctx.user(context.users.get(NAME));
+      try {
+        assertEquals("2", new XQuery(read).execute(ctx));
+        assertEquals("2", new XQuery(read).execute(ctx));
+        assertEquals(hits + 6, cache("hits"));
+        execute(new Grant(Perm.NONE, NAME));
+        assertThrows(BaseXException.class, () -> new XQuery(read).execute(ctx));
+        assertEquals(hits + 6, cache("hits"));
+      } finally {
+        ctx.close();
+        execute(new DropUser(NAME));
+      }
+    } finally {
+      set(MainOptions.QUERYCACHE, false);
+      execute(new DropDB(NAME + '*'));
+    }
+  }
+
   /**
    * Test method.
    * @throws IOException I/O exception */
@@ -277,6 +410,39 @@ public final class JobsModuleTest extends SandboxTest {
     error(func.args(id), DB_OPEN2_X);
   }
 
+  /** Test method. */
+  @Test public void view() {
+    final Function func = _JOBS_VIEW;
+    query(_JOBS_VIEW_REGISTER.args("total", "sum(db:open('" + NAME + "')//n)"));
+    query(_JOBS_VIEW_REGISTER.args("count", "prof:sleep(200), count(db:open('" + NAME + "')//n)",
+        " map { 'staleness': 'PT1H' }"));
+    query("file:exists(db:option('dbpath') || '/views.xml')", true);
+    query("sort(" + _JOBS_VIEWS.args() + "/@name ! string())", "count\ntotal");
+    query(_JOBS_VIEWS.args() + "[@name = 'total']/@reads ! string()", NAME);
+
+    try {
+      query(_DB_CREATE.args(NAME, "<r><n>1</n><n>2</n></r>", "x.xml"));
+      query(func.args("total"), 3);
+      query(func.args("count"), 2);
+
+      // result is invalidated by updates; stale results are returned while they are refreshed
+      query("insert node <n>3</n> into " + _DB_OPEN.args(NAME) + "/r");
+      query(func.args("total"), 6);
+      query(func.args("count"), 2);
+      query(_PROF_SLEEP.args(1000));
+      query(func.args("count"), 3);
+    } finally {
+      query(_JOBS_VIEW_DROP.args("total"));
+      query(_JOBS_VIEW_DROP.args("count"));
+      query(_DB_DROP.args(NAME));
+    }
+    query(_JOBS_VIEWS.args(), "");
+
+    error(func.args("total"), JOBS_VIEW_X);
+    error(_JOBS_VIEW_DROP.args("total"), JOBS_VIEW_X);
+    error(_JOBS_VIEW_REGISTER.args("x", "delete node <a/>"), JOBS_VIEW_UPDATE_X);
+  }
+
   /** Test method. */
   @Test public void waitFor() {
     final Function func = _JOBS_WAIT;
@@ -293,4 +459,13 @@ public final class JobsModuleTest extends SandboxTest {
     while(context.jobs.active.get(id) == null) Performance.sleep(1);
     return id;
   }
+
+  /**
+   * Returns a statistic of the query cache.
+   * @param name name of the statistic
+   * @return value
+   */
+  private static long cache(final String name) {
+    return Long.parseLong(query(_JOBS_QUERY_CACHE.args() + "/@" + name + "/string()"));
+  }
 }
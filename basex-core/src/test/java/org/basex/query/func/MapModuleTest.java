@@ -55,6 +55,29 @@ public final class MapModuleTest extends QueryPlanTest {
     final Function func = _MAP_GET;
     query(func.args(" map { }", 1), "");
     query(func.args(_MAP_ENTRY.args(1, 2), 1), 2);
+
+    // maps with string and integer keys
+    final String strings = " " + _MAP_MERGE.args(" for $i in 1 to 100 " +
+        "return map { 'k' || $i: $i }");
+    query(func.args(strings, "k5"), 5);
+    query(func.args(strings, " xs:untypedAtomic('k6')"), 6);
+    query(func.args(strings, " xs:anyURI('k7')"), 7);
+    query(func.args(strings, 5), "");
+    query(func.args(" map:put(" + strings + ", 1, 'x')", "k8"), 8);
+
+    final String integers = " " + _MAP_MERGE.args(" for $i in 1 to 100 return map { $i: $i }");
+    query(func.args(integers, 5), 5);
+    query(func.args(integers, 6.0), 6);
+    query(func.args(integers, " xs:float(7)"), 7);
+    query(func.args(integers, " xs:byte(8)"), 8);
+    query(func.args(integers, 1.5), "");
+    query(func.args(integers, " xs:double('NaN')"), "");
+    query(func.args(integers, "5"), "");
+    query(func.args(" map:put(" + integers + ", 'x', 'x')", 9), 9);
+    query("deep-equal(" + integers + ", " + _MAP_MERGE.args(" for $i in reverse(1 to 100) " +
+        "return map { $i: $i }") + ')', true);
+    query("deep-equal(" + integers + ", map:put(" + integers + ", 100, 100))", true);
+    query("deep-equal(" + integers + ", map:put(" + integers + ", 100, 101))", false);
   }
 
   /** Test method. */
@@ -118,6 +141,18 @@ public final class MapModuleTest extends QueryPlanTest {
     query("map:size(" + func.args(arg1, " map { 'duplicates': 'use-last' }") + ")", 2);
     query("map:size(" + func.args(arg1, " map { 'duplicates': 'combine' }") + ")", 2);
 
+    // large maps, built from single entries and merged with other maps
+    final String large = " (for $i in 1 to 100000 return map { $i: $i })";
+    query("map:size(" + func.args(large) + ")", 100000);
+    query("let $m := " + func.args(large) + " return ($m(1), $m(99999), " +
+        "map:size(map:put($m, 0, 0)), map:size($m))", "1\n99999\n100001\n100000");
+    query(func.args(" (" + func.args(large) + ", map { 1: 0 })",
+        " map { 'duplicates': 'combine' }") + "(1)", "1\n0");
+    query(func.args(" (map { 1: 0 }, " + func.args(large) + ")",
+        " map { 'duplicates': 'use-last' }") + "(1)", 1);
+    query("map:size(" + func.args(" (for $i in 1 to 1000 return map { $i mod 97: $i })",
+        " map { 'duplicates': 'combine' }") + ")", 97);
+
     // GH-1602
     query("let $_ := 'combine' return " + func.args(" map { 0:1 }",
         " map { 'duplicates': $_ }") + "?0", 1);
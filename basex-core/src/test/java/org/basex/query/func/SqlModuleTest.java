@@ -27,6 +27,10 @@ public final class SqlModuleTest extends SandboxTest {
   @Test public void execute() {
   }
 
+  /** Test method. */
+  @Test public void executeBatch() {
+  }
+
   /** Test method. */
   @Test public void executePrepared() {
   }